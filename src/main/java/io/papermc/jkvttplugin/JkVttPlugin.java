@@ -3,9 +3,14 @@ package io.papermc.jkvttplugin;
 import io.papermc.jkvttplugin.character.CharacterSheetItemListener;
 import io.papermc.jkvttplugin.character.CharacterSheetManager;
 import io.papermc.jkvttplugin.combat.CombatCommand;
+import io.papermc.jkvttplugin.combat.CombatSession;
 import io.papermc.jkvttplugin.combat.RollForInitiativeCommand;
 import io.papermc.jkvttplugin.commands.*;
+import io.papermc.jkvttplugin.data.ContentWatcher;
 import io.papermc.jkvttplugin.data.DataManager;
+import io.papermc.jkvttplugin.data.loader.CharacterPersistenceLoader;
+import io.papermc.jkvttplugin.data.loader.EntityInstanceStore;
+import io.papermc.jkvttplugin.data.loader.RollLogStore;
 import io.papermc.jkvttplugin.dm.DmCommand;
 import io.papermc.jkvttplugin.dm.DMPersistenceLoader;
 import io.papermc.jkvttplugin.listeners.*;
@@ -25,21 +30,27 @@ import org.bukkit.plugin.java.JavaPlugin;
 
 public class JkVttPlugin extends JavaPlugin implements Listener {
     private static JkVttPlugin instance;
+    private ContentWatcher contentWatcher;
 
     @Override
     public void onEnable() {
         instance = this;
         getLogger().info("D&D Plugin has been enabled!");
 
+        saveDefaultConfig();
         ItemUtil.initialize(this);
 
         // Load Data
         DataManager dataManager = new DataManager(this);
         dataManager.loadAllData();
+        contentWatcher = new ContentWatcher(this, dataManager.getContentFolder(), dataManager.getCache());
+        contentWatcher.start();
 
         CharacterSheetManager.initialize(this);
         DMPersistenceLoader.initialize(this);
         ShopPersistenceLoader.initialize(this);
+        EntityInstanceStore.initialize(this);
+        RollLogStore.initialize(this);
 
         // Listeners
         Bukkit.getPluginManager().registerEvents(this, this);
@@ -49,6 +60,8 @@ public class JkVttPlugin extends JavaPlugin implements Listener {
         Bukkit.getPluginManager().registerEvents(new WeaponListener(), this);
         Bukkit.getPluginManager().registerEvents(new MenuClickListener(), this);
         Bukkit.getPluginManager().registerEvents(new CharacterNameListener(), this);
+        Bukkit.getPluginManager().registerEvents(new SpellSearchListener(), this);
+        Bukkit.getPluginManager().registerEvents(new CharacterLoadListener(), this);
         Bukkit.getPluginManager().registerEvents(new SpellFocusListener(this), this);
         Bukkit.getPluginManager().registerEvents(new ArmorEquipListener(this), this);
         Bukkit.getPluginManager().registerEvents(new SpellCastingMenuListener(), this);
@@ -56,6 +69,8 @@ public class JkVttPlugin extends JavaPlugin implements Listener {
         Bukkit.getPluginManager().registerEvents(new StatBlockMenuListener(), this);
         Bukkit.getPluginManager().registerEvents(new ShopListener(this), this);
         Bukkit.getPluginManager().registerEvents(new io.papermc.jkvttplugin.combat.CombatListener(), this);
+        Bukkit.getPluginManager().registerEvents(new EntityInstanceListener(), this);
+        EntityInstanceListener.rehydrateLoaded();
 
         // Commands
         this.getCommand("reloadyaml").setExecutor(new ReloadYamlCommand());
@@ -100,6 +115,10 @@ public class JkVttPlugin extends JavaPlugin implements Listener {
 
         this.getCommand("rollforinitiative").setExecutor(new RollForInitiativeCommand());
 
+        SearchCommand searchCommand = new SearchCommand();
+        this.getCommand("search").setExecutor(searchCommand);
+        this.getCommand("search").setTabCompleter(searchCommand);
+
     }
 
     @EventHandler
@@ -156,6 +175,15 @@ public class JkVttPlugin extends JavaPlugin implements Listener {
 
     @Override
     public void onDisable() {
+        if (contentWatcher != null) {
+            contentWatcher.stop();
+        }
+        // Write out any character and entity changes still waiting in the write-behind queues,
+        // and the roll logs of combats still running
+        CharacterPersistenceLoader.shutdown();
+        EntityInstanceStore.shutdown();
+        CombatSession.archiveAllRolls();
+        RollLogStore.shutdown();
         getLogger().info("D&D Plugin has been disabled!");
     }
 
@@ -18,6 +18,7 @@ public class CharacterCreationSession {
     private LinkedHashSet<String> selectedCantrips = new LinkedHashSet<>();
     private LinkedHashSet<String> selectedSpells = new LinkedHashSet<>();
     private Map<Integer, LinkedHashSet<String>> spellsByLevel = new HashMap<>();
+    private String spellSearch; // Active spell menu search, or null
 
     private List<PendingChoice<?>> pendingChoices = Collections.emptyList();
     private List<AutomaticGrant> automaticGrants = Collections.emptyList();
@@ -253,6 +254,14 @@ public class CharacterCreationSession {
         return selectedSpells.size();
     }
 
+    public String getSpellSearch() {
+        return spellSearch;
+    }
+
+    public void setSpellSearch(String spellSearch) {
+        this.spellSearch = spellSearch;
+    }
+
     public boolean hasVisitedAbilityAllocation() {
         return abilityAllocationVisited;
     }
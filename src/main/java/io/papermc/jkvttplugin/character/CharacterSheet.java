@@ -7,6 +7,7 @@ import io.papermc.jkvttplugin.data.model.enums.Ability;
 import io.papermc.jkvttplugin.data.model.enums.Skill;
 import io.papermc.jkvttplugin.util.DndRules;
 import io.papermc.jkvttplugin.util.ItemUtil;
+import io.papermc.jkvttplugin.util.SharedSets;
 import io.papermc.jkvttplugin.util.Util;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
@@ -27,7 +28,8 @@ public class CharacterSheet {
     private DndBackground background;
 
     private EnumMap<Ability, Integer> abilityScores;
-    private Set<Skill> skillProficiencies = new HashSet<>();
+    private final EnumSet<Skill> skillProficiencies = EnumSet.noneOf(Skill.class);
+    private final Set<Skill> skillProficienciesView = Collections.unmodifiableSet(skillProficiencies);
 
     private Set<DndSpell> knownSpells = new HashSet<>();
     private Set<DndSpell> knownCantrips = new HashSet<>();
@@ -47,6 +49,7 @@ public class CharacterSheet {
     private List<ClassResource> classResources = new ArrayList<>();
 
     // Racial traits (Issue #51)
+    // Mutable while the sheet is built, then swapped for shared immutable sets (see shareTraitSets)
     private Set<String> weaponProficiencies = new HashSet<>();
     private Set<String> armorProficiencies = new HashSet<>();
     private Set<String> toolProficiencies = new HashSet<>();
@@ -62,6 +65,9 @@ public class CharacterSheet {
     private int climbingSpeed = 0;  // 0 = use default (half walking speed)
     private int burrowingSpeed = 0; // 0 = can't burrow
 
+    // Cached bonuses/breakdowns; null until first read after a change (see invalidateDerivedStats)
+    private DerivedStats derivedStats;
+
     private CharacterSheet(UUID characterId, UUID playerId, String characterName) {
         this.characterId = characterId;
         this.playerId = playerId;
@@ -126,6 +132,10 @@ public class CharacterSheet {
         sheet.initializeSpellSlots();
         sheet.initializeClassResources();
 
+        // Bonuses read while building (e.g. by calculateHealth) may predate later proficiencies
+        sheet.invalidateDerivedStats();
+        sheet.shareTraitSets();
+
         return sheet;
     }
 
@@ -149,7 +159,7 @@ public class CharacterSheet {
 
         // Load skill proficiencies from saved data
         if (skillProficiencies != null) {
-            sheet.skillProficiencies = new HashSet<>(skillProficiencies);
+            sheet.skillProficiencies.addAll(skillProficiencies);
         }
 
         // Apply racial traits (proficiencies, resistances, innate spells, movement speeds, darkvision)
@@ -178,10 +188,24 @@ public class CharacterSheet {
         // 2. Load armor/shield references from ArmorLoader in loadFromData()
         // 3. Remove armorClass parameter entirely and always calculate from equipped gear
         sheet.calculateArmorClass();
+        sheet.invalidateDerivedStats();
+        sheet.shareTraitSets();
 
         return sheet;
     }
 
+    /**
+     * Replaces the trait sets built up during creation/loading with shared immutable instances,
+     * so getters can return them without copying and identical sets aren't duplicated per sheet.
+     */
+    private void shareTraitSets() {
+        weaponProficiencies = SharedSets.intern(weaponProficiencies);
+        armorProficiencies = SharedSets.intern(armorProficiencies);
+        toolProficiencies = SharedSets.intern(toolProficiencies);
+        languages = SharedSets.intern(languages);
+        damageResistances = SharedSets.intern(damageResistances);
+    }
+
     /**
      * Apply racial ability score bonuses to the character's base ability scores.
      * This includes:
@@ -743,10 +767,14 @@ public class CharacterSheet {
     public void equipArmor(DndArmor armor) {
         this.equippedArmor = armor;
         calculateArmorClass();
+        invalidateDerivedStats();
+        markDirty();
     }
     public void unequipArmor() {
         this.equippedArmor = null;
         calculateArmorClass();
+        invalidateDerivedStats();
+        markDirty();
     }
 
     public DndArmor getEquippedShield() {
@@ -819,6 +847,8 @@ public class CharacterSheet {
 
     public void setAbility(Ability ability, int value) {
         abilityScores.put(ability, value);
+        invalidateDerivedStats();
+        markDirty();
     }
 
     public int getArmorClass() {
@@ -831,7 +861,7 @@ public class CharacterSheet {
     }
 
     public int getModifier(Ability ability) {
-        return Ability.getModifier(abilityScores.get(ability));
+        return derived().modifiers[ability.ordinal()];
     }
 
     /**
@@ -850,9 +880,7 @@ public class CharacterSheet {
      * @return The total skill bonus
      */
     public int getSkillBonus(Skill skill) {
-        int abilityModifier = getModifier(skill.getAbility());
-        int profBonus = isProficientInSkill(skill) ? getProficiencyBonus() : 0;
-        return abilityModifier + profBonus;
+        return derived().skillBonuses[skill.ordinal()];
     }
 
     /**
@@ -863,50 +891,42 @@ public class CharacterSheet {
      * @return Formatted string showing ability modifier and proficiency bonus if applicable
      */
     public String getSkillBonusBreakdown(Skill skill) {
-        int abilityModifier = getModifier(skill.getAbility());
-        int profBonus = isProficientInSkill(skill) ? getProficiencyBonus() : 0;
-
-        StringBuilder breakdown = new StringBuilder();
-
-        // Add ability modifier with 3-letter abbreviation: "+3[DEX]" or "-1[STR]"
-        breakdown.append(abilityModifier >= 0 ? "+" : "")
-                 .append(abilityModifier)
-                 .append("[")
-                 .append(skill.getAbility().getAbbreviation())
-                 .append("]");
-
-        // Add proficiency if applicable: " +2[Prof]"
-        if (profBonus > 0) {
-            breakdown.append(" +").append(profBonus).append("[Prof]");
-        }
-
-        return breakdown.toString();
+        return derived().skillBreakdowns[skill.ordinal()];
     }
 
     /**
      * Gets all skill proficiencies for this character.
-     * @return Set of skills the character is proficient in
+     * @return Unmodifiable live view of the skills the character is proficient in
      */
     public Set<Skill> getSkillProficiencies() {
-        return new HashSet<>(skillProficiencies);
+        return skillProficienciesView;
     }
 
     /**
      * Gets all tool proficiencies for this character.
      * Includes proficiencies from race, subrace, class, background, and subclass.
-     * @return Set of tool proficiency names (e.g., "smiths_tools", "thieves_tools")
+     * @return Immutable set of tool proficiency names (e.g., "smiths_tools", "thieves_tools")
      */
     public Set<String> getToolProficiencies() {
-        return new HashSet<>(toolProficiencies);
+        return toolProficiencies;
+    }
+
+    /**
+     * Gets all weapon proficiencies for this character.
+     * Includes proficiencies from race, subrace, class, and subclass.
+     * @return Immutable set of weapon proficiency names (e.g., "simple_weapons", "longsword")
+     */
+    public Set<String> getWeaponProficiencies() {
+        return weaponProficiencies;
     }
 
     /**
      * Gets all languages known by this character.
      * Includes languages from race, subrace, background, and subclass.
-     * @return Set of language names (e.g., "Common", "Elvish", "Draconic")
+     * @return Immutable set of language names (e.g., "Common", "Elvish", "Draconic")
      */
     public Set<String> getLanguages() {
-        return new HashSet<>(languages);
+        return languages;
     }
 
     /**
@@ -928,9 +948,7 @@ public class CharacterSheet {
      * @return The total saving throw bonus
      */
     public int getSavingThrowBonus(Ability ability) {
-        int abilityModifier = getModifier(ability);
-        int profBonus = isProficientInSave(ability) ? getProficiencyBonus() : 0;
-        return abilityModifier + profBonus;
+        return derived().saveBonuses[ability.ordinal()];
     }
 
     /**
@@ -942,14 +960,7 @@ public class CharacterSheet {
      * @return Formatted string showing ability modifier only
      */
     public String getAbilityCheckBreakdown(Ability ability) {
-        int abilityModifier = getModifier(ability);
-
-        // Ability checks are just the modifier: "+3[STR]" or "-1[INT]"
-        return (abilityModifier >= 0 ? "+" : "")
-                + abilityModifier
-                + "["
-                + ability.getAbbreviation()
-                + "]";
+        return derived().checkBreakdowns[ability.ordinal()];
     }
 
     /**
@@ -960,28 +971,12 @@ public class CharacterSheet {
      * @return Formatted string showing ability modifier and proficiency bonus if applicable
      */
     public String getSaveBreakdown(Ability ability) {
-        int abilityModifier = getModifier(ability);
-        int profBonus = isProficientInSave(ability) ? getProficiencyBonus() : 0;
-
-        StringBuilder breakdown = new StringBuilder();
-
-        // Add ability modifier: "+3[STR]" or "-1[INT]"
-        breakdown.append(abilityModifier >= 0 ? "+" : "")
-                .append(abilityModifier)
-                .append("[")
-                .append(ability.getAbbreviation())
-                .append("]");
-
-        // Add proficiency if applicable: " +2[Prof]"
-        if (profBonus > 0) {
-            breakdown.append(" +").append(profBonus).append("[Prof]");
-        }
-
-        return breakdown.toString();
+        return derived().saveBreakdowns[ability.ordinal()];
     }
 
     public void gainTempHealth(int tempHP) {
         tempHealth = Math.max(tempHealth, tempHP);
+        markDirty();
     }
 
 //    public int getTotalLevel() {
@@ -1035,12 +1030,14 @@ public class CharacterSheet {
         if (level < 1 || level > 9) return;
         if (spellSlots[level - 1] > 0) {
             spellSlots[level - 1] -= 1;
+            markDirty();
         }
     }
 
     public void addSpell(DndSpell spell) {
         if (!knownSpells.contains(spell)) {
             knownSpells.add(spell);
+            markDirty();
         }
     }
 
@@ -1133,6 +1130,7 @@ public class CharacterSheet {
 
         currentHealth = totalHealth;
         tempHealth = 0;
+        markDirty();
     }
 
     public void shortRest() {
@@ -1153,5 +1151,37 @@ public class CharacterSheet {
 
         // Warlocks recover Pact Magic slots on short rest
         // ToDo: Implement when Warlock-specific slot recovery is added
+
+        markDirty();
+    }
+
+    // ========== DERIVED STATS ==========
+
+    private DerivedStats derived() {
+        DerivedStats stats = derivedStats;
+        if (stats == null) {
+            stats = new DerivedStats(this);
+            derivedStats = stats;
+        }
+        return stats;
+    }
+
+    /**
+     * Drops the cached skill/save bonuses and breakdowns. Call after anything that feeds them
+     * changes: ability scores, skill or save proficiencies, level (proficiency bonus) or equipment.
+     */
+    public void invalidateDerivedStats() {
+        derivedStats = null;
+    }
+
+    // ========== PERSISTENCE ==========
+
+    /**
+     * Flags this sheet for the next write-behind save (see CharacterPersistenceLoader).
+     * Mutators on the sheet call this themselves; code that changes a sheet's ClassResource
+     * or InnateSpell objects directly must call it afterwards.
+     */
+    public void markDirty() {
+        CharacterPersistenceLoader.markDirty(this);
     }
 }
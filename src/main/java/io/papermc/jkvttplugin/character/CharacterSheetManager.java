@@ -273,6 +273,13 @@ public class CharacterSheetManager {
         return CharacterPersistenceLoader.getAllCharacterNames();
     }
 
+    /**
+     * Character names starting with {@code prefix} (case-insensitive), for tab completion.
+     */
+    public static List<String> completeCharacterNames(String prefix) {
+        return CharacterPersistenceLoader.completeCharacterNames(prefix);
+    }
+
 
     // ========== ITEM CREATION ==========
 
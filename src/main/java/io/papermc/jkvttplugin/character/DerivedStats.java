@@ -0,0 +1,68 @@
+package io.papermc.jkvttplugin.character;
+
+import io.papermc.jkvttplugin.data.model.enums.Ability;
+import io.papermc.jkvttplugin.data.model.enums.Skill;
+
+/**
+ * Precomputed bonuses and chat breakdowns for one state of a {@link CharacterSheet}.
+ *
+ * The skills menu, roll menu and combat read these many times per render, so they are built
+ * once (indexed by enum ordinal) and thrown away by {@link CharacterSheet#invalidateDerivedStats()}
+ * when ability scores, proficiencies, level or equipment change.
+ */
+final class DerivedStats {
+    private static final Ability[] ABILITIES = Ability.values();
+    private static final Skill[] SKILLS = Skill.values();
+
+    final int[] modifiers = new int[ABILITIES.length];
+    final int[] saveBonuses = new int[ABILITIES.length];
+    final int[] skillBonuses = new int[SKILLS.length];
+    final String[] checkBreakdowns = new String[ABILITIES.length];
+    final String[] saveBreakdowns = new String[ABILITIES.length];
+    final String[] skillBreakdowns = new String[SKILLS.length];
+
+    DerivedStats(CharacterSheet sheet) {
+        int proficiencyBonus = sheet.getProficiencyBonus();
+
+        for (Ability ability : ABILITIES) {
+            int i = ability.ordinal();
+            int modifier = Ability.getModifier(sheet.getAbility(ability));
+            int profBonus = sheet.isProficientInSave(ability) ? proficiencyBonus : 0;
+
+            modifiers[i] = modifier;
+            saveBonuses[i] = modifier + profBonus;
+            checkBreakdowns[i] = breakdown(modifier, ability, 0);
+            saveBreakdowns[i] = breakdown(modifier, ability, profBonus);
+        }
+
+        for (Skill skill : SKILLS) {
+            int i = skill.ordinal();
+            int modifier = modifiers[skill.getAbility().ordinal()];
+            int profBonus = sheet.isProficientInSkill(skill) ? proficiencyBonus : 0;
+
+            skillBonuses[i] = modifier + profBonus;
+            skillBreakdowns[i] = breakdown(modifier, skill.getAbility(), profBonus);
+        }
+    }
+
+    /**
+     * Formats "+3[DEX] +2[Prof]" (proficient), "+2[DEX]" (not proficient) or "-1[STR]".
+     */
+    private static String breakdown(int abilityModifier, Ability ability, int profBonus) {
+        StringBuilder breakdown = new StringBuilder();
+
+        // Add ability modifier with 3-letter abbreviation: "+3[DEX]" or "-1[STR]"
+        breakdown.append(abilityModifier >= 0 ? "+" : "")
+                .append(abilityModifier)
+                .append("[")
+                .append(ability.getAbbreviation())
+                .append("]");
+
+        // Add proficiency if applicable: " +2[Prof]"
+        if (profBonus > 0) {
+            breakdown.append(" +").append(profBonus).append("[Prof]");
+        }
+
+        return breakdown.toString();
+    }
+}
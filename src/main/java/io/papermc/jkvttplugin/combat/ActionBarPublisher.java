@@ -0,0 +1,149 @@
+package io.papermc.jkvttplugin.combat;
+
+import io.papermc.jkvttplugin.JkVttPlugin;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends the combat action bar (Action | Bonus | Move) with as little work as possible.
+ *
+ * Movement fires on every block a player crosses, so those updates are coalesced to at most
+ * one send per {@link #MIN_INTERVAL_TICKS} per player; the latest state is sent at the end of
+ * the window. A send is skipped when what the bar would show (action/bonus used, movement
+ * remaining rounded to 5 ft) hasn't changed, except for a periodic resend so the bar doesn't
+ * fade while the player keeps moving. The rendered component is cached per player and reused
+ * for an unchanged display.
+ *
+ * Main thread only.
+ *
+ * Issue #98 - Turn Management & Action Economy
+ */
+final class ActionBarPublisher {
+    private static final int MIN_INTERVAL_TICKS = 5;
+    private static final int KEEPALIVE_TICKS = 40; // Action bar text fades after ~3 seconds
+
+    /** Everything the bar displays; equal keys render identically. */
+    private record Display(boolean actionUsed, boolean bonusUsed, int movementRemaining, int movementBudget) {
+        static Display of(TurnState state) {
+            int remaining = (int) (Math.round(state.getMovementRemaining() / 5.0) * 5);
+            return new Display(state.isActionUsed(), state.isBonusActionUsed(), remaining, state.getMovementBudget());
+        }
+    }
+
+    private static final class Channel {
+        Display shown;
+        Component rendered;
+        int sentAtTick = Integer.MIN_VALUE / 2;
+        TurnState pending;
+    }
+
+    private static final Map<UUID, Channel> CHANNELS = new HashMap<>();
+    private static BukkitTask flushTask;
+
+    private ActionBarPublisher() {}
+
+    /**
+     * Sends right away (DM commands, action use), unless the bar is still showing exactly this.
+     */
+    static void publishNow(Player player, TurnState state) {
+        Channel channel = CHANNELS.computeIfAbsent(player.getUniqueId(), id -> new Channel());
+        channel.pending = null;
+        send(player, channel, state);
+    }
+
+    /**
+     * Coalesced send for high-frequency updates (movement).
+     */
+    static void publishThrottled(Player player, TurnState state) {
+        Channel channel = CHANNELS.computeIfAbsent(player.getUniqueId(), id -> new Channel());
+        if (Bukkit.getCurrentTick() - channel.sentAtTick >= MIN_INTERVAL_TICKS) {
+            channel.pending = null;
+            send(player, channel, state);
+        } else {
+            channel.pending = state;
+            ensureFlushTask();
+        }
+    }
+
+    /**
+     * Drops a player's cached bar (turn ended, combat over).
+     */
+    static void forget(UUID playerId) {
+        CHANNELS.remove(playerId);
+    }
+
+    private static void send(Player player, Channel channel, TurnState state) {
+        Display display = Display.of(state);
+        int now = Bukkit.getCurrentTick();
+
+        if (display.equals(channel.shown)) {
+            // Unchanged: only resend once the bar is about to fade
+            if (now - channel.sentAtTick < KEEPALIVE_TICKS) return;
+        } else {
+            channel.shown = display;
+            channel.rendered = render(display);
+        }
+
+        player.sendActionBar(channel.rendered);
+        channel.sentAtTick = now;
+    }
+
+    private static void ensureFlushTask() {
+        if (flushTask != null) return;
+        flushTask = Bukkit.getScheduler().runTaskTimer(JkVttPlugin.getInstance(), ActionBarPublisher::flushPending,
+                MIN_INTERVAL_TICKS, MIN_INTERVAL_TICKS);
+    }
+
+    private static void flushPending() {
+        boolean anyPending = false;
+        int now = Bukkit.getCurrentTick();
+
+        for (Map.Entry<UUID, Channel> entry : CHANNELS.entrySet()) {
+            Channel channel = entry.getValue();
+            if (channel.pending == null) continue;
+            if (now - channel.sentAtTick < MIN_INTERVAL_TICKS) {
+                anyPending = true;
+                continue;
+            }
+
+            Player player = Bukkit.getPlayer(entry.getKey());
+            TurnState state = channel.pending;
+            channel.pending = null;
+            if (player != null) send(player, channel, state);
+        }
+
+        if (!anyPending) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+    }
+
+    private static Component render(Display display) {
+        Component actionPart = Component.text("Action: ", NamedTextColor.WHITE)
+            .append(display.actionUsed()
+                ? Component.text("USED", NamedTextColor.RED)
+                : Component.text("READY", NamedTextColor.GREEN));
+
+        Component bonusPart = Component.text(" | Bonus: ", NamedTextColor.WHITE)
+            .append(display.bonusUsed()
+                ? Component.text("USED", NamedTextColor.RED)
+                : Component.text("READY", NamedTextColor.GREEN));
+
+        int remaining = display.movementRemaining();
+        NamedTextColor moveColor = remaining <= 0 ? NamedTextColor.RED
+            : remaining <= display.movementBudget() * 0.25 ? NamedTextColor.YELLOW
+            : NamedTextColor.GREEN;
+
+        Component movePart = Component.text(" | Move: ", NamedTextColor.WHITE)
+            .append(Component.text(remaining + "/" + display.movementBudget() + " ft", moveColor));
+
+        return actionPart.append(bonusPart).append(movePart);
+    }
+}
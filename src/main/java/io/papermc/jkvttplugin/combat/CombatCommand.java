@@ -1,14 +1,23 @@
 package io.papermc.jkvttplugin.combat;
 
+import io.papermc.jkvttplugin.JkVttPlugin;
 import io.papermc.jkvttplugin.character.CharacterSheet;
 import io.papermc.jkvttplugin.character.ActiveCharacterTracker;
+import io.papermc.jkvttplugin.combat.simulation.EncounterReport;
+import io.papermc.jkvttplugin.combat.simulation.EncounterSimulator;
+import io.papermc.jkvttplugin.combat.simulation.SimCombatant;
+import io.papermc.jkvttplugin.data.loader.EntityLoader;
+import io.papermc.jkvttplugin.data.loader.RollLogStore;
+import io.papermc.jkvttplugin.data.model.DndEntity;
 import io.papermc.jkvttplugin.data.model.DndEntityInstance;
 import io.papermc.jkvttplugin.dm.DMManager;
-import io.papermc.jkvttplugin.util.DiceRoller;
+import io.papermc.jkvttplugin.dice.RollStream;
+import io.papermc.jkvttplugin.util.CompletionService;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -19,6 +28,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 /**
@@ -35,6 +47,8 @@ import java.util.stream.Collectors;
  * - /combat endturn <target> - Force end someone's turn
  * - /combat turn <target> - Jump to specific combatant
  * - /combat status - View combat status
+ * - /combat rolls [sessionId] - View this combat's roll log and seed, or replay an ended combat's archived rolls
+ * - /combat simulate <entity[:count]>... [--trials N] - Estimate encounter difficulty
  * - /combat end - End combat session
  *
  * Issue #97 - Combat Session Foundation
@@ -47,6 +61,10 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
     // Subcommands that players can use on their own turn (no DM permission needed)
     private static final Set<String> PLAYER_ALLOWED = Set.of("action", "bonus", "endturn");
 
+    // /combat simulate trial counts
+    private static final int DEFAULT_SIMULATION_TRIALS = 10_000;
+    private static final int MAX_SIMULATION_TRIALS = 200_000;
+
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
                              @NotNull String label, @NotNull String[] args) {
@@ -88,6 +106,8 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
             case "endturn" -> handleEndTurn(player, args);
             case "turn" -> handleJumpToTurn(player, args);
             case "status" -> handleStatus(player);
+            case "rolls" -> handleRolls(player, args);
+            case "simulate" -> handleSimulate(player, args);
             case "end" -> handleEnd(player);
             case "reveal" -> handleReveal(player, args);
             case "hide" -> handleHide(player, args);
@@ -203,20 +223,18 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
             }
         }
 
-        // Add nearby DndEntityInstances
-        // Note: DndEntityInstance uses ArmorStands, check the registry
-        for (Entity entity : dm.getNearbyEntities(radius, radius, radius)) {
-            if (entity instanceof org.bukkit.entity.ArmorStand armorStand) {
-                DndEntityInstance instance = DndEntityInstance.getByArmorStand(armorStand);
-                if (instance != null && !instance.isDead()) {
-                    Combatant combatant = Combatant.fromEntity(instance);
-                    if (hidden) {
-                        combatant.setHidden(true);
-                        hiddenCount++;
-                    }
-                    if (session.addCombatant(combatant)) {
-                        addedCount++;
-                    }
+        // Add nearby DndEntityInstances (same cube as getNearbyEntities, from the spatial index)
+        Location center = dm.getLocation();
+        for (DndEntityInstance instance : DndEntityInstance.withinBox(
+                center.clone().subtract(radius, radius, radius), center.clone().add(radius, radius, radius))) {
+            if (!instance.isDead()) {
+                Combatant combatant = Combatant.fromEntity(instance);
+                if (hidden) {
+                    combatant.setHidden(true);
+                    hiddenCount++;
+                }
+                if (session.addCombatant(combatant)) {
+                    addedCount++;
                 }
             }
         }
@@ -394,7 +412,7 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
         session.broadcast(Component.empty());
 
         for (Combatant combatant : session.getCombatants()) {
-            int roll = DiceRoller.rollDice(1, 20);
+            int roll = session.rollD20(combatant.getDisplayName() + " initiative");
             int bonus = combatant.getInitiativeBonus();
             int total = roll + bonus;
             combatant.setInitiative(total);
@@ -580,6 +598,168 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
         dm.sendMessage(Component.text("━━━━━━━━━━━━━━━━━━━━━", NamedTextColor.GOLD));
     }
 
+    /**
+     * Show the session's seed, its most recent rolls, and whether the log replays cleanly.
+     */
+    private void handleRolls(Player dm, String[] args) {
+        if (args.length >= 2) {
+            replayArchivedRolls(dm, args[1]);
+            return;
+        }
+
+        CombatSession session = getActiveSession(dm);
+        if (session == null) return;
+
+        RollStream rolls = session.getRolls();
+        List<RollStream.Roll> log = rolls.getLog();
+
+        dm.sendMessage(Component.empty());
+        dm.sendMessage(Component.text("━━━ Combat Rolls ━━━", NamedTextColor.GOLD, TextDecoration.BOLD));
+        dm.sendMessage(Component.text("Seed: " + rolls.getSeed() + " (" + log.size() + " rolls)", NamedTextColor.WHITE));
+
+        for (RollStream.Roll roll : log.subList(Math.max(0, log.size() - 10), log.size())) {
+            dm.sendMessage(Component.text("  #" + roll.index() + " " + roll.reason() + ": ", NamedTextColor.GRAY)
+                .append(Component.text(roll.expression() + " = " + roll.result(), NamedTextColor.WHITE)));
+        }
+
+        boolean replays = RollStream.replay(rolls.getSeed(), log).isEmpty();
+        dm.sendMessage(replays
+            ? Component.text("Replay from seed matches the log.", NamedTextColor.GREEN)
+            : Component.text("Replay from seed does NOT match the log!", NamedTextColor.RED));
+        dm.sendMessage(Component.text("━━━━━━━━━━━━━━━━━━━━━", NamedTextColor.GOLD));
+    }
+
+    /**
+     * Replays every archived segment of an ended combat (read off the main thread) and reports
+     * whether each one matches its seed.
+     */
+    private void replayArchivedRolls(Player dm, String sessionArg) {
+        UUID sessionId;
+        try {
+            sessionId = UUID.fromString(sessionArg);
+        } catch (IllegalArgumentException e) {
+            dm.sendMessage(Component.text("Invalid combat id: " + sessionArg, NamedTextColor.RED));
+            return;
+        }
+
+        UUID dmId = dm.getUniqueId();
+        RollLogStore.readAsync("combat-" + sessionId, segments -> {
+            Player target = Bukkit.getPlayer(dmId);
+            if (target == null) return;
+            if (segments.isEmpty()) {
+                target.sendMessage(Component.text("No archived rolls for combat " + sessionId, NamedTextColor.RED));
+                return;
+            }
+
+            target.sendMessage(Component.empty());
+            target.sendMessage(Component.text("━━━ Archived Combat Rolls ━━━", NamedTextColor.GOLD, TextDecoration.BOLD));
+            for (RollLogStore.ArchivedSegment segment : segments) {
+                boolean replays = RollStream.replay(segment.seed(), segment.rolls()).isEmpty();
+                target.sendMessage(Component.text("Segment #" + segment.number() + ", seed " + segment.seed()
+                        + " (" + segment.rolls().size() + " rolls): ", NamedTextColor.WHITE)
+                    .append(replays
+                        ? Component.text("matches", NamedTextColor.GREEN)
+                        : Component.text("does NOT match", NamedTextColor.RED)));
+            }
+            target.sendMessage(Component.text("━━━━━━━━━━━━━━━━━━━━━", NamedTextColor.GOLD));
+        });
+    }
+
+    /**
+     * Estimate how an encounter would go against the party before running it.
+     * Party: the players in the DM's combat if there is one, otherwise every online player with
+     * an active character. Snapshots are taken here; the simulation runs off the main thread.
+     */
+    private void handleSimulate(Player dm, String[] args) {
+        int trials = DEFAULT_SIMULATION_TRIALS;
+        List<SimCombatant> enemies = new ArrayList<>();
+
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equalsIgnoreCase("--trials") && i + 1 < args.length) {
+                try {
+                    trials = Math.max(1, Math.min(MAX_SIMULATION_TRIALS, Integer.parseInt(args[++i])));
+                } catch (NumberFormatException e) {
+                    dm.sendMessage(Component.text("Invalid trial count: " + args[i], NamedTextColor.RED));
+                    return;
+                }
+                continue;
+            }
+
+            String[] parts = args[i].split(":", 2);
+            DndEntity template = EntityLoader.getEntity(parts[0]);
+            if (template == null) {
+                dm.sendMessage(Component.text("Unknown entity: " + parts[0], NamedTextColor.RED));
+                return;
+            }
+            int count;
+            try {
+                count = parts.length > 1 ? Math.max(1, Math.min(50, Integer.parseInt(parts[1]))) : 1;
+            } catch (NumberFormatException e) {
+                dm.sendMessage(Component.text("Invalid count: " + args[i], NamedTextColor.RED));
+                return;
+            }
+            SimCombatant enemy = SimCombatant.fromEntity(template);
+            for (int n = 0; n < count; n++) enemies.add(enemy);
+        }
+
+        if (enemies.isEmpty()) {
+            dm.sendMessage(Component.text("Usage: /combat simulate <entity[:count]>... [--trials N]", NamedTextColor.RED));
+            return;
+        }
+
+        List<SimCombatant> party = new ArrayList<>();
+        CombatSession session = DM_SESSIONS.get(dm.getUniqueId());
+        Collection<? extends Player> candidates = session != null
+            ? session.getCombatants().stream().filter(Combatant::isPlayer).map(Combatant::getPlayer)
+                .filter(Objects::nonNull).toList()
+            : Bukkit.getOnlinePlayers();
+        for (Player player : candidates) {
+            CharacterSheet sheet = ActiveCharacterTracker.getActiveCharacter(player);
+            if (sheet != null) party.add(SimCombatant.fromCharacter(sheet));
+        }
+
+        if (party.isEmpty()) {
+            dm.sendMessage(Component.text("No party to simulate: nobody has an active character.", NamedTextColor.RED));
+            return;
+        }
+
+        dm.sendMessage(Component.text("Simulating " + trials + " fights: " + party.size() + " characters vs "
+            + enemies.size() + " enemies...", NamedTextColor.GRAY, TextDecoration.ITALIC));
+
+        int trialCount = trials;
+        long seed = ThreadLocalRandom.current().nextLong();
+        UUID dmId = dm.getUniqueId();
+        CompletableFuture
+            .supplyAsync(() -> EncounterSimulator.simulate(party, enemies, trialCount, seed), ForkJoinPool.commonPool())
+            .whenComplete((report, error) -> Bukkit.getScheduler().runTask(JkVttPlugin.getInstance(), () -> {
+                Player target = Bukkit.getPlayer(dmId);
+                if (target == null) return;
+                if (error != null) {
+                    target.sendMessage(Component.text("Simulation failed: " + error.getMessage(), NamedTextColor.RED));
+                } else {
+                    showSimulationReport(target, report);
+                }
+            }));
+    }
+
+    private void showSimulationReport(Player dm, EncounterReport report) {
+        dm.sendMessage(Component.empty());
+        dm.sendMessage(Component.text("━━━ Encounter Simulation ━━━", NamedTextColor.GOLD, TextDecoration.BOLD));
+        dm.sendMessage(Component.text(String.format("Party wins: %.1f%%", report.winRate() * 100),
+            report.winRate() >= 0.9 ? NamedTextColor.GREEN : report.winRate() >= 0.6 ? NamedTextColor.YELLOW : NamedTextColor.RED));
+        if (report.stalemateRate() > 0) {
+            dm.sendMessage(Component.text(String.format("Stalemates: %.1f%%", report.stalemateRate() * 100), NamedTextColor.GRAY));
+        }
+        dm.sendMessage(Component.text(String.format("Expected rounds: %.1f", report.expectedRounds()), NamedTextColor.WHITE));
+        dm.sendMessage(Component.text("Chance of death:", NamedTextColor.YELLOW));
+        for (Map.Entry<String, Double> entry : report.deathProbability().entrySet()) {
+            dm.sendMessage(Component.text(String.format("  %s: %.1f%%", entry.getKey(), entry.getValue() * 100), NamedTextColor.WHITE));
+        }
+        dm.sendMessage(Component.text(report.trials() + " trials in " + report.elapsedMillis() + " ms (seed " + report.seed() + ")",
+            NamedTextColor.DARK_GRAY));
+        dm.sendMessage(Component.text("━━━━━━━━━━━━━━━━━━━━━", NamedTextColor.GOLD));
+    }
+
     private void handleEnd(Player dm) {
         CombatSession session = getActiveSession(dm);
         if (session == null) return;
@@ -598,6 +778,8 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
         DM_SESSIONS.remove(dm.getUniqueId());
 
         dm.sendMessage(Component.text("Combat session ended.", NamedTextColor.GREEN));
+        dm.sendMessage(Component.text("Rolls archived; replay with /combat rolls " + session.getSessionId(),
+            NamedTextColor.DARK_GRAY));
     }
 
     private void handleReveal(Player dm, String[] args) {
@@ -739,7 +921,7 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
             } else {
                 DndEntityInstance entity = current.getEntityInstance();
                 if (entity != null && entity.getArmorStand() != null) {
-                    entity.getArmorStand().teleport(startLoc);
+                    entity.teleport(startLoc);
                 }
             }
 
@@ -1032,6 +1214,10 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
             .append(Component.text(" - Check/undo movement", NamedTextColor.GRAY)));
         player.sendMessage(Component.text("/combat reveal/hide <entity>", NamedTextColor.YELLOW)
             .append(Component.text(" - Show/hide name", NamedTextColor.GRAY)));
+        player.sendMessage(Component.text("/combat rolls [id]", NamedTextColor.YELLOW)
+            .append(Component.text(" - Roll log and seed, or replay an ended combat", NamedTextColor.GRAY)));
+        player.sendMessage(Component.text("/combat simulate <entity[:n]>...", NamedTextColor.YELLOW)
+            .append(Component.text(" - Estimate encounter difficulty", NamedTextColor.GRAY)));
         player.sendMessage(Component.text("/combat end", NamedTextColor.YELLOW)
             .append(Component.text(" - End combat", NamedTextColor.GRAY)));
         player.sendMessage(Component.text("━━━━━━━━━━━━━━━━━━━━━━━━━", NamedTextColor.GOLD));
@@ -1058,7 +1244,7 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
         if (args.length == 1) {
             // Subcommands
             completions.addAll(List.of("start", "add", "remove", "surprise", "initiative",
-                "rollforinitiative", "nextturn", "endturn", "turn", "status", "end",
+                "rollforinitiative", "nextturn", "endturn", "turn", "status", "rolls", "simulate", "end",
                 "reveal", "hide", "action", "bonus", "movement"));
             return filterCompletions(completions, args[0]);
         }
@@ -1077,44 +1263,25 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
                     }
                     // Add entity names would need entity registry iteration
                 }
-                case "remove", "surprise", "endturn", "turn", "action", "bonus" -> {
+                case "remove", "surprise", "endturn", "turn", "action", "bonus", "initiative" -> {
                     // Suggest combatants in session
-                    if (session != null) {
-                        for (Combatant c : session.getCombatants()) {
-                            completions.add(c.getDisplayName());
-                        }
-                    }
+                    return session != null ? session.completeCombatantNames(args[1], c -> true) : completions;
                 }
                 case "movement" -> {
                     completions.add("undo");
                 }
-                case "initiative" -> {
-                    // Suggest combatants
-                    if (session != null) {
-                        for (Combatant c : session.getCombatants()) {
-                            completions.add(c.getDisplayName());
-                        }
-                    }
+                case "simulate" -> {
+                    return simulateCompletions(args[1]);
                 }
                 case "reveal" -> {
                     // Suggest hidden combatants (DM sees real names)
-                    if (session != null) {
-                        for (Combatant c : session.getCombatants()) {
-                            if (c.isHidden()) {
-                                completions.add(c.getDisplayName());
-                            }
-                        }
-                    }
+                    return session != null ? session.completeCombatantNames(args[1], Combatant::isHidden) : completions;
                 }
                 case "hide" -> {
                     // Suggest revealed entities
-                    if (session != null) {
-                        for (Combatant c : session.getCombatants()) {
-                            if (!c.isHidden() && c.isEntity()) {
-                                completions.add(c.getDisplayName());
-                            }
-                        }
-                    }
+                    return session != null
+                            ? session.completeCombatantNames(args[1], c -> !c.isHidden() && c.isEntity())
+                            : completions;
                 }
             }
             return filterCompletions(completions, args[1]);
@@ -1134,6 +1301,16 @@ public class CombatCommand implements CommandExecutor, TabCompleter {
             return filterCompletions(completions, args[3]);
         }
 
+        if (args.length >= 3 && args[0].equalsIgnoreCase("simulate")) {
+            return simulateCompletions(args[args.length - 1]);
+        }
+
+        return completions;
+    }
+
+    private List<String> simulateCompletions(String partial) {
+        List<String> completions = filterCompletions(List.of("--trials"), partial);
+        completions.addAll(CompletionService.entityIds(partial));
         return completions;
     }
 
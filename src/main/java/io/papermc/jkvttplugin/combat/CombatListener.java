@@ -10,6 +10,8 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
 
+import java.util.UUID;
+
 /**
  * Handles combat-related events: movement tracking with action bar refresh.
  *
@@ -28,19 +30,21 @@ public class CombatListener implements Listener {
             return;
         }
 
+        // Fast path: nothing to track or freeze while no combat is running
+        if (!CombatSession.hasActiveSessions()) return;
+
         Player player = event.getPlayer();
+        UUID playerId = player.getUniqueId();
 
         // Check if player is in an active combat session (as themselves)
-        CombatSession session = CombatSession.getSessionForPlayer(player.getUniqueId());
+        CombatSession session = CombatSession.getSessionForPlayer(playerId);
         Combatant tracked = null;
 
         if (session != null && !session.isSetupPhase()) {
-            Combatant current = session.getCurrentCombatant();
-            if (current != null && current.isPlayer()
-                && current.getId().equals(player.getUniqueId())) {
+            if (session.isTurnOf(playerId)) {
                 // It's this player's turn — track their movement
-                tracked = current;
-            } else if (!session.getDmId().equals(player.getUniqueId())) {
+                tracked = session.getCurrentCombatant();
+            } else if (!session.getDmId().equals(playerId)) {
                 // Not this player's turn and not the DM — freeze movement
                 event.setCancelled(true);
                 return;
@@ -48,19 +52,15 @@ public class CombatListener implements Listener {
         }
 
         // If not tracking as player, check if DM is possessing an entity in combat
-        if (tracked == null) {
-            ArmorStand possessed = NpcListener.getPossessedNpc(player.getUniqueId());
+        if (tracked == null && CombatSession.hasEntityCombatants()) {
+            ArmorStand possessed = NpcListener.getPossessedNpc(playerId);
             if (possessed != null) {
-                // Find the combat session containing this possessed entity
+                // Find the combat session containing this possessed entity (indexed lookup)
                 CombatSession possessedSession = CombatSession.getSessionForEntity(possessed);
-                if (possessedSession != null && !possessedSession.isSetupPhase()) {
-                    Combatant current = possessedSession.getCurrentCombatant();
-                    if (current != null && !current.isPlayer()
-                        && current.getEntityInstance() != null
-                        && current.getEntityInstance().getArmorStand().equals(possessed)) {
-                        tracked = current;
-                        session = possessedSession;
-                    }
+                if (possessedSession != null && !possessedSession.isSetupPhase()
+                    && possessedSession.isTurnOf(possessed.getUniqueId())) {
+                    tracked = possessedSession.getCurrentCombatant();
+                    session = possessedSession;
                 }
             }
         }
@@ -92,7 +92,7 @@ public class CombatListener implements Listener {
                 NamedTextColor.RED));
         }
 
-        // Refresh action bar on each block moved (keeps it visible while moving)
-        session.sendActionBar(tracked);
+        // Refresh action bar while moving (coalesced; unchanged values aren't resent)
+        session.refreshActionBar(tracked);
     }
 }
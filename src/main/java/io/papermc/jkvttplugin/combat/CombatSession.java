@@ -1,16 +1,21 @@
 package io.papermc.jkvttplugin.combat;
 
+import io.papermc.jkvttplugin.data.loader.RollLogStore;
 import io.papermc.jkvttplugin.data.model.DndEntityInstance;
-import io.papermc.jkvttplugin.util.DiceRoller;
+import io.papermc.jkvttplugin.dice.DiceExpression;
+import io.papermc.jkvttplugin.dice.RollStream;
+import io.papermc.jkvttplugin.util.CompletionService;
+import io.papermc.jkvttplugin.util.PrefixTrie;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.format.TextDecoration;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.scoreboard.*;
 
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
 
 /**
  * Manages an active combat session including combatants, initiative order,
@@ -19,6 +24,9 @@ import java.util.*;
  * Issue #97 - Combat Session Foundation
  */
 public class CombatSession {
+    private static final Logger LOGGER = Logger.getLogger("CombatSession");
+
+    private static final DiceExpression D20 = DiceExpression.compile("1d20");
 
     // ==================== STATIC REGISTRY ====================
 
@@ -34,6 +42,12 @@ public class CombatSession {
      */
     private static final Map<UUID, CombatSession> PLAYER_SESSIONS = new HashMap<>();
 
+    /**
+     * Map of entity combatants' armor stand UUIDs to their combat session.
+     * Lets DM possession movement find its session without scanning every combatant.
+     */
+    private static final Map<UUID, CombatSession> ENTITY_SESSIONS = new HashMap<>();
+
     // ==================== INSTANCE FIELDS ====================
 
     private final UUID sessionId;
@@ -46,12 +60,19 @@ public class CombatSession {
     private boolean isSetupPhase;  // True during /combat start, false after /rollforinitiative
     private boolean isActive;
 
-    private Scoreboard scoreboard;
-    private Objective initiativeObjective;
+    // Initiative tracker as seen by the DM / by players (see TrackerView)
+    private TrackerView dmView;
+    private TrackerView playerView;
 
     // Track name counts for differentiating entities with same name (e.g., Wolf #1, Wolf #2)
     private final Map<String, Integer> nameCounters;
 
+    // Lower-cased display name -> combatants, for tab completion; kept in step with renames
+    private final PrefixTrie<Combatant> combatantNames = new PrefixTrie<>();
+
+    // Seeded source of every roll made for this combat, with its log; segments are archived to RollLogStore
+    private final RollStream rolls;
+
     // ==================== CONSTRUCTOR ====================
 
     /**
@@ -67,6 +88,8 @@ public class CombatSession {
         this.roundNumber = 0;
         this.isSetupPhase = true;
         this.isActive = true;
+        this.rolls = RollStream.create("combat " + sessionId);
+        rolls.setArchive(RollLogStore::append);
 
         // Register session
         ACTIVE_SESSIONS.put(sessionId, this);
@@ -85,6 +108,15 @@ public class CombatSession {
         return PLAYER_SESSIONS.get(playerId);
     }
 
+    /**
+     * The roll stream for a player's character: their combat's stream while they're in one,
+     * otherwise the character's own.
+     */
+    public static RollStream rollsFor(UUID playerId, UUID characterId) {
+        CombatSession session = PLAYER_SESSIONS.get(playerId);
+        return session != null ? session.rolls : RollStream.forCharacter(characterId);
+    }
+
     /**
      * Get a combat session by ID.
      */
@@ -99,20 +131,47 @@ public class CombatSession {
         return Collections.unmodifiableCollection(ACTIVE_SESSIONS.values());
     }
 
+    /**
+     * Archives the current roll segment of every running combat, so a restart mid-fight doesn't
+     * lose its rolls. Called from onDisable, before RollLogStore shuts down.
+     */
+    public static void archiveAllRolls() {
+        for (CombatSession session : ACTIVE_SESSIONS.values()) {
+            session.rolls.archiveCurrent();
+        }
+    }
+
+    /**
+     * Whether any combat is running. Lets per-move handlers bail out immediately outside combat.
+     */
+    public static boolean hasActiveSessions() {
+        return !ACTIVE_SESSIONS.isEmpty();
+    }
+
+    /**
+     * Whether any combat has entity combatants (i.e. anything a DM could be possessing).
+     */
+    public static boolean hasEntityCombatants() {
+        return !ENTITY_SESSIONS.isEmpty();
+    }
+
     /**
      * Find the combat session containing a specific armor stand entity.
      * Used for DM possession movement tracking.
      */
     public static CombatSession getSessionForEntity(org.bukkit.entity.ArmorStand armorStand) {
-        for (CombatSession session : ACTIVE_SESSIONS.values()) {
-            for (Combatant c : session.getCombatants()) {
-                if (!c.isPlayer() && c.getEntityInstance() != null
-                    && c.getEntityInstance().getArmorStand().equals(armorStand)) {
-                    return session;
-                }
-            }
+        return ENTITY_SESSIONS.get(armorStand.getUniqueId());
+    }
+
+    /**
+     * Armor stand UUID of an entity combatant, or null for players / entities without one.
+     */
+    private static UUID armorStandId(Combatant combatant) {
+        if (combatant.isPlayer() || combatant.getEntityInstance() == null
+                || combatant.getEntityInstance().getArmorStand() == null) {
+            return null;
         }
-        return null;
+        return combatant.getEntityInstance().getArmorStand().getUniqueId();
     }
 
     // ==================== COMBATANT MANAGEMENT ====================
@@ -138,7 +197,13 @@ public class CombatSession {
             PLAYER_SESSIONS.put(combatant.getId(), this);
         }
 
+        UUID armorStandId = armorStandId(combatant);
+        if (armorStandId != null) {
+            ENTITY_SESSIONS.put(armorStandId, this);
+        }
+
         combatants.add(combatant);
+        indexName(combatant);
 
         // Rebuild display names to handle duplicates (Wolf -> Wolf #1, Wolf #2)
         rebuildEntityDisplayNames();
@@ -173,11 +238,16 @@ public class CombatSession {
         }
 
         combatants.remove(combatant);
+        unindexName(combatant);
 
-        // Unregister player from session
+        // Unregister player/entity from session
         if (combatant.isPlayer()) {
             PLAYER_SESSIONS.remove(combatant.getId());
         }
+        UUID armorStandId = armorStandId(combatant);
+        if (armorStandId != null) {
+            ENTITY_SESSIONS.remove(armorStandId, this);
+        }
 
         // Rebuild display names (e.g., if Wolf #2 is removed, Wolf #1 becomes just "Wolf")
         rebuildEntityDisplayNames();
@@ -207,12 +277,12 @@ public class CombatSession {
 
             if (group.size() == 1) {
                 // Only one with this name - no numbering needed
-                group.get(0).setDisplayName(baseName);
+                rename(group.get(0), baseName);
             } else {
                 // Multiple - number them
                 int num = 1;
                 for (Combatant c : group) {
-                    c.setDisplayName(baseName + " #" + num);
+                    rename(c, baseName + " #" + num);
                     num++;
                 }
             }
@@ -225,6 +295,34 @@ public class CombatSession {
         }
     }
 
+    private void rename(Combatant combatant, String displayName) {
+        if (displayName.equals(combatant.getDisplayName())) return;
+        unindexName(combatant);
+        combatant.setDisplayName(displayName);
+        indexName(combatant);
+    }
+
+    private void indexName(Combatant combatant) {
+        combatantNames.put(combatant.getDisplayName().toLowerCase(Locale.ROOT), combatant);
+    }
+
+    private void unindexName(Combatant combatant) {
+        combatantNames.remove(combatant.getDisplayName().toLowerCase(Locale.ROOT), combatant);
+    }
+
+    /**
+     * Display names (as the DM sees them) of combatants starting with {@code prefix},
+     * ignoring case, that match {@code filter}. For tab completion.
+     */
+    public List<String> completeCombatantNames(String prefix, Predicate<Combatant> filter) {
+        List<String> names = new ArrayList<>();
+        combatantNames.visitPrefix(prefix.toLowerCase(Locale.ROOT), c -> {
+            if (filter.test(c)) names.add(c.getDisplayName());
+            return names.size() < CompletionService.MAX_RESULTS;
+        });
+        return names;
+    }
+
     /**
      * Get a combatant by name (case-insensitive).
      * Also searches by base name for convenience.
@@ -272,11 +370,18 @@ public class CombatSession {
      * Roll initiative for a single combatant.
      */
     private void rollInitiativeFor(Combatant combatant) {
-        int roll = DiceRoller.rollDice(1, 20);
+        int roll = rollD20(combatant.getDisplayName() + " initiative");
         int total = roll + combatant.getInitiativeBonus();
         combatant.setInitiative(total);
     }
 
+    /**
+     * Roll a d20 from this session's stream, logged under {@code reason}.
+     */
+    public int rollD20(String reason) {
+        return rolls.roll(D20, reason);
+    }
+
     /**
      * Sort combatants by initiative (highest first).
      * Ties broken by initiative bonus (higher wins).
@@ -330,6 +435,16 @@ public class CombatSession {
         return combatants.get(currentTurnIndex);
     }
 
+    /**
+     * Whether it is currently the turn of the player or possessed armor stand with this UUID.
+     * Constant time: compares against the current combatant only.
+     */
+    public boolean isTurnOf(UUID moverId) {
+        Combatant current = getCurrentCombatant();
+        if (current == null) return false;
+        return current.isPlayer() ? current.getId().equals(moverId) : moverId.equals(armorStandId(current));
+    }
+
     /**
      * Advance to the next turn.
      * @return The new current combatant
@@ -342,6 +457,7 @@ public class CombatSession {
         if (previous != null) {
             previous.clearTurnState();
             clearGlowEffect(previous);
+            ActionBarPublisher.forget(previous.getId());
         }
 
         currentTurnIndex++;
@@ -383,6 +499,7 @@ public class CombatSession {
             if (previous != null) {
                 previous.clearTurnState();
                 clearGlowEffect(previous);
+                ActionBarPublisher.forget(previous.getId());
             }
 
             currentTurnIndex = index;
@@ -415,8 +532,10 @@ public class CombatSession {
 
         // Remove all players from session tracking, clear glows and turn state
         for (Combatant c : combatants) {
+            unindexName(c);
             clearGlowEffect(c);
             c.clearTurnState();
+            ActionBarPublisher.forget(c.getId());
 
             if (c.isPlayer()) {
                 PLAYER_SESSIONS.remove(c.getId());
@@ -427,6 +546,11 @@ public class CombatSession {
                     player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
                 }
             }
+
+            UUID armorStandId = armorStandId(c);
+            if (armorStandId != null) {
+                ENTITY_SESSIONS.remove(armorStandId, this);
+            }
         }
 
         // Reset DM scoreboard
@@ -437,129 +561,123 @@ public class CombatSession {
 
         combatants.clear();
         ACTIVE_SESSIONS.remove(sessionId);
+
+        // Every segment's full log is in the archive, so /combat rolls <id> can replay this combat later
+        rolls.archiveCurrent();
+        List<RollStream.Segment> segments = rolls.getSegments();
+        int totalRolls = segments.stream().mapToInt(RollStream.Segment::rolls).sum();
+        StringBuilder summary = new StringBuilder("Combat " + sessionId + " ended: " + totalRolls + " rolls in "
+                + segments.size() + " segment(s), archived as " + RollLogStore.fileName(rolls));
+        for (int i = 0; i < segments.size(); i++) {
+            summary.append("; #").append(i + 1).append(" seed ").append(segments.get(i).seed())
+                    .append(", ").append(segments.get(i).rolls()).append(" rolls");
+        }
+        LOGGER.info(summary.toString());
     }
 
     // ==================== SCOREBOARD ====================
 
     private void initializeScoreboard() {
-        ScoreboardManager manager = Bukkit.getScoreboardManager();
-        scoreboard = manager.getNewScoreboard();
-
-        initiativeObjective = scoreboard.registerNewObjective(
-            "initiative",
-            Criteria.DUMMY,
-            Component.text("━━━ INITIATIVE ━━━", NamedTextColor.GOLD, TextDecoration.BOLD)
-        );
-        initiativeObjective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        dmView = new TrackerView(true);
+        playerView = new TrackerView(false);
     }
 
     /**
      * Update the scoreboard display with current combat state.
+     * Each view (DM / players) is rendered once and only lines that differ from its last
+     * update are sent (see SidebarRenderer).
      */
     public void updateScoreboard() {
-        // Clear existing entries
-        for (String entry : scoreboard.getEntries()) {
-            scoreboard.resetScores(entry);
-        }
+        dmView.render(buildTrackerLines(dmView));
+        playerView.render(buildTrackerLines(playerView));
+
+        // Apply views to combatant players and DM who aren't already viewing them
+        applyScoreboardToParticipants();
+    }
+
+    private List<SidebarRenderer.Line> buildTrackerLines(TrackerView view) {
+        List<SidebarRenderer.Line> lines = new ArrayList<>();
 
         if (isSetupPhase) {
             // Show combatants without initiative during setup
             int score = combatants.size();
-            for (int i = 0; i < combatants.size(); i++) {
-                Combatant c = combatants.get(i);
-                // Show ??? for hidden entities even during setup
-                String name = c.isHidden() ? "???" : c.getDisplayName();
-                // Add invisible unique suffix to prevent entry merging (using color reset codes)
-                String display = "  " + name + makeUniqueSuffix(i);
+            for (Combatant c : combatants) {
+                Component display = Component.text("  ").append(formatName(c, view));
                 if (c.isSurprised()) {
-                    display += " §e[S]";  // Surprised marker
+                    display = display.append(Component.text(" [S]", NamedTextColor.YELLOW));  // Surprised marker
                 }
-                initiativeObjective.getScore(display).setScore(score--);
+                lines.add(new SidebarRenderer.Line(display, score--));
             }
-            initiativeObjective.getScore("§7Add combatants...").setScore(0);
+            lines.add(new SidebarRenderer.Line(Component.text("Add combatants...", NamedTextColor.GRAY), 0));
         } else {
             // Show initiative order - use actual initiative as the red score number
             for (int i = 0; i < combatants.size(); i++) {
                 Combatant c = combatants.get(i);
-                StringBuilder display = new StringBuilder();
 
                 // Current turn indicator
-                if (i == currentTurnIndex) {
-                    display.append("§a→ ");
-                } else {
-                    display.append("  ");
-                }
-
-                // Name (respecting hidden status - scoreboard is same for all, so show ???)
-                display.append(c.isHidden() ? "???" : c.getDisplayName());
+                Component display = i == currentTurnIndex
+                        ? Component.text("→ ", NamedTextColor.GREEN)
+                        : Component.text("  ");
 
-                // Add invisible unique suffix to prevent entry merging
-                display.append(makeUniqueSuffix(i));
+                display = display.append(formatName(c, view));
 
                 // Status indicators
-                if (c.isSurprised()) display.append(" §e[S]");
+                if (c.isSurprised()) display = display.append(Component.text(" [S]", NamedTextColor.YELLOW));
                 if (c.isUnconscious()) {
-                    display.append(" §c\u2620 ");  // Skull
-                    display.append(formatDeathSaves(c));
+                    display = display.append(Component.text(" \u2620 ", NamedTextColor.RED))  // Skull
+                            .append(formatDeathSaves(c));
                 }
-                if (c.isDead()) display.append(" §4[DEAD]");
+                if (c.isDead()) display = display.append(Component.text(" [DEAD]", NamedTextColor.DARK_RED));
 
                 // Use actual initiative as the score (shown as red number on right)
-                initiativeObjective.getScore(display.toString()).setScore(c.getInitiative());
+                lines.add(new SidebarRenderer.Line(display, c.getInitiative()));
             }
 
             // Round counter at bottom
-            initiativeObjective.getScore("§8Round: " + roundNumber).setScore(0);
+            lines.add(new SidebarRenderer.Line(Component.text("Round: " + roundNumber, NamedTextColor.DARK_GRAY), 0));
         }
 
-        // Apply scoreboard to all combatant players and DM
-        applyScoreboardToParticipants();
+        return lines;
     }
 
-    private String formatDeathSaves(Combatant c) {
-        StringBuilder sb = new StringBuilder();
+    /**
+     * Name as the view's audience may see it: players get "???" for hidden combatants,
+     * the DM gets the real name with a hidden marker.
+     */
+    private Component formatName(Combatant c, TrackerView view) {
+        Component name = Component.text(c.getDisplayName(view.isDmView()), NamedTextColor.WHITE);
+        if (view.isDmView() && c.isHidden()) {
+            name = name.append(Component.text(" [H]", NamedTextColor.DARK_GRAY));
+        }
+        return name;
+    }
+
+    private Component formatDeathSaves(Combatant c) {
+        Component saves = Component.empty();
         // Successes
         for (int i = 0; i < 3; i++) {
-            sb.append(i < c.getDeathSaveSuccesses() ? "§a●" : "§7○");
+            saves = saves.append(i < c.getDeathSaveSuccesses()
+                    ? Component.text("●", NamedTextColor.GREEN)
+                    : Component.text("○", NamedTextColor.GRAY));
         }
-        sb.append("§7/");
+        saves = saves.append(Component.text("/", NamedTextColor.GRAY));
         // Failures
         for (int i = 0; i < 3; i++) {
-            sb.append(i < c.getDeathSaveFailures() ? "§c●" : "§7○");
-        }
-        return sb.toString();
-    }
-
-    /**
-     * Create an invisible unique suffix to differentiate scoreboard entries.
-     * Uses color codes that reset to white, making them invisible but unique.
-     * This prevents Minecraft from merging entries with identical text.
-     */
-    private String makeUniqueSuffix(int index) {
-        // Use a combination of color codes to create unique invisible suffixes
-        // §r resets formatting, repeated in patterns based on index
-        StringBuilder suffix = new StringBuilder("§r");
-        // Add additional invisible characters based on index
-        for (int i = 0; i <= index; i++) {
-            suffix.append("§f");  // White color (invisible extra codes)
+            saves = saves.append(i < c.getDeathSaveFailures()
+                    ? Component.text("●", NamedTextColor.RED)
+                    : Component.text("○", NamedTextColor.GRAY));
         }
-        return suffix.toString();
+        return saves;
     }
 
     private void applyScoreboardToParticipants() {
-        // Apply to DM
-        Player dm = Bukkit.getPlayer(dmId);
-        if (dm != null && dm.isOnline()) {
-            dm.setScoreboard(scoreboard);
-        }
+        // DM sees hidden combatants by name
+        dmView.show(Bukkit.getPlayer(dmId));
 
-        // Apply to all player combatants
+        // All player combatants share the player view
         for (Combatant c : combatants) {
             if (c.isPlayer()) {
-                Player player = c.getPlayer();
-                if (player != null && player.isOnline()) {
-                    player.setScoreboard(scoreboard);
-                }
+                playerView.show(c.getPlayer());
             }
         }
     }
@@ -607,35 +725,26 @@ public class CombatSession {
      * Shows: Action status | Bonus Action status | Movement remaining
      */
     public void sendActionBar(Combatant combatant) {
-        if (!combatant.isPlayer()) return;
-
-        Player player = combatant.getPlayer();
-        if (player == null) return;
-
-        TurnState state = combatant.getTurnState();
-        if (state == null) return;
-
-        Component actionPart = Component.text("Action: ", NamedTextColor.WHITE)
-            .append(state.isActionUsed()
-                ? Component.text("USED", NamedTextColor.RED)
-                : Component.text("READY", NamedTextColor.GREEN));
-
-        Component bonusPart = Component.text(" | Bonus: ", NamedTextColor.WHITE)
-            .append(state.isBonusActionUsed()
-                ? Component.text("USED", NamedTextColor.RED)
-                : Component.text("READY", NamedTextColor.GREEN));
-
-        double remaining = state.getMovementRemaining();
-        NamedTextColor moveColor = remaining <= 0 ? NamedTextColor.RED
-            : remaining <= state.getMovementBudget() * 0.25 ? NamedTextColor.YELLOW
-            : NamedTextColor.GREEN;
+        Player player = actionBarTarget(combatant);
+        if (player != null) {
+            ActionBarPublisher.publishNow(player, combatant.getTurnState());
+        }
+    }
 
-        Component movePart = Component.text(" | Move: ", NamedTextColor.WHITE)
-            .append(Component.text(
-                String.format("%.0f", remaining) + "/" + state.getMovementBudget() + " ft",
-                moveColor));
+    /**
+     * Like {@link #sendActionBar}, but coalesced for high-frequency callers (movement):
+     * at most one send every few ticks, and none if the displayed values didn't change.
+     */
+    public void refreshActionBar(Combatant combatant) {
+        Player player = actionBarTarget(combatant);
+        if (player != null) {
+            ActionBarPublisher.publishThrottled(player, combatant.getTurnState());
+        }
+    }
 
-        player.sendActionBar(actionPart.append(bonusPart).append(movePart));
+    private Player actionBarTarget(Combatant combatant) {
+        if (!combatant.isPlayer() || combatant.getTurnState() == null) return null;
+        return combatant.getPlayer();
     }
 
     // ==================== BROADCASTING ====================
@@ -693,6 +802,7 @@ public class CombatSession {
 
     public UUID getSessionId() { return sessionId; }
     public UUID getDmId() { return dmId; }
+    public RollStream getRolls() { return rolls; }
     public List<Combatant> getCombatants() { return Collections.unmodifiableList(combatants); }
     public int getCurrentTurnIndex() { return currentTurnIndex; }
     public int getRoundNumber() { return roundNumber; }
@@ -0,0 +1,73 @@
+package io.papermc.jkvttplugin.combat;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Score;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retained-mode sidebar: remembers the last frame drawn on an objective and only touches the
+ * lines that changed, so a turn change updates two lines instead of resetting and resending
+ * the whole initiative list.
+ *
+ * Each line lives in a fixed slot entry ("line000", "line001", ...) whose visible text is the
+ * score's custom name. Entries never collide (no invisible-suffix tricks needed), and ties in
+ * score keep list order because the slot keys sort in that order.
+ */
+final class SidebarRenderer {
+
+    record Line(Component text, int score) {}
+
+    private final Objective objective;
+    private final List<Line> previous = new ArrayList<>();
+
+    SidebarRenderer(Objective objective) {
+        this.objective = objective;
+    }
+
+    /**
+     * Draws a frame, top to bottom (order on screen still follows the scores).
+     *
+     * @return How many lines were added, changed or removed
+     */
+    int render(List<Line> lines) {
+        int changed = 0;
+
+        for (int slot = 0; slot < lines.size(); slot++) {
+            Line line = lines.get(slot);
+            Line old = slot < previous.size() ? previous.get(slot) : null;
+            if (line.equals(old)) continue;
+
+            Score score = objective.getScore(slotKey(slot));
+            if (old == null || old.score() != line.score()) {
+                score.setScore(line.score());
+            }
+            if (old == null || !old.text().equals(line.text())) {
+                score.customName(line.text());
+            }
+            changed++;
+        }
+
+        for (int slot = lines.size(); slot < previous.size(); slot++) {
+            objective.getScoreboard().resetScores(slotKey(slot));
+            changed++;
+        }
+
+        previous.clear();
+        previous.addAll(lines);
+        return changed;
+    }
+
+    /**
+     * Removes every line (the next render redraws from scratch).
+     */
+    void clear() {
+        render(List.of());
+    }
+
+    private static String slotKey(int slot) {
+        return String.format("line%03d", slot);
+    }
+}
@@ -0,0 +1,55 @@
+package io.papermc.jkvttplugin.combat;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+
+import java.util.List;
+
+/**
+ * One way of looking at a combat's initiative tracker, shared by every viewer with the same
+ * visibility. A session has two: the DM view (hidden combatants shown by name) and the player
+ * view (hidden combatants shown as "???"). Each owns one scoreboard that is rendered once per
+ * state change no matter how many players watch it.
+ */
+final class TrackerView {
+    private final boolean dmView;
+    private final Scoreboard scoreboard;
+    private final SidebarRenderer sidebar;
+
+    TrackerView(boolean dmView) {
+        this.dmView = dmView;
+        this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+
+        Objective objective = scoreboard.registerNewObjective(
+            "initiative",
+            Criteria.DUMMY,
+            Component.text("━━━ INITIATIVE ━━━", NamedTextColor.GOLD, TextDecoration.BOLD)
+        );
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        this.sidebar = new SidebarRenderer(objective);
+    }
+
+    boolean isDmView() {
+        return dmView;
+    }
+
+    void render(List<SidebarRenderer.Line> lines) {
+        sidebar.render(lines);
+    }
+
+    /**
+     * Shows this view to a player, unless they're already looking at it.
+     */
+    void show(Player player) {
+        if (player != null && player.isOnline() && player.getScoreboard() != scoreboard) {
+            player.setScoreboard(scoreboard);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.papermc.jkvttplugin.combat.simulation;
+
+import java.util.Map;
+
+/**
+ * Aggregate result of {@link EncounterSimulator#simulate}.
+ *
+ * @param winRate          Fraction of trials where the party was left standing
+ * @param stalemateRate    Fraction of trials that hit the round limit (e.g. nobody can hit)
+ * @param expectedRounds   Mean rounds per trial
+ * @param deathProbability Per party member (by name, in party order): fraction of trials they died
+ * @param seed             Base seed; the same inputs and seed reproduce the same report
+ */
+public record EncounterReport(int trials, double winRate, double stalemateRate, double expectedRounds,
+                              Map<String, Double> deathProbability, long seed, long elapsedMillis) {
+}
@@ -0,0 +1,296 @@
+package io.papermc.jkvttplugin.combat.simulation;
+
+import io.papermc.jkvttplugin.dice.DiceContext;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Headless Monte Carlo estimate of how an encounter goes: runs many simplified fights between
+ * a party and a group of entities and aggregates win rate, length and who died.
+ *
+ * Simplified rules per trial:
+ * - Everyone rolls initiative (d20 + bonus); HP is rolled from each snapshot
+ * - On its turn a combatant attacks a random standing enemy with whichever attack has the best
+ *   expected damage against that enemy's AC (natural 1 misses, natural 20 hits, no crit damage)
+ * - Entities die at 0 HP. Party members drop to 0 and make death saves (10+ succeeds, natural
+ *   20 revives at 1 HP, natural 1 counts twice); damage that leaves them at -max HP kills
+ *   outright. Downed members are never targeted
+ * - The fight ends when one side has nobody standing. If the party wins, downed members are
+ *   assumed stabilized; if it loses, they keep rolling death saves until resolved
+ * - Fights still going after {@link #MAX_ROUNDS} rounds count as stalemates
+ *
+ * Trials run on the common fork-join pool. Each trial seeds its own generator from the base
+ * seed and its index, so results don't depend on how the work is split. Touches no Bukkit
+ * objects; run it off the main thread.
+ */
+public final class EncounterSimulator {
+
+    static final int MAX_ROUNDS = 100;
+    private static final int TRIALS_PER_TASK = 256;
+    private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+    private EncounterSimulator() {}
+
+    public static EncounterReport simulate(List<SimCombatant> party, List<SimCombatant> enemies, int trials, long seed) {
+        if (party.isEmpty() || enemies.isEmpty()) {
+            throw new IllegalArgumentException("Both sides need at least one combatant");
+        }
+        if (trials < 1) throw new IllegalArgumentException("Need at least one trial");
+
+        SimCombatant[] combatants = new SimCombatant[party.size() + enemies.size()];
+        for (int i = 0; i < party.size(); i++) combatants[i] = party.get(i);
+        for (int i = 0; i < enemies.size(); i++) combatants[party.size() + i] = enemies.get(i);
+
+        long start = System.nanoTime();
+        Tally tally = ForkJoinPool.commonPool().invoke(new TrialTask(combatants, party.size(), seed, 0, trials));
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+
+        Map<String, Double> deaths = new LinkedHashMap<>();
+        for (int i = 0; i < party.size(); i++) {
+            // Same-named party members get a suffix rather than overwriting each other
+            String name = party.get(i).name();
+            String key = deaths.containsKey(name) ? name + " #" + (i + 1) : name;
+            deaths.put(key, (double) tally.deaths[i] / trials);
+        }
+
+        return new EncounterReport(trials, (double) tally.wins / trials, (double) tally.stalemates / trials,
+                (double) tally.rounds / trials, deaths, seed, elapsed);
+    }
+
+    // ==================== Fork/join ====================
+
+    private static final class Tally {
+        int wins;
+        int stalemates;
+        long rounds;
+        final int[] deaths;
+
+        Tally(int partySize) {
+            deaths = new int[partySize];
+        }
+
+        Tally merge(Tally other) {
+            wins += other.wins;
+            stalemates += other.stalemates;
+            rounds += other.rounds;
+            for (int i = 0; i < deaths.length; i++) deaths[i] += other.deaths[i];
+            return this;
+        }
+    }
+
+    private static final class TrialTask extends RecursiveTask<Tally> {
+        private final SimCombatant[] combatants;
+        private final int partySize;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        TrialTask(SimCombatant[] combatants, int partySize, long seed, int from, int to) {
+            this.combatants = combatants;
+            this.partySize = partySize;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > TRIALS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                TrialTask left = new TrialTask(combatants, partySize, seed, from, mid);
+                left.fork();
+                Tally right = new TrialTask(combatants, partySize, seed, mid, to).compute();
+                return right.merge(left.join());
+            }
+
+            Tally tally = new Tally(partySize);
+            Fight fight = new Fight(combatants, partySize);
+            for (int trial = from; trial < to; trial++) {
+                fight.run(new SplittableRandom(seed + trial * SEED_STRIDE), tally);
+            }
+            return tally;
+        }
+    }
+
+    // ==================== One fight ====================
+
+    /**
+     * Mutable per-trial state, reused across the trials of one task.
+     */
+    private static final class Fight {
+        private final SimCombatant[] combatants;
+        private final int partySize;
+        private final int[] maxHp;
+        private final int[] hp;
+        private final int[] saveSuccesses;
+        private final int[] saveFailures;
+        private final boolean[] dead;
+        private final boolean[] stable;
+        private final long[] initiativeOrder; // (initiative << 32 | index), sorted descending
+        private final int[] targets;
+        private SplittableRandom rng;
+
+        Fight(SimCombatant[] combatants, int partySize) {
+            this.combatants = combatants;
+            this.partySize = partySize;
+            int n = combatants.length;
+            maxHp = new int[n];
+            hp = new int[n];
+            saveSuccesses = new int[n];
+            saveFailures = new int[n];
+            dead = new boolean[n];
+            stable = new boolean[n];
+            initiativeOrder = new long[n];
+            targets = new int[n];
+        }
+
+        void run(SplittableRandom rng, Tally tally) {
+            this.rng = rng;
+            int n = combatants.length;
+            for (int i = 0; i < n; i++) {
+                SimCombatant c = combatants[i];
+                maxHp[i] = Math.max(1, c.hitPoints().roll(rng, DiceContext.NONE));
+                hp[i] = maxHp[i];
+                saveSuccesses[i] = 0;
+                saveFailures[i] = 0;
+                dead[i] = false;
+                stable[i] = false;
+                int initiative = d20() + c.initiativeBonus();
+                // Higher initiative first; ties broken by bonus via the sort below
+                initiativeOrder[i] = ((long) (initiative * 64 + c.initiativeBonus() + 32) << 32) | i;
+            }
+            Arrays.sort(initiativeOrder);
+
+            int round = 0;
+            boolean over = false;
+            while (!over && round < MAX_ROUNDS) {
+                round++;
+                for (int k = n - 1; k >= 0 && !over; k--) {
+                    int actor = (int) initiativeOrder[k];
+                    takeTurn(actor);
+                    over = !anyStanding(0, partySize) || !anyStanding(partySize, n);
+                }
+            }
+
+            boolean partyWon = !anyStanding(partySize, n) && anyStanding(0, partySize);
+            if (partyWon) {
+                tally.wins++;
+            } else if (!over) {
+                tally.stalemates++;
+            } else {
+                // Nobody left to help: resolve every dying party member
+                for (int i = 0; i < partySize; i++) {
+                    while (isDying(i) && hp[i] == 0) deathSave(i);
+                }
+            }
+            tally.rounds += round;
+            for (int i = 0; i < partySize; i++) {
+                if (dead[i]) tally.deaths[i]++;
+            }
+        }
+
+        private void takeTurn(int actor) {
+            if (dead[actor]) return;
+            if (hp[actor] == 0) {
+                if (isDying(actor)) deathSave(actor);
+                return;
+            }
+
+            SimCombatant self = combatants[actor];
+            if (self.attacks().isEmpty()) return;
+
+            boolean party = actor < partySize;
+            int from = party ? partySize : 0;
+            int to = party ? combatants.length : partySize;
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (hp[i] > 0) targets[count++] = i;
+            }
+            if (count == 0) return;
+            int target = targets[rng.nextInt(count)];
+
+            SimCombatant.Attack attack = bestAttack(self, combatants[target].armorClass());
+            int roll = d20();
+            boolean hits = roll == 20 || (roll != 1 && roll + attack.toHit() >= combatants[target].armorClass());
+            if (hits) {
+                damage(target, Math.max(0, attack.damage().roll(rng, DiceContext.NONE)));
+            }
+        }
+
+        private SimCombatant.Attack bestAttack(SimCombatant self, int armorClass) {
+            SimCombatant.Attack best = null;
+            double bestValue = -1;
+            for (SimCombatant.Attack attack : self.attacks()) {
+                double value = attack.hitChance(armorClass) * attack.averageDamage();
+                if (value > bestValue) {
+                    best = attack;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Damages a standing combatant (takeTurn only targets those).
+         */
+        private void damage(int target, int amount) {
+            if (amount == 0) return;
+            if (target >= partySize) {
+                hp[target] = Math.max(0, hp[target] - amount);
+                if (hp[target] == 0) dead[target] = true;
+                return;
+            }
+
+            int remaining = hp[target] - amount;
+            if (remaining > 0) {
+                hp[target] = remaining;
+            } else {
+                hp[target] = 0;
+                saveSuccesses[target] = 0;
+                saveFailures[target] = 0;
+                if (-remaining >= maxHp[target]) dead[target] = true; // Massive damage
+            }
+        }
+
+        private void deathSave(int i) {
+            int roll = d20();
+            if (roll == 20) {
+                hp[i] = 1;
+                saveSuccesses[i] = 0;
+                saveFailures[i] = 0;
+            } else if (roll == 1) {
+                addFailures(i, 2);
+            } else if (roll >= 10) {
+                if (++saveSuccesses[i] >= 3) stable[i] = true;
+            } else {
+                addFailures(i, 1);
+            }
+        }
+
+        private void addFailures(int i, int failures) {
+            saveFailures[i] += failures;
+            if (saveFailures[i] >= 3) dead[i] = true;
+        }
+
+        private boolean isDying(int i) {
+            return !dead[i] && !stable[i];
+        }
+
+        private boolean anyStanding(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (hp[i] > 0) return true;
+            }
+            return false;
+        }
+
+        private int d20() {
+            return rng.nextInt(20) + 1;
+        }
+    }
+}
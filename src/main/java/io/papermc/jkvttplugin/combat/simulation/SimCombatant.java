@@ -0,0 +1,119 @@
+package io.papermc.jkvttplugin.combat.simulation;
+
+import io.papermc.jkvttplugin.character.CharacterSheet;
+import io.papermc.jkvttplugin.data.loader.WeaponLoader;
+import io.papermc.jkvttplugin.data.model.DndAttack;
+import io.papermc.jkvttplugin.data.model.DndEntity;
+import io.papermc.jkvttplugin.data.model.DndWeapon;
+import io.papermc.jkvttplugin.data.model.enums.Ability;
+import io.papermc.jkvttplugin.dice.DiceExpression;
+import io.papermc.jkvttplugin.dice.DiceParseException;
+import io.papermc.jkvttplugin.util.ItemUtil;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable snapshot of everything the simulator needs about one combatant.
+ *
+ * The factories read character sheets and entity templates (character equipment is
+ * ItemStacks), so call them on the main thread; the snapshot itself holds no Bukkit objects
+ * and is safe to share across simulator threads.
+ *
+ * @param hitPoints Rolled at the start of every trial, so templates with hit dice vary
+ */
+public record SimCombatant(String name, boolean partyMember, DiceExpression hitPoints, int armorClass,
+                           int initiativeBonus, List<Attack> attacks) {
+
+    private static final DiceExpression DEFAULT_HIT_POINTS = DiceExpression.compile("10");
+
+    /**
+     * One attack option: d20 + toHit against AC, then roll damage.
+     */
+    public record Attack(String name, int toHit, DiceExpression damage, double averageDamage) {
+        static Attack of(String name, int toHit, DiceExpression damage) {
+            return new Attack(name, toHit, damage, Math.max(0, damage.distribution().getMean()));
+        }
+
+        /**
+         * Chance to hit {@code armorClass}; natural 1s miss and natural 20s hit.
+         */
+        double hitChance(int armorClass) {
+            int needed = armorClass - toHit;
+            return Math.min(19, Math.max(1, 21 - needed)) / 20.0;
+        }
+    }
+
+    public SimCombatant {
+        attacks = List.copyOf(attacks);
+    }
+
+    /**
+     * Snapshot of a saved character: max HP, AC, DEX initiative and an attack per equipped
+     * weapon (or an unarmed strike if none).
+     */
+    public static SimCombatant fromCharacter(CharacterSheet sheet) {
+        int proficiency = sheet.getProficiencyBonus();
+        List<Attack> attacks = new ArrayList<>();
+
+        for (ItemStack item : sheet.getEquipment()) {
+            DndWeapon weapon = WeaponLoader.getWeapon(ItemUtil.getItemId(item));
+            if (weapon == null || weapon.getDamage() == null) continue;
+
+            int modifier = weapon.isFinesse()
+                    ? Math.max(sheet.getModifier(Ability.STRENGTH), sheet.getModifier(Ability.DEXTERITY))
+                    : sheet.getModifier(weapon.getPrimaryAbility());
+            int toHit = modifier + (weapon.isProficient(sheet.getWeaponProficiencies()) ? proficiency : 0);
+
+            DiceExpression damage = compileOrNull(weapon.getDamage() + signed(modifier));
+            if (damage != null) attacks.add(Attack.of(weapon.getName(), toHit, damage));
+        }
+
+        if (attacks.isEmpty()) {
+            int strength = sheet.getModifier(Ability.STRENGTH);
+            attacks.add(Attack.of("Unarmed Strike", strength + proficiency,
+                    DiceExpression.compile(Integer.toString(Math.max(1, 1 + strength)))));
+        }
+
+        return new SimCombatant(sheet.getCharacterName(), true,
+                DiceExpression.compile(Integer.toString(Math.max(1, sheet.getMaxHealth()))),
+                sheet.getArmorClass(), sheet.getInitiative(), attacks);
+    }
+
+    /**
+     * Snapshot of an entity template. HP follows the same priority as spawning:
+     * hit_dice, then hit_points, then 10.
+     */
+    public static SimCombatant fromEntity(DndEntity template) {
+        DiceExpression hitPoints = template.getHitDice() != null ? compileOrNull(template.getHitDice()) : null;
+        if (hitPoints == null && template.getHitPoints() != null) {
+            hitPoints = DiceExpression.compile(Integer.toString(template.getHitPoints()));
+        }
+        if (hitPoints == null) hitPoints = DEFAULT_HIT_POINTS;
+
+        List<Attack> attacks = new ArrayList<>();
+        if (template.getAttacks() != null) {
+            for (DndAttack attack : template.getAttacks()) {
+                DiceExpression damage = attack.getDamage() != null ? compileOrNull(attack.getDamage()) : null;
+                if (damage != null) attacks.add(Attack.of(attack.getName(), attack.getToHit(), damage));
+            }
+        }
+
+        return new SimCombatant(template.getName(), false, hitPoints, template.getArmorClass(),
+                template.getAbilityModifier(Ability.DEXTERITY), attacks);
+    }
+
+    private static DiceExpression compileOrNull(String expression) {
+        try {
+            DiceExpression compiled = DiceExpression.compile(expression);
+            return compiled.usesReferences() ? null : compiled;
+        } catch (DiceParseException e) {
+            return null;
+        }
+    }
+
+    private static String signed(int modifier) {
+        return modifier == 0 ? "" : modifier > 0 ? "+" + modifier : Integer.toString(modifier);
+    }
+}
@@ -83,6 +83,7 @@ public class ConsumeResourceCommand implements CommandExecutor, TabCompleter {
         boolean success = targetResource.consume(amount);
 
         if (success) {
+            character.markDirty();
             sender.sendMessage(Component.text("✓ ", NamedTextColor.GREEN)
                     .append(Component.text("Consumed ", NamedTextColor.WHITE))
                     .append(Component.text(amount + "x ", NamedTextColor.YELLOW))
@@ -117,11 +118,7 @@ public class ConsumeResourceCommand implements CommandExecutor, TabCompleter {
         if (args.length == 1) {
             // Suggest character names
             String partial = args[0].toLowerCase();
-            for (String charName : CharacterSheetManager.getAllCharacterNames()) {
-                if (charName.toLowerCase().startsWith(partial)) {
-                    completions.add(charName);
-                }
-            }
+            completions.addAll(CharacterSheetManager.completeCharacterNames(partial));
         } else if (args.length == 2) {
             // Suggest resource names for the target character
             CharacterSheet character = CharacterSheetManager.findCharacterByName(args[0]);
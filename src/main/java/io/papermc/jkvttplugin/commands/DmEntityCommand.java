@@ -2,16 +2,19 @@ package io.papermc.jkvttplugin.commands;
 
 
 import io.papermc.jkvttplugin.data.loader.ArmorLoader;
+import io.papermc.jkvttplugin.data.loader.EntityInstanceStore;
 import io.papermc.jkvttplugin.data.loader.EntityLoader;
 import io.papermc.jkvttplugin.data.loader.ItemLoader;
 import io.papermc.jkvttplugin.data.loader.WeaponLoader;
 import io.papermc.jkvttplugin.data.model.*;
+import io.papermc.jkvttplugin.dice.DiceExpression;
+import io.papermc.jkvttplugin.dice.DiceParseException;
 import io.papermc.jkvttplugin.dm.DMManager;
 import io.papermc.jkvttplugin.shop.ShopGuiUtil;
 import io.papermc.jkvttplugin.shop.ShopPersistenceLoader;
 import io.papermc.jkvttplugin.ui.menu.EntityStatBlockMenu;
 import io.papermc.jkvttplugin.util.CommandUtil;
-import io.papermc.jkvttplugin.util.DiceRoller;
+import io.papermc.jkvttplugin.util.CompletionService;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Location;
@@ -29,7 +32,10 @@ import org.bukkit.inventory.Merchant;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
 
@@ -44,6 +50,7 @@ import java.util.stream.Collectors;
 
  */
 public class DmEntityCommand implements CommandExecutor, TabCompleter {
+    private static final Logger LOGGER = Logger.getLogger("DmEntityCommand");
 
     // Resource pack namespace (configurable)
     private static final String RESOURCE_PACK_NAMESPACE = "jkvttresourcepack";
@@ -142,10 +149,22 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
 
         // Create entity instance
         DndEntityInstance instance = new DndEntityInstance(template, armorStand, finalName, maxHp);
+        track(instance);
 
+        // Success message
+        sender.sendMessage(Component.text("✓ Spawned ", NamedTextColor.GREEN)
+                .append(Component.text(finalName, NamedTextColor.GOLD))
+                .append(Component.text(" (" + template.getId() + ")", NamedTextColor.GRAY))
+                .append(Component.text(" at " + formatLocation(spawnLocation), NamedTextColor.GRAY)));
+    }
+
+    /**
+     * Sets up an instance's shop and starts tracking it (new spawns and rehydrated instances).
+     */
+    private static void track(DndEntityInstance instance) {
         // Initialize shop if entity is a merchant (Issue #75)
-        if (template.hasShop()) {
-            ShopConfig instanceShop = cloneShop(template.getShop());
+        if (instance.getTemplate().hasShop()) {
+            ShopConfig instanceShop = cloneShop(instance.getTemplate().getShop());
             instance.setInstanceShop(instanceShop);
 
             // Try to load saved shop stock
@@ -153,14 +172,9 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
         }
 
         // Track entity
-        String trackingKey = generateTrackingKey(finalName);
+        String trackingKey = generateTrackingKey(instance.getDisplayName());
         spawnedEntities.put(trackingKey, instance);
-
-        // Success message
-        sender.sendMessage(Component.text("✓ Spawned ", NamedTextColor.GREEN)
-                .append(Component.text(finalName, NamedTextColor.GOLD))
-                .append(Component.text(" (" + template.getId() + ")", NamedTextColor.GRAY))
-                .append(Component.text(" at " + formatLocation(spawnLocation), NamedTextColor.GRAY)));
+        CompletionService.addSpawned(instance);
     }
 
     // ==================== LIST SUBCOMMAND ====================
@@ -286,7 +300,7 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
             newLocation = player.getLocation();
         }
 
-        instance.getArmorStand().teleport(newLocation);
+        instance.teleport(newLocation);
 
         sender.sendMessage(Component.text("✓ Teleported ", NamedTextColor.GREEN)
                 .append(Component.text(instance.getDisplayName(), NamedTextColor.GOLD))
@@ -1181,7 +1195,7 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
         // Random name from pool
         List<String> randomNames = template.getRandomNames();
         if (randomNames != null && !randomNames.isEmpty()) {
-            return randomNames.get(new Random().nextInt(randomNames.size()));
+            return randomNames.get(ThreadLocalRandom.current().nextInt(randomNames.size()));
         }
 
         // Fallback to template name
@@ -1191,7 +1205,7 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
     /**
      * Generate unique tracking key for entity (handles duplicates).
      */
-    private String generateTrackingKey(String name) {
+    private static String generateTrackingKey(String name) {
         String baseKey = name.toLowerCase();
         if (!spawnedEntities.containsKey(baseKey)) {
             return baseKey;
@@ -1205,12 +1219,18 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
     /**
      * Roll hit points for entity based on hit_dice or hit_points.
      * Priority: hit_dice > hit_points > default (10)
+     * An unparseable hit_dice falls through to hit_points.
      */
     private int rollHitPoints(DndEntity template) {
         if (template.getHitDice() != null) {
-            // Roll hit dice
-            return DiceRoller.parseDiceRoll(template.getHitDice());
-        } else if (template.getHitPoints() != null) {
+            // Roll hit dice (compiled once per template expression)
+            try {
+                return Math.max(1, DiceExpression.compile(template.getHitDice()).roll());
+            } catch (DiceParseException | IllegalStateException e) {
+                LOGGER.warning("Invalid hit_dice '" + template.getHitDice() + "' for " + template.getName() + ": " + e.getMessage());
+            }
+        }
+        if (template.getHitPoints() != null) {
             // Use fixed HP
             return template.getHitPoints();
         } else {
@@ -1280,7 +1300,9 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
             }
             instance.getArmorStand().remove();
             instance.unregister();
+            EntityInstanceStore.forget(instance.getInstanceId());
         }
+        CompletionService.clearSpawned(spawnedEntities.values());
         spawnedEntities.clear();
 
         sender.sendMessage(Component.text("✓ Removed " + count + " entities.", NamedTextColor.GREEN));
@@ -1301,12 +1323,13 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
                 }
                 entry.getValue().getArmorStand().remove();
                 entry.getValue().unregister();
+                EntityInstanceStore.forget(entry.getValue().getInstanceId());
                 toRemove.add(entry.getKey());
                 count++;
             }
         }
 
-        toRemove.forEach(spawnedEntities::remove);
+        toRemove.forEach(key -> CompletionService.removeSpawned(spawnedEntities.remove(key)));
 
         sender.sendMessage(Component.text("✓ Removed " + count + " entities of type '" + creatureType + "'.", NamedTextColor.GREEN));
     }
@@ -1315,25 +1338,27 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
      * Remove entities within radius.
      */
     private void removeByRadius(CommandSender sender, Location center, double radius) {
-        List<String> toRemove = new ArrayList<>();
+        Set<DndEntityInstance> inRange = Collections.newSetFromMap(new IdentityHashMap<>());
+        inRange.addAll(DndEntityInstance.withinRadius(center, radius));
         int count = 0;
 
-        for (Map.Entry<String, DndEntityInstance> entry : spawnedEntities.entrySet()) {
-            Location entityLoc = entry.getValue().getArmorStand().getLocation();
-            if (entityLoc.distance(center) <= radius) {
-                // Save shop before removing (Issue #75)
-                if (entry.getValue().getShop() != null) {
-                    ShopPersistenceLoader.saveShop(entry.getValue().getInstanceId(), entry.getValue().getShop());
-                }
-                entry.getValue().getArmorStand().remove();
-                entry.getValue().unregister();
-                toRemove.add(entry.getKey());
-                count++;
+        Iterator<DndEntityInstance> it = spawnedEntities.values().iterator();
+        while (it.hasNext()) {
+            DndEntityInstance instance = it.next();
+            if (!inRange.contains(instance)) continue;
+
+            // Save shop before removing (Issue #75)
+            if (instance.getShop() != null) {
+                ShopPersistenceLoader.saveShop(instance.getInstanceId(), instance.getShop());
             }
+            instance.getArmorStand().remove();
+            instance.unregister();
+            EntityInstanceStore.forget(instance.getInstanceId());
+            CompletionService.removeSpawned(instance);
+            it.remove();
+            count++;
         }
 
-        toRemove.forEach(spawnedEntities::remove);
-
         sender.sendMessage(Component.text("✓ Removed " + count + " entities within " + radius + " blocks.", NamedTextColor.GREEN));
     }
 
@@ -1358,7 +1383,9 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
                     }
                     instance.getArmorStand().remove();
                     instance.unregister();
+                    EntityInstanceStore.forget(instance.getInstanceId());
                     spawnedEntities.remove(key);
+                    CompletionService.removeSpawned(instance);
                     count++;
                 }
             }
@@ -1436,32 +1463,21 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
             switch (args[0].toLowerCase()) {
                 case "spawn":
                     // Suggest entity IDs
-                    return EntityLoader.getAllEntities().stream()
-                            .map(DndEntity::getId)
-                            .filter(id -> id.startsWith(args[1].toLowerCase()))
-                            .collect(Collectors.toList());
+                    return CompletionService.entityIds(args[1]);
 
                 case "remove":
                     // Suggest entity names + special keywords
-                    List<String> suggestions = new ArrayList<>();
-                    suggestions.add("all");
-                    suggestions.add("type");
-                    suggestions.add("radius");
-                    suggestions.addAll(spawnedEntities.values().stream()
-                            .map(DndEntityInstance::getDisplayName)
-                            .toList());
-                    return suggestions.stream()
-                            .filter(s -> s.toLowerCase().startsWith(args[1].toLowerCase()))
+                    List<String> suggestions = Stream.of("all", "type", "radius")
+                            .filter(s -> s.startsWith(args[1].toLowerCase()))
                             .collect(Collectors.toList());
+                    suggestions.addAll(CompletionService.spawnedNames(args[1]));
+                    return suggestions;
 
                 case "teleport":
                 case "info":
                 case "trade":
                     // Suggest spawned entity names
-                    return spawnedEntities.values().stream()
-                            .map(DndEntityInstance::getDisplayName)
-                            .filter(name -> name.toLowerCase().startsWith(args[1].toLowerCase()))
-                            .collect(Collectors.toList());
+                    return CompletionService.spawnedNames(args[1]);
 
                 case "shop":
                     // Suggest shop actions (Issue #76 - added adjust, discount, markup, reset)
@@ -1474,21 +1490,12 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
         if (args.length == 3) {
             if (args[0].equalsIgnoreCase("remove") && args[1].equalsIgnoreCase("type")) {
                 // Suggest creature types
-                return EntityLoader.getAllEntities().stream()
-                        .map(DndEntity::getCreatureType)
-                        .filter(Objects::nonNull)
-                        .distinct()
-                        .filter(type -> type.toLowerCase().startsWith(args[2].toLowerCase()))
-                        .collect(Collectors.toList());
+                return CompletionService.creatureTypes(args[2]);
             }
 
             if (args[0].equalsIgnoreCase("shop")) {
                 // Suggest merchant names
-                return spawnedEntities.values().stream()
-                        .filter(e -> e.getTemplate().hasShop())
-                        .map(DndEntityInstance::getDisplayName)
-                        .filter(name -> name.toLowerCase().startsWith(args[2].toLowerCase()))
-                        .collect(Collectors.toList());
+                return CompletionService.spawnedNames(args[2], e -> e.getTemplate().hasShop());
             }
         }
 
@@ -1507,9 +1514,7 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
                     }
                 } else if (shopAction.equals("add")) {
                     // Suggest all available item IDs (weapons, armor, items)
-                    return getAllItemIds().stream()
-                            .filter(id -> id.toLowerCase().startsWith(args[3].toLowerCase()))
-                            .collect(Collectors.toList());
+                    return CompletionService.itemIds(args[3]);
                 } else if (shopAction.equals("setmultiplier")) {
                     // Suggest buy/sell
                     return List.of("buy", "sell").stream()
@@ -1530,36 +1535,12 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
         return List.of();
     }
 
-    /**
-     * Gets all available item IDs from weapons, armor, and items.
-     */
-    private List<String> getAllItemIds() {
-        List<String> allIds = new ArrayList<>();
-
-        // Add weapons
-        allIds.addAll(WeaponLoader.getAllWeapons().stream()
-                .map(DndWeapon::getId)
-                .collect(Collectors.toList()));
-
-        // Add armor
-        allIds.addAll(ArmorLoader.getAllArmors().stream()
-                .map(DndArmor::getId)
-                .collect(Collectors.toList()));
-
-        // Add items
-        allIds.addAll(ItemLoader.getAllItems().stream()
-                .map(DndItem::getId)
-                .collect(Collectors.toList()));
-
-        return allIds;
-    }
-
     /**
      * Clone shop configuration for per-instance shops.
      * Creates a deep copy so each spawned merchant has independent stock.
      * Issue #75 - Shop System
      */
-    private ShopConfig cloneShop(ShopConfig template) {
+    private static ShopConfig cloneShop(ShopConfig template) {
         if (template == null) {
             return null;
         }
@@ -1597,10 +1578,29 @@ public class DmEntityCommand implements CommandExecutor, TabCompleter {
         return Collections.unmodifiableCollection(spawnedEntities.values());
     }
 
+    /**
+     * Tracks an instance rehydrated from EntityInstanceStore after its armor stand loaded.
+     */
+    public static void restoreEntity(DndEntityInstance instance) {
+        track(instance);
+    }
+
+    /**
+     * Drops an instance from memory because its armor stand unloaded. Unlike removal, the
+     * stand and the saved state are kept so it comes back when the chunk loads again.
+     */
+    public static void evictEntity(DndEntityInstance instance) {
+        spawnedEntities.values().removeIf(tracked -> tracked == instance);
+        CompletionService.removeSpawned(instance);
+        instance.unregister();
+        EntityInstanceStore.release(instance);
+    }
+
     /**
      * Clear all spawned entities (for persistence loading).
      */
     public static void clearAllSpawnedEntities() {
+        CompletionService.clearSpawned(spawnedEntities.values());
         spawnedEntities.clear();
     }
 }
@@ -7,6 +7,7 @@ import io.papermc.jkvttplugin.data.model.DndArmor;
 import io.papermc.jkvttplugin.data.model.DndItem;
 import io.papermc.jkvttplugin.data.model.DndWeapon;
 import io.papermc.jkvttplugin.dm.DMManager;
+import io.papermc.jkvttplugin.util.CompletionService;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Bukkit;
@@ -190,9 +191,7 @@ public class DmGiveCommand implements CommandExecutor, TabCompleter {
                     .collect(Collectors.toList()));
 
             // Add all item IDs
-            suggestions.addAll(getAllItemIds().stream()
-                    .filter(id -> id.toLowerCase().startsWith(args[0].toLowerCase()))
-                    .collect(Collectors.toList()));
+            suggestions.addAll(CompletionService.itemIds(args[0]));
 
             return suggestions;
         }
@@ -202,9 +201,7 @@ public class DmGiveCommand implements CommandExecutor, TabCompleter {
             Player possiblePlayer = Bukkit.getPlayer(args[0]);
             if (possiblePlayer != null) {
                 // First arg was a player, suggest item IDs
-                return getAllItemIds().stream()
-                        .filter(id -> id.toLowerCase().startsWith(args[1].toLowerCase()))
-                        .collect(Collectors.toList());
+                return CompletionService.itemIds(args[1]);
             } else {
                 // First arg was an item, suggest common amounts
                 return List.of("1", "8", "16", "32", "64");
@@ -218,28 +215,4 @@ public class DmGiveCommand implements CommandExecutor, TabCompleter {
 
         return List.of();
     }
-
-    /**
-     * Gets all available item IDs from weapons, armor, and items.
-     */
-    private List<String> getAllItemIds() {
-        List<String> allIds = new ArrayList<>();
-
-        // Add weapons
-        allIds.addAll(WeaponLoader.getAllWeapons().stream()
-                .map(DndWeapon::getId)
-                .collect(Collectors.toList()));
-
-        // Add armor
-        allIds.addAll(ArmorLoader.getAllArmors().stream()
-                .map(DndArmor::getId)
-                .collect(Collectors.toList()));
-
-        // Add items
-        allIds.addAll(ItemLoader.getAllItems().stream()
-                .map(DndItem::getId)
-                .collect(Collectors.toList()));
-
-        return allIds;
-    }
-}
\ No newline at end of file
+}
@@ -2,40 +2,90 @@ package io.papermc.jkvttplugin.commands;
 
 import io.papermc.jkvttplugin.CustomNPCs.NpcManager;
 import io.papermc.jkvttplugin.JkVttPlugin;
+import io.papermc.jkvttplugin.data.ContentLoadPipeline;
+import io.papermc.jkvttplugin.data.ContentRegistry;
 import io.papermc.jkvttplugin.data.DataManager;
+import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reloads DMContent/ without stalling the server.
+ *
+ * Parsing happens on an async task and builds a complete new content snapshot. Back on the
+ * main thread the snapshot replaces the live one in a single swap - or, if any file failed
+ * to parse, the old snapshot is kept and the problems are reported.
+ */
 public class ReloadYamlCommand implements CommandExecutor {
+    private static final AtomicBoolean RELOADING = new AtomicBoolean(false);
+
     @Override
     public boolean onCommand(CommandSender sender, Command cmd, String label, String[] args) {
+        if (!RELOADING.compareAndSet(false, true)) {
+            sender.sendMessage("A reload is already in progress.");
+            return true;
+        }
+
         sender.sendMessage("Reloading YAML data from DMContent/...");
+        JkVttPlugin plugin = JkVttPlugin.getInstance();
 
-        try {
-            // Reload all D&D content from DMContent/ folder
-            DataManager dataManager = new DataManager(JkVttPlugin.getInstance());
-            dataManager.loadAllData();
-
-            sender.sendMessage("✓ Races reloaded");
-            sender.sendMessage("✓ Classes reloaded");
-            sender.sendMessage("✓ Backgrounds reloaded");
-            sender.sendMessage("✓ Spells reloaded");
-            sender.sendMessage("✓ Weapons reloaded");
-            sender.sendMessage("✓ Armor reloaded");
-            sender.sendMessage("✓ Items reloaded");
-
-            // Reload NPCs (separate system)
-            NpcManager.loadNpcs();
-            sender.sendMessage("✓ NPCs reloaded");
-
-            sender.sendMessage("All YAML files successfully reloaded!");
-        } catch (Exception e) {
-            sender.sendMessage("Error reloading YAML files: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            ContentLoadPipeline.Result result;
+            try {
+                result = new DataManager(plugin).parseAllData();
+            } catch (Exception e) {
+                e.printStackTrace();
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    sender.sendMessage("Error reloading YAML files: " + e.getMessage());
+                    sender.sendMessage("Keeping previously loaded content.");
+                    RELOADING.set(false);
+                });
+                return;
+            }
+
+            List<String> problems = result.validate();
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                try {
+                    finishReload(sender, result, problems);
+                } finally {
+                    RELOADING.set(false);
+                }
+            });
+        });
 
         return true;
     }
+
+    /**
+     * Main-thread half of the reload: swap the snapshot in (or keep the old one) and report.
+     */
+    private void finishReload(CommandSender sender, ContentLoadPipeline.Result result, List<String> problems) {
+        for (ContentLoadPipeline.StageReport report : result.getReports()) {
+            String status = report.hasFailures() ? "✗ " : "✓ ";
+            sender.sendMessage(status + report.type().getDisplayName() + ": " + report.entries()
+                    + " from " + report.files() + " files (" + report.millis() + " ms)");
+        }
+
+        if (!problems.isEmpty()) {
+            sender.sendMessage("Reload rejected - " + problems.size() + " file(s) failed to load:");
+            for (String problem : problems) {
+                sender.sendMessage("  - " + problem);
+            }
+            sender.sendMessage("Keeping previously loaded content.");
+            return;
+        }
+
+        ContentRegistry.swap(result);
+
+        // Reload NPCs (separate system)
+        NpcManager.loadNpcs();
+        sender.sendMessage("✓ NPCs reloaded");
+
+        sender.sendMessage("Cache: " + result.getCacheStats());
+        sender.sendMessage("All YAML files successfully reloaded in " + result.getTotalMillis() + " ms!");
+    }
 }
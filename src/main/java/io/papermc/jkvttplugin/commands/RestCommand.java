@@ -133,18 +133,10 @@ public class RestCommand implements CommandExecutor, TabCompleter {
             if ("long".startsWith(lastArg)) completions.add("long");
 
             // Also suggest character names that match the full input
-            for (String charName : CharacterSheetManager.getAllCharacterNames()) {
-                if (charName.toLowerCase().startsWith(partialName)) {
-                    completions.add(charName);
-                }
-            }
+            completions.addAll(CharacterSheetManager.completeCharacterNames(partialName));
         } else {
             // Suggest character names
-            for (String charName : CharacterSheetManager.getAllCharacterNames()) {
-                if (charName.toLowerCase().startsWith(partialName)) {
-                    completions.add(charName);
-                }
-            }
+            completions.addAll(CharacterSheetManager.completeCharacterNames(partialName));
         }
 
         return completions;
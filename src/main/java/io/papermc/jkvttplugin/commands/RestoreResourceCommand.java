@@ -66,6 +66,7 @@ public class RestoreResourceCommand implements CommandExecutor, TabCompleter {
             }
 
             if (restoredCount > 0) {
+                character.markDirty();
                 sender.sendMessage(Component.text("✓ ", NamedTextColor.GREEN)
                         .append(Component.text("Restored all resources for ", NamedTextColor.WHITE))
                         .append(Component.text(character.getCharacterName(), NamedTextColor.YELLOW))
@@ -105,6 +106,7 @@ public class RestoreResourceCommand implements CommandExecutor, TabCompleter {
         int restored = targetResource.getCurrent() - before;
 
         if (restored > 0) {
+            character.markDirty();
             sender.sendMessage(Component.text("✓ ", NamedTextColor.GREEN)
                     .append(Component.text("Restored ", NamedTextColor.WHITE))
                     .append(Component.text(targetResource.getName(), NamedTextColor.YELLOW))
@@ -132,11 +134,7 @@ public class RestoreResourceCommand implements CommandExecutor, TabCompleter {
         if (args.length == 1) {
             // Suggest character names
             String partial = args[0].toLowerCase();
-            for (String charName : CharacterSheetManager.getAllCharacterNames()) {
-                if (charName.toLowerCase().startsWith(partial)) {
-                    completions.add(charName);
-                }
-            }
+            completions.addAll(CharacterSheetManager.completeCharacterNames(partial));
         } else if (args.length == 2) {
             // Suggest "all" and resource names for the target character
             CharacterSheet character = CharacterSheetManager.findCharacterByName(args[0]);
@@ -1,34 +1,139 @@
 package io.papermc.jkvttplugin.commands;
 
-import io.papermc.jkvttplugin.util.DiceRoller;
+import io.papermc.jkvttplugin.JkVttPlugin;
+import io.papermc.jkvttplugin.character.ActiveCharacterTracker;
+import io.papermc.jkvttplugin.character.CharacterSheet;
+import io.papermc.jkvttplugin.combat.CombatSession;
+import io.papermc.jkvttplugin.dice.DiceContext;
+import io.papermc.jkvttplugin.dice.DiceDistribution;
+import io.papermc.jkvttplugin.dice.DiceExpression;
+import io.papermc.jkvttplugin.dice.DiceParseException;
+import io.papermc.jkvttplugin.dice.RollStream;
+import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
 public class RollDiceCommand implements CommandExecutor {
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
-        if (!(sender instanceof Player)) {
+        if (!(sender instanceof Player player)) {
             sender.sendMessage("Only players can roll dice!");
             return true;
         }
 
         if (args.length == 0) {
-            sender.sendMessage("Usage: /rolldice <XdY[+/-]Z>");
+            sender.sendMessage("Usage: /rolldice <expression>  e.g. 2d6+3, d20adv+DEX, 4d6dl1, 1d10r1!");
+            sender.sendMessage("       /rolldice stats <expression> [>=target]");
             return true;
         }
 
+        if (args[0].equalsIgnoreCase("stats")) {
+            return showStats(player, args);
+        }
+
         String rollInput = String.join("", args);
-        int result = DiceRoller.parseDiceRoll(rollInput);
+        DiceExpression expression;
+        try {
+            expression = DiceExpression.compile(rollInput);
+        } catch (DiceParseException e) {
+            sender.sendMessage("Invalid dice expression: " + e.getMessage());
+            return true;
+        }
 
-        if (result == -1) {
-            sender.sendMessage("Invalid dice format! use XdY or XdY+Z.");
+        // Rolls for a character are logged on its stream (or its combat's); others aren't tracked
+        CharacterSheet sheet = ActiveCharacterTracker.getActiveCharacter(player);
+        int result;
+        if (sheet != null) {
+            RollStream rolls = CombatSession.rollsFor(player.getUniqueId(), sheet.getCharacterId());
+            result = rolls.roll(expression, DiceContext.of(sheet), sheet.getCharacterName() + " /rolldice");
+        } else if (expression.usesReferences()) {
+            sender.sendMessage("You need an active character to roll " + rollInput + ".");
             return true;
+        } else {
+            result = expression.roll();
         }
 
         sender.sendMessage("You Rolled: " + rollInput + " -> " + result);
         return true;
     }
+
+    /**
+     * /rolldice stats <expression> [>=target] - exact outcome distribution instead of a roll.
+     * Parsed here, analyzed off the main thread within the player limits, reported back here.
+     */
+    private boolean showStats(Player player, String[] args) {
+        int end = args.length;
+        Integer target = null;
+        if (end > 2 && args[end - 1].startsWith(">=")) {
+            try {
+                target = Integer.parseInt(args[end - 1].substring(2));
+            } catch (NumberFormatException e) {
+                player.sendMessage("Invalid target: " + args[end - 1]);
+                return true;
+            }
+            end--;
+        }
+        if (end < 2) {
+            player.sendMessage("Usage: /rolldice stats <expression> [>=target]");
+            return true;
+        }
+
+        String input = String.join("", Arrays.copyOfRange(args, 1, end));
+        DiceExpression expression;
+        try {
+            expression = DiceExpression.compile(input);
+        } catch (DiceParseException e) {
+            player.sendMessage("Can't analyze " + input + ": " + e.getMessage());
+            return true;
+        }
+
+        DiceContext context = DiceContext.NONE;
+        if (expression.usesReferences()) {
+            CharacterSheet sheet = ActiveCharacterTracker.getActiveCharacter(player);
+            if (sheet == null) {
+                player.sendMessage("You need an active character to analyze " + input + ".");
+                return true;
+            }
+            context = DiceContext.snapshot(sheet); // Sheets are main-thread only
+        }
+
+        DiceContext resolved = context;
+        Integer threshold = target;
+        UUID playerId = player.getUniqueId();
+        CompletableFuture
+            .supplyAsync(() -> expression.distribution(resolved, DiceDistribution.Limits.PLAYER), ForkJoinPool.commonPool())
+            .whenComplete((distribution, error) -> Bukkit.getScheduler().runTask(JkVttPlugin.getInstance(), () -> {
+                Player recipient = Bukkit.getPlayer(playerId);
+                if (recipient == null) return;
+                if (error != null) {
+                    Throwable cause = error.getCause() != null ? error.getCause() : error;
+                    recipient.sendMessage("Can't analyze " + input + ": " + cause.getMessage());
+                } else {
+                    sendStats(recipient, input, distribution, threshold);
+                }
+            }));
+        return true;
+    }
+
+    private void sendStats(Player player, String input, DiceDistribution distribution, Integer target) {
+        player.sendMessage("Stats for " + input + (distribution.isExact() ? "" : " (approximate)") + ":");
+        player.sendMessage(String.format(Locale.ROOT, "  Range %d to %d, mean %.2f, std dev %.2f",
+                distribution.getMin(), distribution.getMax(), distribution.getMean(), distribution.getStandardDeviation()));
+        player.sendMessage(String.format(Locale.ROOT, "  Percentiles: 10%%: %d, 25%%: %d, 50%%: %d, 75%%: %d, 90%%: %d",
+                distribution.percentile(0.10), distribution.percentile(0.25), distribution.percentile(0.50),
+                distribution.percentile(0.75), distribution.percentile(0.90)));
+        if (target != null) {
+            player.sendMessage(String.format(Locale.ROOT, "  Chance of %d or more: %.1f%%",
+                    target, distribution.probabilityAtLeast(target) * 100));
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package io.papermc.jkvttplugin.commands;
+
+import io.papermc.jkvttplugin.data.ContentType;
+import io.papermc.jkvttplugin.data.search.SearchHit;
+import io.papermc.jkvttplugin.data.search.SearchIndex;
+import io.papermc.jkvttplugin.dm.DMManager;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+
+import java.util.*;
+
+/**
+ * Keyword search over spells, weapons, armor, items and entities (see {@link SearchIndex}).
+ * Matches names, descriptions, damage types and tags, tolerating partial words and typos.
+ *
+ * Usage:
+ * /search <query>          - Search everything
+ * /search <type> <query>   - Search one type (spells, weapons, armor, items, entities)
+ *
+ * Entities are only searchable by DMs. Hovering a result shows its description; for DMs,
+ * clicking an item or entity suggests the command to give or spawn it.
+ */
+public class SearchCommand implements CommandExecutor, TabCompleter {
+
+    private static final int MAX_RESULTS = 10;
+    private static final int MAX_HOVER_LENGTH = 240;
+
+    private static final Map<String, ContentType> TYPE_ARGS = new LinkedHashMap<>();
+    static {
+        TYPE_ARGS.put("spells", ContentType.SPELLS);
+        TYPE_ARGS.put("weapons", ContentType.WEAPONS);
+        TYPE_ARGS.put("armor", ContentType.ARMOR);
+        TYPE_ARGS.put("items", ContentType.ITEMS);
+        TYPE_ARGS.put("entities", ContentType.ENTITIES);
+    }
+
+    @Override
+    public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length == 0) {
+            sender.sendMessage(Component.text("Usage: /search [" + String.join("|", TYPE_ARGS.keySet()) + "] <query>", NamedTextColor.RED));
+            return true;
+        }
+
+        boolean dm = DMManager.isDM(sender);
+        Set<ContentType> types = EnumSet.copyOf(SearchIndex.SEARCHABLE);
+        int queryStart = 0;
+
+        ContentType only = TYPE_ARGS.get(args[0].toLowerCase());
+        if (only != null && args.length > 1) {
+            types = EnumSet.of(only);
+            queryStart = 1;
+        }
+        if (!dm) types.remove(ContentType.ENTITIES);
+        if (types.isEmpty()) {
+            sender.sendMessage(Component.text("Only the DM can search entities.", NamedTextColor.RED));
+            return true;
+        }
+
+        String query = String.join(" ", Arrays.copyOfRange(args, queryStart, args.length));
+        List<SearchHit> hits = SearchIndex.current().search(query, types, MAX_RESULTS);
+
+        if (hits.isEmpty()) {
+            sender.sendMessage(Component.text("No results for \"" + query + "\".", NamedTextColor.YELLOW));
+            return true;
+        }
+
+        sender.sendMessage(Component.text("=== Results for \"" + query + "\" ===", NamedTextColor.GOLD));
+        for (SearchHit hit : hits) {
+            sender.sendMessage(formatHit(hit, dm));
+        }
+        return true;
+    }
+
+    private Component formatHit(SearchHit hit, boolean dm) {
+        Component hover = Component.text(hit.name(), NamedTextColor.GOLD)
+                .append(Component.text(" (" + hit.id() + ")", NamedTextColor.DARK_GRAY));
+        if (!hit.description().isEmpty()) {
+            hover = hover.append(Component.newline())
+                    .append(Component.text(truncate(hit.description()), NamedTextColor.GRAY));
+        }
+
+        Component line = Component.text("[" + typeLabel(hit.type()) + "] ", NamedTextColor.DARK_AQUA)
+                .append(Component.text(hit.name(), NamedTextColor.WHITE))
+                .hoverEvent(HoverEvent.showText(hover));
+
+        if (dm) {
+            String suggestion = switch (hit.type()) {
+                case WEAPONS, ARMOR, ITEMS -> "/dmgive " + hit.id();
+                case ENTITIES -> "/dmentity spawn " + hit.id();
+                default -> null;
+            };
+            if (suggestion != null) line = line.clickEvent(ClickEvent.suggestCommand(suggestion));
+        }
+        return line;
+    }
+
+    private static String typeLabel(ContentType type) {
+        return switch (type) {
+            case SPELLS -> "Spell";
+            case WEAPONS -> "Weapon";
+            case ARMOR -> "Armor";
+            case ITEMS -> "Item";
+            case ENTITIES -> "Entity";
+            default -> type.getDisplayName();
+        };
+    }
+
+    private static String truncate(String text) {
+        String flat = text.replaceAll("\\s+", " ").trim();
+        return flat.length() <= MAX_HOVER_LENGTH ? flat : flat.substring(0, MAX_HOVER_LENGTH - 3) + "...";
+    }
+
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String label, String[] args) {
+        if (args.length != 1) return List.of();
+
+        boolean dm = DMManager.isDM(sender);
+        List<String> suggestions = new ArrayList<>();
+        for (Map.Entry<String, ContentType> entry : TYPE_ARGS.entrySet()) {
+            if (entry.getValue() == ContentType.ENTITIES && !dm) continue;
+            if (entry.getKey().startsWith(args[0].toLowerCase())) suggestions.add(entry.getKey());
+        }
+        return suggestions;
+    }
+}
@@ -0,0 +1,319 @@
+package io.papermc.jkvttplugin.data;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary cache of parsed DMContent YAML, so unchanged files skip SnakeYAML on startup and reload.
+ *
+ * What is cached is the YAML <i>tree</i> (maps, lists and scalars) of each file, not the built
+ * DndSpell/DndEntity objects: those hold Bukkit types and are cheap to rebuild compared to the
+ * YAML parse itself, and keeping the loaders as the only place that interprets YAML means the
+ * cache can never drift from their parsing rules.
+ *
+ * Entries are keyed by file path and validated by size + mtime; if either changed, the file's
+ * content hash decides (so a touched-but-identical file is still a hit). The cache lives in
+ * memory between reloads and is written to disk after every full load.
+ */
+public class ContentCache {
+    private static final Logger LOGGER = Logger.getLogger("ContentCache");
+    private static final int MAGIC = 0x4A4B4343; // "JKCC"
+    private static final int FORMAT_VERSION = 1;
+
+    // Tree node tags
+    private static final byte NULL = 0, STRING = 1, INT = 2, LONG = 3, DOUBLE = 4, BOOLEAN = 5,
+            LIST = 6, MAP = 7, BIG_INTEGER = 8, DATE = 9;
+
+    private record Entry(long size, long lastModified, long hash, long parseNanos, byte[] tree) {}
+
+    /**
+     * Hit/miss counters for one load.
+     *
+     * @param hits        Files served from the cache
+     * @param misses      Files parsed with SnakeYAML
+     * @param savedMillis Estimated time saved (original parse time minus decode time of the hits)
+     */
+    public record Stats(long hits, long misses, long savedMillis) {
+        public int hitRatePercent() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (int) (hits * 100 / total);
+        }
+
+        @Override
+        public String toString() {
+            return hits + "/" + (hits + misses) + " files from cache (" + hitRatePercent() + "%), ~" + savedMillis + " ms saved";
+        }
+    }
+
+    /**
+     * Counts hits and misses for one load. Safe to share between pipeline workers.
+     */
+    public final class Session {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder savedNanos = new LongAdder();
+        private final Set<String> seen = ConcurrentHashMap.newKeySet();
+
+        private Session() {}
+
+        /**
+         * Reads a file's YAML tree, from the cache if the file is unchanged.
+         */
+        public Map<String, Object> read(File file) throws IOException {
+            String path = file.getPath();
+            seen.add(path);
+
+            long size = file.length();
+            long lastModified = file.lastModified();
+            Entry cached = entries.get(path);
+
+            if (cached != null && cached.size() == size && cached.lastModified() == lastModified) {
+                return decodeHit(cached);
+            }
+
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            long hash = hash(bytes);
+            if (cached != null && cached.size() == bytes.length && cached.hash() == hash) {
+                // Touched but identical - refresh the mtime so the next read skips hashing
+                entries.put(path, new Entry(cached.size(), lastModified, hash, cached.parseNanos(), cached.tree()));
+                dirty = true;
+                return decodeHit(cached);
+            }
+
+            long start = System.nanoTime();
+            Map<String, Object> tree = new Yaml().load(new String(bytes, StandardCharsets.UTF_8));
+            long parseNanos = System.nanoTime() - start;
+            misses.increment();
+
+            byte[] encoded = encode(tree);
+            if (encoded != null) {
+                entries.put(path, new Entry(bytes.length, lastModified, hash, parseNanos, encoded));
+                dirty = true;
+            }
+            return tree;
+        }
+
+        private Map<String, Object> decodeHit(Entry cached) throws IOException {
+            long start = System.nanoTime();
+            Map<String, Object> tree = decode(cached.tree());
+            hits.increment();
+            savedNanos.add(Math.max(0, cached.parseNanos() - (System.nanoTime() - start)));
+            return tree;
+        }
+
+        public Stats stats() {
+            return new Stats(hits.sum(), misses.sum(), TimeUnit.NANOSECONDS.toMillis(savedNanos.sum()));
+        }
+
+        /**
+         * Drops cache entries for files that no longer exist. Only meaningful after a full load,
+         * which reads every content file.
+         */
+        public void pruneUnseen() {
+            if (entries.keySet().removeIf(path -> !seen.contains(path))) {
+                dirty = true;
+            }
+        }
+    }
+
+    private final File cacheFile;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean dirty = false;
+
+    public ContentCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+        loadFromDisk();
+    }
+
+    public Session begin() {
+        return new Session();
+    }
+
+    // ==================== Disk ====================
+
+    private void loadFromDisk() {
+        if (!cacheFile.isFile()) return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                LOGGER.info("Ignoring content cache with an unknown format: " + cacheFile.getPath());
+                return;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                long hash = in.readLong();
+                long parseNanos = in.readLong();
+                byte[] tree = new byte[in.readInt()];
+                in.readFully(tree);
+                entries.put(path, new Entry(size, lastModified, hash, parseNanos, tree));
+            }
+            LOGGER.info("Loaded content cache with " + entries.size() + " files");
+        } catch (IOException e) {
+            LOGGER.warning("Could not read content cache, starting cold: " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Writes the cache to disk if anything changed since the last save.
+     */
+    public synchronized void save() {
+        if (!dirty) return;
+
+        File parent = cacheFile.getParentFile();
+        if (parent != null) parent.mkdirs();
+        File temp = new File(cacheFile.getPath() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            List<Map.Entry<String, Entry>> snapshot = new ArrayList<>(entries.entrySet());
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, Entry> mapEntry : snapshot) {
+                Entry entry = mapEntry.getValue();
+                out.writeUTF(mapEntry.getKey());
+                out.writeLong(entry.size());
+                out.writeLong(entry.lastModified());
+                out.writeLong(entry.hash());
+                out.writeLong(entry.parseNanos());
+                out.writeInt(entry.tree().length);
+                out.write(entry.tree());
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Could not write content cache: " + e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(temp.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            LOGGER.warning("Could not replace content cache: " + e.getMessage());
+        }
+    }
+
+    // ==================== Tree Encoding ====================
+
+    private static long hash(byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    /**
+     * @return The encoded tree, or null if it holds a type the cache does not know (never cached)
+     */
+    private static byte[] encode(Object tree) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (!writeNode(out, tree)) return null;
+        } catch (IOException e) {
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static boolean writeNode(DataOutputStream out, Object node) throws IOException {
+        if (node == null) {
+            out.writeByte(NULL);
+        } else if (node instanceof String s) {
+            out.writeByte(STRING);
+            writeString(out, s);
+        } else if (node instanceof Integer i) {
+            out.writeByte(INT);
+            out.writeInt(i);
+        } else if (node instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (node instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        } else if (node instanceof Boolean b) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        } else if (node instanceof BigInteger big) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, big.toString());
+        } else if (node instanceof Date date) {
+            out.writeByte(DATE);
+            out.writeLong(date.getTime());
+        } else if (node instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                if (!writeNode(out, element)) return false;
+            }
+        } else if (node instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!writeNode(out, entry.getKey()) || !writeNode(out, entry.getValue())) return false;
+            }
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> decode(byte[] tree) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(tree))) {
+            return (Map<String, Object>) readNode(in);
+        }
+    }
+
+    private static Object readNode(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL: return null;
+            case STRING: return readString(in);
+            case INT: return in.readInt();
+            case LONG: return in.readLong();
+            case DOUBLE: return in.readDouble();
+            case BOOLEAN: return in.readBoolean();
+            case BIG_INTEGER: return new BigInteger(readString(in));
+            case DATE: return new Date(in.readLong());
+            case LIST: {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) list.add(readNode(in));
+                return list;
+            }
+            case MAP: {
+                int size = in.readInt();
+                Map<Object, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) map.put(readNode(in), readNode(in));
+                return map;
+            }
+            default: throw new IOException("Unknown content cache tag: " + tag);
+        }
+    }
+
+    // writeUTF is limited to 64KB, which long spell descriptions can exceed
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,310 @@
+package io.papermc.jkvttplugin.data;
+
+import io.papermc.jkvttplugin.data.ContentSnapshot.FileEntry;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Parses all DMContent/ YAML in parallel while respecting content dependencies.
+ *
+ * Every file is parsed as its own task on a small bounded pool. A content type only starts
+ * once the types it depends on (see {@link ContentType#getDependencies()}) have finished,
+ * so Spells/Weapons/Armor/Items parse side by side, then Races/Classes/Backgrounds/Entities.
+ * Dependent types read their dependencies through {@link LoadContext}, never through the
+ * published registries, so nothing is visible to the rest of the plugin until the
+ * result is swapped in through {@link ContentRegistry}.
+ *
+ * {@link #update} does the same for a handful of changed files on top of an existing
+ * snapshot, re-parsing only those files and the files that looked them up.
+ *
+ * YAML trees are read through {@link ContentCache}, so files unchanged since the last load
+ * skip SnakeYAML entirely.
+ *
+ * A file that fails to parse is logged and reported, and does not stop the other files.
+ */
+public final class ContentLoadPipeline {
+    private static final Logger LOGGER = Logger.getLogger("ContentLoadPipeline");
+
+    private ContentLoadPipeline() {}
+
+    /**
+     * Outcome of parsing one content type.
+     *
+     * @param type     The content type
+     * @param files    Number of YAML files parsed
+     * @param entries  Number of entries in the type's registry afterwards
+     * @param millis   Wall-clock time spent parsing this type, excluding time waiting on dependencies
+     * @param failures One message per file that failed to parse
+     */
+    public record StageReport(ContentType type, int files, int entries, long millis, List<String> failures) {
+        public boolean hasFailures() {
+            return !failures.isEmpty();
+        }
+    }
+
+    /**
+     * Parsed content for every type, not yet visible through the loaders.
+     */
+    public static final class Result {
+        private final Map<ContentType, SortedMap<String, FileEntry>> files;
+        private final Map<ContentType, StageReport> reports;
+        private final long totalMillis;
+        private final ContentCache.Stats cacheStats;
+
+        private Result(Map<ContentType, SortedMap<String, FileEntry>> files, Map<ContentType, StageReport> reports,
+                       long totalMillis, ContentCache.Stats cacheStats) {
+            this.files = files;
+            this.reports = reports;
+            this.totalMillis = totalMillis;
+            this.cacheStats = cacheStats;
+        }
+
+        /**
+         * @return Per type, file path -> what that file contributed
+         */
+        public Map<ContentType, SortedMap<String, FileEntry>> getFiles() {
+            return files;
+        }
+
+        /**
+         * @return Reports for every type that was parsed (all types for a full load, only
+         *         the touched types for an incremental update)
+         */
+        public Collection<StageReport> getReports() {
+            return reports.values();
+        }
+
+        public StageReport getReport(ContentType type) {
+            return reports.get(type);
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public ContentCache.Stats getCacheStats() {
+            return cacheStats;
+        }
+
+        public boolean hasFailures() {
+            return reports.values().stream().anyMatch(StageReport::hasFailures);
+        }
+
+        /**
+         * Checks whether this result is safe to replace the live snapshot with.
+         *
+         * @return One message per problem (empty if valid)
+         */
+        public List<String> validate() {
+            List<String> problems = new ArrayList<>();
+            for (StageReport report : reports.values()) {
+                for (String failure : report.failures()) {
+                    problems.add(report.type().getDisplayName() + "/" + failure);
+                }
+            }
+            return problems;
+        }
+
+        public void logSummary() {
+            for (StageReport report : reports.values()) {
+                LOGGER.info(String.format("%-12s %4d entries from %3d files in %4d ms%s",
+                        report.type().getDisplayName(), report.entries(), report.files(), report.millis(),
+                        report.hasFailures() ? " (" + report.failures().size() + " failed)" : ""));
+            }
+            LOGGER.info("Content load finished in " + totalMillis + " ms - " + cacheStats);
+        }
+    }
+
+    // ==================== Full Load ====================
+
+    /**
+     * Parses everything under the DMContent/ root. Blocks until all types are parsed.
+     *
+     * @param dmContentFolder The DMContent/ root
+     * @param cache           YAML tree cache; entries for deleted files are pruned and it is saved afterwards
+     * @return The parsed (unpublished) content and per-stage reports
+     */
+    public static Result run(File dmContentFolder, ContentCache cache) {
+        long start = System.nanoTime();
+        ExecutorService executor = newExecutor();
+        ContentCache.Session session = cache.begin();
+
+        try {
+            Map<ContentType, CompletableFuture<SortedMap<String, FileEntry>>> futures = new EnumMap<>(ContentType.class);
+            Map<ContentType, StageReport> reports = new ConcurrentHashMap<>();
+
+            // Declaration order is topological, so every dependency future already exists
+            for (ContentType type : ContentType.values()) {
+                CompletableFuture<?>[] dependencies = type.getDependencies().stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+
+                futures.put(type, CompletableFuture.allOf(dependencies)
+                        .thenComposeAsync(ignored -> parseStage(type, dmContentFolder, stagedFor(type, futures), session, reports, executor), executor));
+            }
+
+            CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).join();
+
+            Map<ContentType, SortedMap<String, FileEntry>> files = new EnumMap<>(ContentType.class);
+            Map<ContentType, StageReport> orderedReports = new EnumMap<>(ContentType.class);
+            for (ContentType type : ContentType.values()) {
+                files.put(type, futures.get(type).join());
+                orderedReports.put(type, reports.get(type));
+            }
+
+            session.pruneUnseen();
+            cache.save();
+            return new Result(files, orderedReports, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), session.stats());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static LoadContext.Staged stagedFor(ContentType type,
+                                                Map<ContentType, CompletableFuture<SortedMap<String, FileEntry>>> futures) {
+        Map<ContentType, Map<String, ?>> staged = new EnumMap<>(ContentType.class);
+        for (ContentType dependency : type.getDependencies()) {
+            staged.put(dependency, ContentSnapshot.merge(futures.get(dependency).join())); // already complete
+        }
+        return new LoadContext.Staged(staged);
+    }
+
+    private static CompletableFuture<SortedMap<String, FileEntry>> parseStage(ContentType type, File dmContentFolder,
+                                                                            LoadContext.Staged staged,
+                                                                            ContentCache.Session session,
+                                                                            Map<ContentType, StageReport> reports,
+                                                                            Executor executor) {
+        long stageStart = System.nanoTime();
+        List<File> files = type.listFiles(dmContentFolder);
+        if (files.isEmpty()) {
+            LOGGER.warning("No " + type.getDisplayName().toLowerCase() + " files found in "
+                    + new File(dmContentFolder, type.getFolderName()).getPath());
+        }
+
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<FileEntry>> fileFutures = new ArrayList<>(files.size());
+        for (File file : files) {
+            fileFutures.add(CompletableFuture.supplyAsync(() -> parseFile(type, file, staged, session, failures), executor));
+        }
+
+        return CompletableFuture.allOf(fileFutures.toArray(CompletableFuture[]::new)).thenApply(ignored -> {
+            SortedMap<String, FileEntry> parsed = new TreeMap<>();
+            for (int i = 0; i < files.size(); i++) {
+                parsed.put(files.get(i).getPath(), fileFutures.get(i).join());
+            }
+
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stageStart);
+            int entries = ContentSnapshot.merge(parsed).size();
+            reports.put(type, new StageReport(type, files.size(), entries, millis, List.copyOf(failures)));
+            return parsed;
+        });
+    }
+
+    // ==================== Incremental Update ====================
+
+    /**
+     * Re-parses only the given files on top of an existing snapshot, plus any file of a
+     * dependent type that looked up a type whose entries changed (e.g. editing a spell
+     * re-parses the classes that referenced spells, not the entities). Deleted files drop
+     * their entries. Runs on the calling thread - a handful of files is not worth a pool.
+     *
+     * @param base            The snapshot to update
+     * @param dmContentFolder The DMContent/ root
+     * @param changed         Files that were created, modified or deleted
+     * @param cache           YAML tree cache, saved afterwards
+     * @return The updated (unpublished) content, with reports for the touched types only
+     */
+    public static Result update(ContentSnapshot base, File dmContentFolder, Collection<File> changed, ContentCache cache) {
+        long start = System.nanoTime();
+        ContentCache.Session session = cache.begin();
+
+        Map<ContentType, SortedMap<String, FileEntry>> files = new EnumMap<>(ContentType.class);
+        Map<ContentType, SortedSet<String>> dirty = new EnumMap<>(ContentType.class);
+        for (ContentType type : ContentType.values()) {
+            files.put(type, new TreeMap<>(base.getFiles(type)));
+            dirty.put(type, new TreeSet<>());
+        }
+
+        for (File file : changed) {
+            ContentType type = ContentType.ownerOf(dmContentFolder, file);
+            if (type != null) {
+                dirty.get(type).add(file.getPath());
+            }
+        }
+
+        Set<ContentType> changedTypes = EnumSet.noneOf(ContentType.class);
+        Map<ContentType, StageReport> reports = new EnumMap<>(ContentType.class);
+
+        for (ContentType type : ContentType.values()) {
+            SortedMap<String, FileEntry> typeFiles = files.get(type);
+            SortedSet<String> typeDirty = dirty.get(type);
+
+            // Files that resolved something through a dependency that just changed
+            for (ContentType dependency : type.getDependencies()) {
+                if (!changedTypes.contains(dependency)) continue;
+                typeFiles.forEach((path, entry) -> {
+                    if (entry.consulted().contains(dependency)) typeDirty.add(path);
+                });
+            }
+            if (typeDirty.isEmpty()) continue;
+
+            long stageStart = System.nanoTime();
+            Map<ContentType, Map<String, ?>> dependencies = new EnumMap<>(ContentType.class);
+            for (ContentType dependency : type.getDependencies()) {
+                dependencies.put(dependency, ContentSnapshot.merge(files.get(dependency)));
+            }
+            LoadContext.Staged staged = new LoadContext.Staged(dependencies);
+
+            List<String> failures = new ArrayList<>();
+            for (String path : typeDirty) {
+                File file = new File(path);
+                if (file.isFile()) {
+                    typeFiles.put(path, parseFile(type, file, staged, session, failures));
+                } else {
+                    typeFiles.remove(path);
+                    LOGGER.info("Removed " + type.getDisplayName().toLowerCase() + " file: " + file.getName());
+                }
+            }
+
+            changedTypes.add(type);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stageStart);
+            int entries = ContentSnapshot.merge(typeFiles).size();
+            reports.put(type, new StageReport(type, typeDirty.size(), entries, millis, List.copyOf(failures)));
+        }
+
+        cache.save();
+        return new Result(files, reports, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), session.stats());
+    }
+
+    // ==================== Helpers ====================
+
+    private static FileEntry parseFile(ContentType type, File file,
+                                       LoadContext.Staged staged, ContentCache.Session session,
+                                       List<String> failures) {
+        Set<ContentType> consulted = EnumSet.noneOf(ContentType.class);
+        try {
+            Map<String, Object> data = session.read(file);
+            Map<String, ?> parsed = LoadContext.callWithStaged(staged, consulted, () -> type.getParser().parse(file, data));
+            return new FileEntry(parsed != null ? parsed : Map.of(), consulted);
+        } catch (Exception e) {
+            LOGGER.severe("Failed to load " + type.getDisplayName().toLowerCase() + " from " + file.getName() + ": " + e.getMessage());
+            e.printStackTrace();
+            failures.add(file.getName() + ": " + e.getMessage());
+            return new FileEntry(Map.of(), consulted);
+        }
+    }
+
+    private static ExecutorService newExecutor() {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "JkVtt-ContentLoader-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package io.papermc.jkvttplugin.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+/**
+ * Holds the live {@link ContentSnapshot}. Loaders read through {@link #current()}, and a
+ * reload replaces everything with a single reference swap, so nobody ever observes an
+ * empty or half-filled registry.
+ *
+ * Reads are lock-free; swaps are serialized so that each live snapshot takes the next version
+ * number and a rejected swap uses none.
+ */
+public final class ContentRegistry {
+    private static final Logger LOGGER = Logger.getLogger("ContentRegistry");
+    private static final AtomicReference<ContentSnapshot> CURRENT = new AtomicReference<>(ContentSnapshot.empty());
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private ContentRegistry() {}
+
+    public static ContentSnapshot current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Builds a snapshot from a pipeline result and makes it live.
+     *
+     * @return The snapshot that was replaced
+     */
+    public static synchronized ContentSnapshot swap(ContentLoadPipeline.Result result) {
+        ContentSnapshot next = ContentSnapshot.of(result.getFiles(), VERSIONS.incrementAndGet());
+        ContentSnapshot previous = CURRENT.getAndSet(next);
+        LOGGER.info("Swapped content snapshot v" + previous.getVersion() + " -> v" + next.getVersion());
+        return previous;
+    }
+
+    /**
+     * Makes an incremental result live, but only if it was built on top of the snapshot that is
+     * still live. Otherwise a full reload got in between and the update must be redone.
+     *
+     * @param expected The snapshot the update was computed from
+     * @return Whether the swap happened
+     */
+    public static synchronized boolean swapIfCurrent(ContentSnapshot expected, ContentLoadPipeline.Result result) {
+        // Only swaps change CURRENT, and they hold this lock, so it can't move between check and set
+        if (CURRENT.get() != expected) {
+            return false;
+        }
+        ContentSnapshot next = ContentSnapshot.of(result.getFiles(), VERSIONS.incrementAndGet());
+        CURRENT.set(next);
+        LOGGER.info("Swapped content snapshot v" + expected.getVersion() + " -> v" + next.getVersion());
+        return true;
+    }
+}
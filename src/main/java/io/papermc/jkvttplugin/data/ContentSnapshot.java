@@ -0,0 +1,97 @@
+package io.papermc.jkvttplugin.data;
+
+import java.util.*;
+
+/**
+ * An immutable, complete set of parsed DMContent registries.
+ *
+ * Readers grab the current snapshot once from {@link ContentRegistry} and see a consistent
+ * view of every content type, even while a reload is building the next snapshot.
+ *
+ * Besides the merged registries, the snapshot remembers what every file contributed, so an
+ * incremental reload can replace a single file's entries without re-parsing the rest.
+ */
+public final class ContentSnapshot {
+    private static final ContentSnapshot EMPTY = new ContentSnapshot(Map.of(), Map.of(), 0L);
+
+    /**
+     * What one YAML file contributed to a snapshot.
+     *
+     * @param entries   Entries parsed from the file, keyed by registry ID
+     * @param consulted Content types the file looked up while parsing (see {@link LoadContext})
+     */
+    public record FileEntry(Map<String, ?> entries, Set<ContentType> consulted) {
+        public FileEntry {
+            entries = Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+            consulted = consulted.isEmpty() ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(consulted));
+        }
+    }
+
+    private final Map<ContentType, SortedMap<String, FileEntry>> files;
+    private final Map<ContentType, Map<String, ?>> registries;
+    private final long version;
+
+    private ContentSnapshot(Map<ContentType, SortedMap<String, FileEntry>> files,
+                            Map<ContentType, Map<String, ?>> registries, long version) {
+        this.files = files;
+        this.registries = registries;
+        this.version = version;
+    }
+
+    public static ContentSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from per-file parse results. Each type's registry is the merge of its
+     * files in path order, so later paths win duplicate keys the same way on every load.
+     *
+     * @param files   Per type, file path -> what that file contributed
+     * @param version Snapshot number
+     */
+    public static ContentSnapshot of(Map<ContentType, ? extends Map<String, FileEntry>> files, long version) {
+        Map<ContentType, SortedMap<String, FileEntry>> fileCopy = new EnumMap<>(ContentType.class);
+        Map<ContentType, Map<String, ?>> registries = new EnumMap<>(ContentType.class);
+
+        for (ContentType type : ContentType.values()) {
+            Map<String, FileEntry> typeFiles = files.get(type);
+            SortedMap<String, FileEntry> sorted = typeFiles == null ? new TreeMap<>() : new TreeMap<>(typeFiles);
+            fileCopy.put(type, Collections.unmodifiableSortedMap(sorted));
+            registries.put(type, Collections.unmodifiableMap(merge(sorted)));
+        }
+
+        return new ContentSnapshot(Collections.unmodifiableMap(fileCopy), Collections.unmodifiableMap(registries), version);
+    }
+
+    static Map<String, Object> merge(SortedMap<String, FileEntry> files) {
+        Map<String, Object> merged = new LinkedHashMap<>();
+        for (FileEntry file : files.values()) {
+            merged.putAll(file.entries());
+        }
+        return merged;
+    }
+
+    /**
+     * @return The unmodifiable registry for the given type (never null)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Map<String, T> get(ContentType type) {
+        Map<String, ?> entries = registries.get(type);
+        return entries != null ? (Map<String, T>) entries : Map.of();
+    }
+
+    /**
+     * @return File path -> contribution for the given type, sorted by path (never null)
+     */
+    public SortedMap<String, FileEntry> getFiles(ContentType type) {
+        SortedMap<String, FileEntry> typeFiles = files.get(type);
+        return typeFiles != null ? typeFiles : Collections.emptySortedMap();
+    }
+
+    /**
+     * @return Monotonic snapshot number, incremented on every swap (0 for the empty snapshot)
+     */
+    public long getVersion() {
+        return version;
+    }
+}
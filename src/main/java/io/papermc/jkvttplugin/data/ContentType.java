@@ -0,0 +1,124 @@
+package io.papermc.jkvttplugin.data;
+
+import io.papermc.jkvttplugin.data.loader.*;
+import io.papermc.jkvttplugin.data.loader.ClassLoader;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * The kinds of content loaded from DMContent/, in dependency order.
+ *
+ * Each type knows its folder, how to parse one of its files, and which other types
+ * it reads while parsing.
+ * The content pipeline uses the dependencies to run independent types in parallel.
+ */
+public enum ContentType {
+    SPELLS("Spells", false, SpellLoader::parseFile), // No Dependencies
+    WEAPONS("Weapons", false, WeaponLoader::parseFile), // No Dependencies
+    ARMOR("Armor", false, ArmorLoader::parseFile), // No Dependencies
+    ITEMS("Items", false, ItemLoader::parseFile), // No Dependencies
+    RACES("Races", false, RaceLoader::parseFile, SPELLS), // References Spells for innate Casting
+    CLASSES("Classes", false, ClassLoader::parseFile, SPELLS), // References Spells for Spell lists
+    BACKGROUNDS("Backgrounds", false, BackgroundLoader::parseFile, ITEMS, WEAPONS, ARMOR), // References items/tools
+    ENTITIES("Entities", true, EntityLoader::parseFile, WEAPONS, ARMOR, ITEMS); // References Weapons/Armor/Items
+
+    /**
+     * Turns a single file's YAML tree into entries keyed by registry ID. The tree comes from
+     * {@link ContentCache}, so parsers never read the file themselves.
+     */
+    @FunctionalInterface
+    public interface FileParser {
+        Map<String, ?> parse(File file, Map<String, Object> data) throws Exception;
+    }
+
+    private final String folderName;
+    private final boolean recursive;
+    private final FileParser parser;
+    private final List<ContentType> dependencies;
+
+    ContentType(String folderName, boolean recursive, FileParser parser, ContentType... dependencies) {
+        this.folderName = folderName;
+        this.recursive = recursive;
+        this.parser = parser;
+        this.dependencies = List.of(dependencies);
+    }
+
+    public String getFolderName() {
+        return folderName;
+    }
+
+    public String getDisplayName() {
+        return folderName;
+    }
+
+    public FileParser getParser() {
+        return parser;
+    }
+
+    public List<ContentType> getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Lists this type's YAML files under the DMContent root, sorted by path so that
+     * later files win key collisions deterministically.
+     *
+     * @param dmContentFolder The DMContent/ root
+     * @return The YAML files to parse (empty if the folder is missing)
+     */
+    public List<File> listFiles(File dmContentFolder) {
+        List<File> files = new ArrayList<>();
+        collect(new File(dmContentFolder, folderName), files);
+        files.sort(Comparator.comparing(File::getPath));
+        return files;
+    }
+
+    /**
+     * Finds the content type a YAML file under DMContent/ belongs to.
+     *
+     * @param dmContentFolder The DMContent/ root
+     * @param file            A file somewhere under the root (need not exist anymore)
+     * @return The owning type, or null if the file is not content (wrong folder, depth or extension)
+     */
+    public static ContentType ownerOf(File dmContentFolder, File file) {
+        if (!file.getName().endsWith(".yml")) return null;
+
+        Path relative;
+        try {
+            relative = dmContentFolder.toPath().relativize(file.toPath());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (relative.getNameCount() < 2 || relative.startsWith("..")) return null;
+
+        String folder = relative.getName(0).toString();
+        for (ContentType type : values()) {
+            if (type.folderName.equals(folder) && (type.recursive || relative.getNameCount() == 2)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return Whether files in subfolders of this type's folder are content too
+     */
+    public boolean isRecursive() {
+        return recursive;
+    }
+
+    private void collect(File folder, List<File> out) {
+        File[] children = folder.listFiles();
+        if (children == null) return;
+
+        for (File child : children) {
+            if (child.isDirectory()) {
+                if (recursive) collect(child, out);
+            } else if (child.getName().endsWith(".yml")) {
+                out.add(child);
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package io.papermc.jkvttplugin.data;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Hot-reloads DMContent/ as DMs edit it.
+ *
+ * A WatchService reports created, modified and deleted YAML files under every content
+ * folder. Bursts of events (editors often write a file several times when saving) are
+ * debounced, then {@link ContentLoadPipeline#update} re-parses only the changed files and
+ * the files that depend on them. The result is swapped in on the main thread exactly like
+ * /reloadyaml; if a changed file fails to parse, the live content is left untouched.
+ */
+public class ContentWatcher {
+    private static final Logger LOGGER = Logger.getLogger("ContentWatcher");
+    private static final long DEBOUNCE_MILLIS = 750;
+
+    private final JavaPlugin plugin;
+    private final File dmContentFolder;
+    private final ContentCache cache;
+    private final Path root;
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+
+    private final Set<File> pending = new LinkedHashSet<>();
+    private boolean overflowed = false;
+    private ScheduledFuture<?> scheduledFlush;
+
+    private WatchService watchService;
+    private Thread watchThread;
+    private ScheduledExecutorService debouncer;
+
+    public ContentWatcher(JavaPlugin plugin, File dmContentFolder, ContentCache cache) {
+        this.plugin = plugin;
+        this.dmContentFolder = dmContentFolder;
+        this.cache = cache;
+        this.root = dmContentFolder.toPath();
+    }
+
+    public void start() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            register(root);
+            for (ContentType type : ContentType.values()) {
+                registerTypeFolder(type, root.resolve(type.getFolderName()));
+            }
+        } catch (IOException e) {
+            LOGGER.severe("Could not watch " + root + " for content changes: " + e.getMessage());
+            return;
+        }
+
+        debouncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JkVtt-ContentReload");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        watchThread = new Thread(this::watchLoop, "JkVtt-ContentWatcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        LOGGER.info("Watching " + watchedDirs.size() + " content folders for changes");
+    }
+
+    public void stop() {
+        if (watchThread != null) watchThread.interrupt();
+        if (debouncer != null) debouncer.shutdownNow();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // ==================== Watching ====================
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path dir = watchedDirs.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    synchronized (this) {
+                        overflowed = true;
+                    }
+                    continue;
+                }
+                if (dir == null) continue;
+
+                Path changed = dir.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed)) {
+                    onDirectoryCreated(dir, changed);
+                } else if (event.kind() == ENTRY_DELETE && !changed.toString().endsWith(".yml")) {
+                    onDirectoryDeleted(changed);
+                } else {
+                    enqueue(changed.toFile());
+                }
+            }
+
+            if (!key.reset()) {
+                watchedDirs.remove(key);
+            }
+        }
+    }
+
+    /**
+     * A new content folder (or a subfolder of a recursive one) appeared. Start watching it
+     * and treat every YAML already inside as changed, since it may have been copied in whole.
+     */
+    private void onDirectoryCreated(Path parent, Path created) {
+        ContentType type = parent.equals(root) ? typeForFolder(created.getFileName().toString()) : ownerOfDirectory(parent);
+        if (type == null || (!parent.equals(root) && !type.isRecursive())) return;
+
+        try {
+            registerTypeFolder(type, created);
+            try (var walk = Files.walk(created)) {
+                walk.filter(Files::isRegularFile).forEach(path -> enqueue(path.toFile()));
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Could not watch new folder " + created + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A folder disappeared. Deleting a folder does not report its files individually, so
+     * every live file that was under it counts as deleted.
+     */
+    private void onDirectoryDeleted(Path deleted) {
+        ContentSnapshot snapshot = ContentRegistry.current();
+        for (ContentType type : ContentType.values()) {
+            for (String path : snapshot.getFiles(type).keySet()) {
+                if (Paths.get(path).startsWith(deleted)) {
+                    enqueue(new File(path));
+                }
+            }
+        }
+    }
+
+    private void registerTypeFolder(ContentType type, Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) return;
+
+        if (!type.isRecursive()) {
+            register(folder);
+            return;
+        }
+
+        Files.walkFileTree(folder, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void register(Path dir) throws IOException {
+        WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        watchedDirs.put(key, dir);
+    }
+
+    private ContentType typeForFolder(String folderName) {
+        for (ContentType type : ContentType.values()) {
+            if (type.getFolderName().equals(folderName)) return type;
+        }
+        return null;
+    }
+
+    private ContentType ownerOfDirectory(Path dir) {
+        Path relative = root.relativize(dir);
+        return relative.getNameCount() > 0 ? typeForFolder(relative.getName(0).toString()) : null;
+    }
+
+    // ==================== Debounced Reload ====================
+
+    private synchronized void enqueue(File file) {
+        if (ContentType.ownerOf(dmContentFolder, file) == null) return;
+
+        pending.add(file);
+        scheduleFlush();
+    }
+
+    private synchronized void scheduleFlush() {
+        if (scheduledFlush != null) scheduledFlush.cancel(false);
+        scheduledFlush = debouncer.schedule(this::flush, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs on the debounce thread: parses the pending changes, then hands the result to the
+     * main thread for the swap.
+     */
+    private void flush() {
+        List<File> changed;
+        boolean fullReload;
+        synchronized (this) {
+            changed = new ArrayList<>(pending);
+            fullReload = overflowed;
+            pending.clear();
+            overflowed = false;
+        }
+        if (changed.isEmpty() && !fullReload) return;
+
+        ContentSnapshot base = ContentRegistry.current();
+        ContentLoadPipeline.Result result;
+        try {
+            result = fullReload
+                    ? ContentLoadPipeline.run(dmContentFolder, cache) // Missed events - only a full pass is safe
+                    : ContentLoadPipeline.update(base, dmContentFolder, changed, cache);
+        } catch (Exception e) {
+            LOGGER.severe("Hot reload failed: " + e.getMessage());
+            e.printStackTrace();
+            return;
+        }
+
+        List<String> problems = result.validate();
+        if (!problems.isEmpty()) {
+            LOGGER.warning("Hot reload rejected, keeping current content:");
+            problems.forEach(problem -> LOGGER.warning("  - " + problem));
+            return;
+        }
+        if (result.getReports().isEmpty()) return;
+
+        Bukkit.getScheduler().runTask(plugin, () -> {
+            if (!ContentRegistry.swapIfCurrent(base, result)) {
+                // A full reload landed first; redo these changes on top of it
+                synchronized (this) {
+                    pending.addAll(changed);
+                    overflowed |= fullReload;
+                    scheduleFlush();
+                }
+                return;
+            }
+
+            for (ContentLoadPipeline.StageReport report : result.getReports()) {
+                LOGGER.info("Hot reloaded " + report.files() + " " + report.type().getDisplayName().toLowerCase()
+                        + " file(s) in " + report.millis() + " ms (" + report.entries() + " entries)");
+            }
+        });
+    }
+}
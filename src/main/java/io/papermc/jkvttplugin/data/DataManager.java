@@ -1,14 +1,17 @@
 package io.papermc.jkvttplugin.data;
 
-import io.papermc.jkvttplugin.data.loader.*;
-import io.papermc.jkvttplugin.data.loader.ClassLoader;
+import io.papermc.jkvttplugin.data.search.SearchIndex;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
 
 // ToDO: Look up Records to see about Intellij's suggestion of turning this into a record class
 public class DataManager {
+    // Shared across DataManager instances so /reloadyaml reuses the in-memory cache
+    private static ContentCache contentCache;
+
     private final File dmContentFolder;
+    private final ContentCache cache;
 
     public DataManager(JavaPlugin plugin) {
         this.dmContentFolder = new File(plugin.getDataFolder(), "DMContent");
@@ -16,42 +19,45 @@ public class DataManager {
             dmContentFolder.mkdirs();
             // ToDo: Optionally copy defaults here from internal resources
         }
+        this.cache = sharedCache(new File(plugin.getDataFolder(), "cache/content.bin"));
+    }
+
+    private static synchronized ContentCache sharedCache(File cacheFile) {
+        if (contentCache == null) {
+            contentCache = new ContentCache(cacheFile);
+        }
+        return contentCache;
+    }
+
+    public File getContentFolder() {
+        return dmContentFolder;
+    }
+
+    public ContentCache getCache() {
+        return cache;
     }
 
-    public void loadAllData() {
-        // Clear existing data before reloading (for /reloadyaml command)
-        clearAllData();
-
-        File spellFolder = new File(dmContentFolder, "Spells"); // No Dependencies
-        File weaponFolder = new File(dmContentFolder, "Weapons");  // No Dependencies
-        File armorFolder = new File(dmContentFolder, "Armor"); // No Dependencies
-        File itemFolder = new File(dmContentFolder, "Items"); // No Dependencies
-        File racesFolder = new File(dmContentFolder, "Races"); // References Spells for innate Casting
-        File classFolder = new File(dmContentFolder, "Classes"); // References Spells for Spell lists
-        File backgroundsFolder = new File(dmContentFolder, "Backgrounds"); // references items/tools
-        File entitiesFolder = new File(dmContentFolder, "Entities"); // References Weapons/Armor/Items
-        SpellLoader.loadAllSpells(spellFolder);
-        WeaponLoader.loadAllWeapons(weaponFolder);
-        ArmorLoader.loadAllArmors(armorFolder);
-        ItemLoader.loadAllItems(itemFolder);
-        RaceLoader.loadAllRaces(racesFolder);
-        ClassLoader.loadAllClasses(classFolder);
-        BackgroundLoader.loadAllBackgrounds(backgroundsFolder);
-        EntityLoader.loadAllEntities(entitiesFolder);
+    /**
+     * Parses all DMContent/ YAML in parallel (see {@link ContentLoadPipeline}) and makes it live.
+     * Used at startup, where there is no previous snapshot worth keeping, so the result is
+     * swapped in even if some files failed to parse.
+     *
+     * @return Per-stage counts, timings and failures for this load
+     */
+    public ContentLoadPipeline.Result loadAllData() {
+        ContentLoadPipeline.Result result = parseAllData();
+        ContentRegistry.swap(result);
+        SearchIndex.current(); // Build now rather than on the first /search
+        return result;
     }
 
     /**
-     * Clears all loaded data from static registries.
-     * Called before reloading to ensure deleted content is removed.
+     * Parses all DMContent/ YAML without touching the live registries. Safe to call off the
+     * main thread; the caller decides whether to swap the result in via {@link ContentRegistry}.
      */
-    private void clearAllData() {
-        RaceLoader.clear();
-        ClassLoader.clear();
-        BackgroundLoader.clear();
-        SpellLoader.clear();
-        WeaponLoader.clear();
-        ArmorLoader.clear();
-        ItemLoader.clear();
-        EntityLoader.clear();
+    public ContentLoadPipeline.Result parseAllData() {
+        ContentLoadPipeline.Result result = ContentLoadPipeline.run(dmContentFolder, cache);
+        result.logSummary();
+        return result;
     }
 }
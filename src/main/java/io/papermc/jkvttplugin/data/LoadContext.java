@@ -0,0 +1,93 @@
+package io.papermc.jkvttplugin.data;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread view of content parsed earlier in the same load.
+ *
+ * While the content pipeline parses a type, lookups into that type's dependencies
+ * (e.g. races validating spell names through SpellLoader) must see the freshly parsed
+ * entries rather than the live snapshot, which is only replaced once the whole
+ * load has finished. Loaders check {@link #staged(ContentType)} before falling back
+ * to the live snapshot.
+ *
+ * Each staged lookup is also recorded, so incremental reloads know which files have to be
+ * re-parsed when one of their dependencies changes.
+ *
+ * Lookup structures built over staged content (e.g. SpellIndex) are cached on the
+ * {@link Staged} set itself via {@link #derived}, so every file parsed in a stage shares one
+ * copy and none of them leak into the caches that serve the live snapshot.
+ */
+public final class LoadContext {
+    private static final ThreadLocal<Frame> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The dependency content one pipeline stage parses against, shared by all of its files.
+     */
+    public static final class Staged {
+        private final Map<ContentType, Map<String, ?>> entries;
+        private final Map<Class<?>, Object> derived = new ConcurrentHashMap<>();
+
+        public Staged(Map<ContentType, Map<String, ?>> entries) {
+            this.entries = entries;
+        }
+    }
+
+    private record Frame(Staged staged, Set<ContentType> consulted) {}
+
+    private LoadContext() {}
+
+    /**
+     * @return The entries staged for the given type on this thread, or null outside a pipeline parse
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Map<String, T> staged(ContentType type) {
+        Frame frame = CURRENT.get();
+        if (frame == null) return null;
+
+        Map<String, ?> entries = frame.staged().entries.get(type);
+        if (entries != null) {
+            frame.consulted().add(type);
+        }
+        return (Map<String, T>) entries;
+    }
+
+    /**
+     * A structure derived from this thread's staged content, built once per stage.
+     * Only call after {@link #staged} returned non-null for what {@code build} reads.
+     *
+     * @param kind  Cache key; one derived value per class
+     * @param build Builds the value from the staged content
+     */
+    public static <T> T derived(Class<T> kind, Supplier<T> build) {
+        Frame frame = CURRENT.get();
+        if (frame == null) throw new IllegalStateException("No staged content on this thread");
+        return kind.cast(frame.staged().derived.computeIfAbsent(kind, k -> build.get()));
+    }
+
+    /**
+     * Runs a task with the given staged content visible to loader lookups on this thread.
+     *
+     * @param staged    Parsed dependency content, by type
+     * @param consulted Receives every type the task actually looked up
+     * @param task      The parse to run
+     */
+    public static <V> V callWithStaged(Staged staged, Set<ContentType> consulted,
+                                       Callable<V> task) throws Exception {
+        Frame previous = CURRENT.get();
+        CURRENT.set(new Frame(staged, consulted));
+        try {
+            return task.call();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -1,47 +1,42 @@
 package io.papermc.jkvttplugin.data.loader;
 
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentType;
 import io.papermc.jkvttplugin.data.loader.util.LoaderUtils;
 import io.papermc.jkvttplugin.data.model.DndArmor;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileReader;
 import java.util.*;
 import java.util.logging.Logger;
 
 import static io.papermc.jkvttplugin.util.Util.normalize;
 
 public class ArmorLoader {
-    private static final Map<String, DndArmor> loadedArmors = new HashMap<>();
     private static final Logger LOGGER = Logger.getLogger("ArmorLoader");
 
-    public static void loadAllArmors(File folder) {
-        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files == null || files.length == 0) {
-            LOGGER.warning("No armor files found in " + folder.getPath());
-            return;
-        }
-
-        Yaml yaml = new Yaml();
+    /**
+     * Parses a single armor YAML file. Each file can contain multiple armors keyed by ID.
+     *
+     * @param file The YAML file being parsed (used for log messages)
+     * @param data The file's YAML tree, or null for an empty file
+     * @return Armors keyed by normalized ID, in file order
+     */
+    public static Map<String, DndArmor> parseFile(File file, Map<String, Object> data) {
+        Map<String, DndArmor> parsed = new LinkedHashMap<>();
 
-        for (File file : files) {
-            try (FileReader reader = new FileReader(file)) {
-                Map<String, Object> data = yaml.load(reader);
+        if (data == null) return parsed;
 
-                for (Map.Entry<String, Object> entry : data.entrySet()) {
-                    String armorId = entry.getKey();
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            String armorId = entry.getKey();
 
-                    if (entry.getValue() instanceof Map<?, ?> armorData) {
-                        DndArmor armor = parseArmor(armorId, armorData);
-                        loadedArmors.put(normalize(armorId), armor);
-                        LOGGER.info("Loaded armor: " + armor.getName());
-                    }
-                }
-            } catch (Exception e) {
-                LOGGER.severe("Failed to load armors from " + file.getName() + ": " + e.getMessage());
-                e.printStackTrace();
+            if (entry.getValue() instanceof Map<?, ?> armorData) {
+                DndArmor armor = parseArmor(armorId, armorData);
+                parsed.put(normalize(armorId), armor);
+                LOGGER.info("Loaded armor: " + armor.getName());
             }
         }
+
+        return parsed;
     }
 
     private static DndArmor parseArmor(String id, Map<?, ?> data) {
@@ -142,15 +137,15 @@ public class ArmorLoader {
 
     public static DndArmor getArmor(String id) {
         if (id == null) return null;
-        return loadedArmors.get(normalize(id));
+        return loadedArmors().get(normalize(id));
     }
 
     public static Collection<DndArmor> getAllArmors() {
-        return Collections.unmodifiableCollection(loadedArmors.values());
+        return Collections.unmodifiableCollection(loadedArmors().values());
     }
 
     public static List<DndArmor> getArmorsByCategory(String category) {
-        return loadedArmors.values().stream()
+        return loadedArmors().values().stream()
                 .filter(armor -> category.equalsIgnoreCase(armor.getCategory()))
                 .toList();
     }
@@ -172,10 +167,9 @@ public class ArmorLoader {
     }
 
     /**
-     * Clears all loaded armors. Called before reloading data.
+     * Armors in the current content snapshot (see ContentRegistry).
      */
-    public static void clear() {
-        loadedArmors.clear();
-        LOGGER.info("Cleared all loaded armors");
+    private static Map<String, DndArmor> loadedArmors() {
+        return ContentRegistry.current().get(ContentType.ARMOR);
     }
 }
@@ -1,44 +1,41 @@
 package io.papermc.jkvttplugin.data.loader;
 
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentType;
 import io.papermc.jkvttplugin.data.loader.util.LoaderUtils;
 import io.papermc.jkvttplugin.data.model.DndBackground;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileReader;
 import java.util.*;
 import java.util.logging.Logger;
 
 import static io.papermc.jkvttplugin.util.Util.normalize;
 
 public class BackgroundLoader {
-    private static final Map<String, DndBackground> loadedBackgrounds = new HashMap<>();
     private static final Logger LOGGER = Logger.getLogger("BackgroundLoader");
 
-    public static void loadAllBackgrounds(File folder) {
-        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files == null || files.length == 0) {
-            LOGGER.warning("No background files found in " + folder.getPath());
-            return;
-        }
+    /**
+     * Parses a single background YAML file. Each file can contain multiple backgrounds keyed by ID.
+     *
+     * @param file The YAML file being parsed (used for log messages)
+     * @param fileMap The file's YAML tree, or null for an empty file
+     * @return Backgrounds keyed by normalized name, in file order
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, DndBackground> parseFile(File file, Map<String, Object> fileMap) {
+        Map<String, DndBackground> parsed = new LinkedHashMap<>();
 
-        Yaml yaml = new Yaml();
+        if (fileMap == null) return parsed;
 
-        for (File file : files) {
-            try (FileReader reader = new FileReader(file)) {
-                Map<String, Object> fileMap = yaml.load(reader);
-                if (fileMap == null) continue;
-                for (Map.Entry<String, Object> entry : fileMap.entrySet()) {
-                    String backgroundKey = entry.getKey();
-                    Map<String, Object> data = (Map<String, Object>) entry.getValue();
-                    DndBackground background = parseBackground(backgroundKey, data);
-                    loadedBackgrounds.put(normalize(background.getName()), background);
-                    LOGGER.info("Loaded background: " + background.getName());
-                }
-            } catch (Exception e) {
-                System.err.println("Failed to load background from " + file.getName() + ": " + e.getMessage());
-            }
+        for (Map.Entry<String, Object> entry : fileMap.entrySet()) {
+            String backgroundKey = entry.getKey();
+            Map<String, Object> data = (Map<String, Object>) entry.getValue();
+            DndBackground background = parseBackground(backgroundKey, data);
+            parsed.put(normalize(background.getName()), background);
+            LOGGER.info("Loaded background: " + background.getName());
         }
+
+        return parsed;
     }
 
     private static DndBackground parseBackground(String key, Map<String, Object> data) {
@@ -62,18 +59,17 @@ public class BackgroundLoader {
     }
 
     public static DndBackground getBackground(String name) {
-        return loadedBackgrounds.get(normalize(name));
+        return loadedBackgrounds().get(normalize(name));
     }
 
     public static Collection<DndBackground> getAllBackgrounds() {
-        return Collections.unmodifiableCollection(loadedBackgrounds.values());
+        return Collections.unmodifiableCollection(loadedBackgrounds().values());
     }
 
     /**
-     * Clears all loaded backgrounds. Called before reloading data.
+     * Backgrounds in the current content snapshot (see ContentRegistry).
      */
-    public static void clear() {
-        loadedBackgrounds.clear();
-        LOGGER.info("Cleared all loaded backgrounds");
+    private static Map<String, DndBackground> loadedBackgrounds() {
+        return ContentRegistry.current().get(ContentType.BACKGROUNDS);
     }
 }
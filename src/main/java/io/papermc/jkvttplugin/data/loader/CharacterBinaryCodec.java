@@ -0,0 +1,255 @@
+package io.papermc.jkvttplugin.data.loader;
+
+import io.papermc.jkvttplugin.data.model.enums.Ability;
+import io.papermc.jkvttplugin.data.model.enums.Skill;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compact binary form of a serialized character sheet (the map built by
+ * CharacterPersistenceLoader.serializeCharacterSheet), used when
+ * characters.storage-format is "binary".
+ *
+ * Layout (version 1): magic "JKCS", version byte, a string table (each distinct string stored
+ * once, referenced by varint index + 1, 0 = null), then the fields in a fixed order. Numbers are
+ * varints (zig-zag for signed values), abilities are written in {@link Ability} ordinal order
+ * and skill proficiencies are a bit set over {@link Skill} ordinals.
+ *
+ * Reordering Ability or Skill, or changing the field order, needs a new version: keep the old
+ * reader in {@link #decode} and register a {@link #MIGRATIONS} step that upgrades its output to
+ * the current map shape.
+ */
+final class CharacterBinaryCodec {
+    static final String EXTENSION = ".jkc";
+    static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'J', 'K', 'C', 'S'};
+    private static final String[] CONTENT_FIELDS = {"raceName", "subraceName", "className", "subclassName", "backgroundName"};
+
+    /**
+     * Upgrades decoded maps from version N to N + 1, applied in order after reading an older file.
+     */
+    private static final Map<Integer, UnaryOperator<Map<String, Object>>> MIGRATIONS = Map.of();
+
+    private CharacterBinaryCodec() {}
+
+    // ==================== Encoding ====================
+
+    static byte[] encode(Map<String, Object> data) throws IOException {
+        StringTable strings = new StringTable();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(body);
+
+        writeVarLong(out, number(data.get("savedAt"), 0L));
+        writeUuid(out, (String) data.get("characterId"));
+        writeUuid(out, (String) data.get("playerId"));
+        writeVarInt(out, strings.ref((String) data.get("characterName")));
+        for (String field : CONTENT_FIELDS) {
+            writeVarInt(out, strings.ref((String) data.get(field)));
+        }
+
+        writeSignedVarInt(out, (int) number(data.get("currentHealth"), 1));
+        writeSignedVarInt(out, (int) number(data.get("maxHealth"), 1));
+        writeSignedVarInt(out, (int) number(data.get("armorClass"), 10));
+
+        Map<?, ?> abilities = data.get("abilities") instanceof Map<?, ?> map ? map : Map.of();
+        for (Ability ability : Ability.values()) {
+            writeSignedVarInt(out, (int) number(abilities.get(ability.name()), 10));
+        }
+
+        long skillBits = 0L;
+        for (String skill : stringList(data.get("skillProficiencies"))) {
+            skillBits |= 1L << Skill.valueOf(skill).ordinal();
+        }
+        writeVarLong(out, skillBits);
+
+        writeStringRefs(out, strings, stringList(data.get("knownSpells")));
+        writeStringRefs(out, strings, stringList(data.get("knownCantrips")));
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream(body.size() + 64);
+        DataOutputStream header = new DataOutputStream(file);
+        header.write(MAGIC);
+        header.writeByte(VERSION);
+        strings.writeTo(header);
+        body.writeTo(file);
+        return file.toByteArray();
+    }
+
+    private static void writeStringRefs(DataOutputStream out, StringTable strings, List<String> values) throws IOException {
+        writeVarInt(out, values.size());
+        for (String value : values) {
+            writeVarInt(out, strings.ref(value));
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, String value) throws IOException {
+        UUID uuid = UUID.fromString(value);
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    // ==================== Decoding ====================
+
+    static Map<String, Object> decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a binary character file");
+        }
+
+        int version = in.readUnsignedByte();
+        Map<String, Object> data = switch (version) {
+            case 1 -> readVersion1(in);
+            default -> throw new IOException("Unsupported character file version " + version + " (this build reads up to " + VERSION + ")");
+        };
+
+        for (int v = version; v < VERSION; v++) {
+            UnaryOperator<Map<String, Object>> migration = MIGRATIONS.get(v);
+            if (migration != null) data = migration.apply(data);
+        }
+        return data;
+    }
+
+    private static Map<String, Object> readVersion1(DataInputStream in) throws IOException {
+        String[] strings = new String[readVarInt(in)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = readString(in).intern();
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("savedAt", readVarLong(in));
+        data.put("characterId", readUuid(in));
+        data.put("playerId", readUuid(in));
+        data.put("characterName", lookup(strings, readVarInt(in)));
+        for (String field : CONTENT_FIELDS) {
+            data.put(field, lookup(strings, readVarInt(in)));
+        }
+
+        data.put("currentHealth", readSignedVarInt(in));
+        data.put("maxHealth", readSignedVarInt(in));
+        data.put("armorClass", readSignedVarInt(in));
+
+        Map<String, Integer> abilities = new HashMap<>();
+        for (Ability ability : Ability.values()) {
+            abilities.put(ability.name(), readSignedVarInt(in));
+        }
+        data.put("abilities", abilities);
+
+        long skillBits = readVarLong(in);
+        List<String> skills = new ArrayList<>();
+        for (Skill skill : Skill.values()) {
+            if ((skillBits & (1L << skill.ordinal())) != 0) skills.add(skill.name());
+        }
+        data.put("skillProficiencies", skills);
+
+        data.put("knownSpells", readStringRefs(in, strings));
+        data.put("knownCantrips", readStringRefs(in, strings));
+        return data;
+    }
+
+    private static List<String> readStringRefs(DataInputStream in, String[] strings) throws IOException {
+        int count = readVarInt(in);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(lookup(strings, readVarInt(in)));
+        }
+        return values;
+    }
+
+    private static String lookup(String[] strings, int ref) throws IOException {
+        if (ref == 0) return null;
+        if (ref > strings.length) throw new IOException("String reference " + ref + " out of range");
+        return strings[ref - 1];
+    }
+
+    private static String readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong()).toString();
+    }
+
+    // ==================== Primitives ====================
+
+    /**
+     * Collects distinct strings in first-use order; written ahead of the fields that reference them.
+     */
+    private static final class StringTable {
+        private final Map<String, Integer> refs = new LinkedHashMap<>();
+
+        int ref(String value) {
+            if (value == null) return 0;
+            return refs.computeIfAbsent(value, v -> refs.size() + 1);
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            writeVarInt(out, refs.size());
+            for (String value : refs.keySet()) {
+                writeString(out, value);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[readVarInt(in)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static void writeSignedVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        long value = readVarLong(in);
+        if (value > 0xFFFFFFFFL) throw new IOException("Varint too large");
+        return (int) value;
+    }
+
+    private static int readSignedVarInt(DataInputStream in) throws IOException {
+        int raw = readVarInt(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long number(Object value, long fallback) {
+        return value instanceof Number n ? n.longValue() : fallback;
+    }
+
+    private static List<String> stringList(Object value) {
+        if (!(value instanceof Collection<?> collection)) return List.of();
+        List<String> out = new ArrayList<>(collection.size());
+        for (Object element : collection) {
+            out.add((String) element);
+        }
+        return out;
+    }
+}
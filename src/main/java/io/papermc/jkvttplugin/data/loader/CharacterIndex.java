@@ -0,0 +1,217 @@
+package io.papermc.jkvttplugin.data.loader;
+
+import io.papermc.jkvttplugin.util.AtomicFileWriter;
+import io.papermc.jkvttplugin.util.PrefixTrie;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Lightweight index of every saved character: which player owns it and what it is called.
+ *
+ * Lets character sheets stay on disk until they are needed (a player joins, a DM looks one up
+ * by name) while name lookups and tab completion still cover all characters. Persisted as
+ * index.yml next to the character files and reconciled against the folder on startup, so a
+ * missing or stale index repairs itself.
+ *
+ * Names are also indexed case-insensitively (an exact-name map plus a prefix trie), so DM
+ * commands find characters by name and tab-complete them without scanning every character.
+ */
+class CharacterIndex {
+    private static final Logger LOGGER = Logger.getLogger("CharacterIndex");
+
+    record Entry(UUID characterId, UUID playerId, String name) {}
+
+    private final File indexFile;
+    private final File dataFolder;
+    private final Map<UUID, Entry> byCharacter = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> byPlayer = new ConcurrentHashMap<>();
+    // Guarded by nameLock: lower-cased name -> character IDs (names aren't unique)
+    private final Map<String, Set<UUID>> byName = new HashMap<>();
+    private final PrefixTrie<UUID> namePrefixes = new PrefixTrie<>();
+    private final Object nameLock = new Object();
+    private volatile boolean changed = false;
+
+    CharacterIndex(File dataFolder) {
+        this.dataFolder = dataFolder;
+        this.indexFile = new File(dataFolder, "index.yml");
+    }
+
+    /**
+     * Loads index.yml, then adds character files the index doesn't know about and drops
+     * entries whose file is gone. Only unknown files are opened.
+     */
+    @SuppressWarnings("unchecked")
+    void loadAndReconcile() {
+        Yaml yaml = new Yaml();
+
+        if (indexFile.isFile()) {
+            try (FileReader reader = new FileReader(indexFile)) {
+                Map<String, Object> data = yaml.load(reader);
+                if (data != null) {
+                    for (Map.Entry<String, Object> entry : data.entrySet()) {
+                        if (!(entry.getValue() instanceof Map<?, ?> fields)) continue;
+                        put(UUID.fromString(entry.getKey()), UUID.fromString((String) fields.get("player")), (String) fields.get("name"));
+                    }
+                }
+            } catch (Exception e) {
+                LOGGER.warning("Character index is unreadable, rebuilding it: " + e.getMessage());
+                for (UUID characterId : new ArrayList<>(byCharacter.keySet())) remove(characterId);
+            }
+        }
+
+        Set<UUID> onDisk = new HashSet<>();
+        File[] files = dataFolder.listFiles((dir, name) -> CharacterPersistenceLoader.isCharacterFile(name));
+        if (files != null) {
+            for (File file : files) {
+                UUID characterId;
+                try {
+                    characterId = UUID.fromString(file.getName().substring(0, file.getName().lastIndexOf('.')));
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                onDisk.add(characterId);
+                if (byCharacter.containsKey(characterId)) continue;
+
+                try {
+                    Map<String, Object> data = CharacterPersistenceLoader.readCharacterData(file);
+                    if (data == null) continue;
+                    put(characterId, UUID.fromString((String) data.get("playerId")), (String) data.get("characterName"));
+                } catch (Exception e) {
+                    LOGGER.severe("Failed to index character file " + file.getName() + ": " + e.getMessage());
+                }
+            }
+        }
+
+        for (UUID characterId : new ArrayList<>(byCharacter.keySet())) {
+            if (!onDisk.contains(characterId)) remove(characterId);
+        }
+
+        LOGGER.info("Indexed " + byCharacter.size() + " saved characters for " + byPlayer.size() + " players");
+        save();
+    }
+
+    /**
+     * Adds or updates a character. Storing a known character under a different name renames it.
+     */
+    void put(UUID characterId, UUID playerId, String name) {
+        synchronized (nameLock) {
+            Entry previous = byCharacter.put(characterId, new Entry(characterId, playerId, name));
+            if (previous != null && previous.playerId().equals(playerId) && Objects.equals(previous.name(), name)) return;
+
+            if (previous != null) {
+                unindexName(previous);
+                if (!previous.playerId().equals(playerId)) unindexPlayer(previous);
+            }
+            byPlayer.computeIfAbsent(playerId, k -> ConcurrentHashMap.newKeySet()).add(characterId);
+            if (name != null) {
+                String key = nameKey(name);
+                byName.computeIfAbsent(key, k -> new LinkedHashSet<>(1)).add(characterId);
+                namePrefixes.put(key, characterId);
+            }
+            changed = true;
+        }
+    }
+
+    void remove(UUID characterId) {
+        synchronized (nameLock) {
+            Entry previous = byCharacter.remove(characterId);
+            if (previous == null) return;
+
+            unindexPlayer(previous);
+            unindexName(previous);
+            changed = true;
+        }
+    }
+
+    /**
+     * Characters with exactly this name, ignoring case.
+     */
+    List<UUID> findByName(String name) {
+        synchronized (nameLock) {
+            Set<UUID> ids = byName.get(nameKey(name));
+            return ids != null ? List.copyOf(ids) : List.of();
+        }
+    }
+
+    /**
+     * Names of characters starting with {@code prefix} (ignoring case), in alphabetical order.
+     */
+    List<String> completeName(String prefix, int limit) {
+        Set<String> names = new LinkedHashSet<>();
+        synchronized (nameLock) {
+            for (UUID characterId : namePrefixes.withPrefix(nameKey(prefix), limit)) {
+                Entry entry = byCharacter.get(characterId);
+                if (entry != null) names.add(entry.name());
+            }
+        }
+        return new ArrayList<>(names);
+    }
+
+    private void unindexPlayer(Entry entry) {
+        Set<UUID> characters = byPlayer.get(entry.playerId());
+        if (characters != null) {
+            characters.remove(entry.characterId());
+            if (characters.isEmpty()) byPlayer.remove(entry.playerId());
+        }
+    }
+
+    private void unindexName(Entry entry) {
+        if (entry.name() == null) return;
+        String key = nameKey(entry.name());
+        Set<UUID> ids = byName.get(key);
+        if (ids != null) {
+            ids.remove(entry.characterId());
+            if (ids.isEmpty()) byName.remove(key);
+        }
+        namePrefixes.remove(key, entry.characterId());
+    }
+
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    Set<UUID> charactersOf(UUID playerId) {
+        Set<UUID> characters = byPlayer.get(playerId);
+        return characters != null ? Set.copyOf(characters) : Set.of();
+    }
+
+    Entry get(UUID characterId) {
+        return byCharacter.get(characterId);
+    }
+
+    Collection<Entry> entries() {
+        return byCharacter.values();
+    }
+
+    /**
+     * Writes index.yml if anything changed since the last save.
+     */
+    synchronized void save() {
+        if (!changed) return;
+        changed = false;
+
+        Map<String, Object> data = new TreeMap<>();
+        for (Entry entry : byCharacter.values()) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("player", entry.playerId().toString());
+            fields.put("name", entry.name());
+            data.put(entry.characterId().toString(), fields);
+        }
+
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        try {
+            AtomicFileWriter.writeYaml(indexFile, new Yaml(options), data);
+        } catch (IOException e) {
+            changed = true;
+            LOGGER.warning("Failed to save character index: " + e.getMessage());
+        }
+    }
+}
@@ -3,24 +3,36 @@ package io.papermc.jkvttplugin.data.loader;
 import io.papermc.jkvttplugin.data.model.enums.Ability;
 import io.papermc.jkvttplugin.data.model.enums.Skill;
 import io.papermc.jkvttplugin.character.CharacterSheet;
+import io.papermc.jkvttplugin.dice.RollStream;
+import io.papermc.jkvttplugin.util.AtomicFileWriter;
 import io.papermc.jkvttplugin.util.Util;
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 public class CharacterPersistenceLoader {
+    // Only players whose characters are loaded have an entry (possibly empty); see ensureLoaded
     private static final Map<UUID, Map<UUID, CharacterSheet>> playerCharacters = new ConcurrentHashMap<>();
+    private static final Map<UUID, Long> lastAccess = new ConcurrentHashMap<>();
     private static final Logger LOGGER = Logger.getLogger("CharacterLoader");
+    private static final long EVICTION_CHECK_TICKS = 20 * 60;
+    private static final int MAX_NAME_COMPLETIONS = 100;
     private static Plugin plugin;
     private static File dataFolder;
+    private static CharacterIndex index;
+    private static CharacterSaveQueue saveQueue;
+    private static long idleEvictionMillis;
+    private static boolean binaryFormat;
 
     public static void initialize(Plugin pluginInstance) {
         plugin = pluginInstance;
@@ -29,133 +41,363 @@ public class CharacterPersistenceLoader {
         if (!dataFolder.exists()) {
             dataFolder.mkdirs();
         }
-        loadAllCharacters();
+
+        // "yaml" (readable, the default) or "binary" (compact, see CharacterBinaryCodec)
+        binaryFormat = "binary".equalsIgnoreCase(plugin.getConfig().getString("characters.storage-format", "yaml"));
+
+        // Recover changes that were journaled but not yet written to their files before a crash
+        PersistenceJournal journal = new PersistenceJournal(new File(dataFolder, "journal.log"));
+        replayJournal(journal);
+
+        // Only the index is read up front; sheets load per player on demand
+        index = new CharacterIndex(dataFolder);
+        index.loadAndReconcile();
+
+        saveQueue = new CharacterSaveQueue(CharacterPersistenceLoader::writeCharacterFile,
+                CharacterPersistenceLoader::deleteCharacter, journal, index::save);
+        saveQueue.start(plugin);
+
+        idleEvictionMillis = TimeUnit.MINUTES.toMillis(plugin.getConfig().getLong("characters.idle-eviction-minutes", 15));
+        Bukkit.getScheduler().runTaskTimer(plugin, CharacterPersistenceLoader::evictIdlePlayers, EVICTION_CHECK_TICKS, EVICTION_CHECK_TICKS);
+    }
+
+    /**
+     * Stops the background writer and synchronously writes every queued or dirty sheet.
+     * Must be called from onDisable.
+     */
+    public static void shutdown() {
+        if (saveQueue != null) saveQueue.shutdown();
     }
 
-    // ToDo: fix saving character to yaml file
+    /**
+     * Queues a character for saving. The sheet is written by the background writer on the next
+     * flush (within a few seconds), coalesced with any other pending changes to it.
+     */
     public static void saveCharacter(CharacterSheet sheet) {
-        File characterFile = new File(dataFolder, sheet.getCharacterId().toString() + ".yml");
+        markDirty(sheet);
+    }
 
-        try {
-            Map<String, Object> data = serializeCharacterSheet(sheet);
+    /**
+     * Flags a sheet as changed so the write-behind queue persists it. See {@link CharacterSheet#markDirty()}.
+     */
+    public static void markDirty(CharacterSheet sheet) {
+        if (saveQueue != null) saveQueue.markDirty(sheet);
+    }
+
+    /**
+     * Writes one serialized sheet to disk. Runs on the writer thread (or the main thread during shutdown).
+     */
+    private static void writeCharacterFile(CharacterSaveQueue.PendingWrite pending) throws IOException {
+        // Deleted sheets never get here: the queue skips them under the character's lock (see CharacterSaveQueue.forget)
+        writeCharacterData(pending.characterId(), pending.data());
+        index.put(pending.characterId(), pending.playerId(), pending.characterName());
+    }
+
+    private static void writeCharacterData(UUID characterId, Map<String, Object> data) throws IOException {
+        File characterFile = characterFile(characterId, binaryFormat);
 
+        if (binaryFormat) {
+            AtomicFileWriter.writeBytes(characterFile, CharacterBinaryCodec.encode(data));
+        } else {
             DumperOptions options = new DumperOptions();
             options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
             options.setPrettyFlow(true);
-            Yaml yaml = new Yaml(options);
 
-            try (FileWriter writer = new FileWriter(characterFile)) {
-                yaml.dump(data, writer);
-            }
-        } catch(IOException e) {
-            LOGGER.severe("Failed to save character " + sheet.getCharacterName() + ": " + e.getMessage());
+            AtomicFileWriter.writeYaml(characterFile, new Yaml(options), data);
         }
+
+        // Switching storage-format converts each sheet the next time it is saved
+        Files.deleteIfExists(characterFile(characterId, !binaryFormat).toPath());
+    }
+
+    // ==================== Character Files ====================
+
+    private static File characterFile(UUID characterId, boolean binary) {
+        return new File(dataFolder, characterId + (binary ? CharacterBinaryCodec.EXTENSION : ".yml"));
     }
 
-    // ToDo: actually load saved characters somewhere smh
-    public static void loadAllCharacters() {
-        File[] files = dataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files == null || files.length == 0) {
-            LOGGER.info("No character files found in " + dataFolder.getPath());
-            return;
+    /**
+     * The file holding a character, in either format (the configured one wins if both exist).
+     */
+    private static File findCharacterFile(UUID characterId) {
+        File preferred = characterFile(characterId, binaryFormat);
+        return preferred.exists() ? preferred : characterFile(characterId, !binaryFormat);
+    }
+
+    static boolean isCharacterFile(String fileName) {
+        return (fileName.endsWith(".yml") || fileName.endsWith(CharacterBinaryCodec.EXTENSION)) && !fileName.equals("index.yml");
+    }
+
+    /**
+     * Reads a character file's serialized data, YAML or binary depending on its extension.
+     *
+     * @return The data, or null if the file is empty
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> readCharacterData(File file) throws IOException {
+        if (file.getName().endsWith(CharacterBinaryCodec.EXTENSION)) {
+            return CharacterBinaryCodec.decode(Files.readAllBytes(file.toPath()));
         }
+        try (FileReader reader = new FileReader(file)) {
+            return new Yaml().load(reader);
+        }
+    }
+
+    /**
+     * Removes a deleted character's index entry and files. Runs under the save queue's lock for
+     * the character, so it never overlaps a write of the same sheet.
+     */
+    private static void deleteCharacter(UUID characterId) {
+        index.remove(characterId);
+        deleteCharacterFiles(characterId);
+    }
+
+    private static void deleteCharacterFiles(UUID characterId) {
+        characterFile(characterId, false).delete();
+        characterFile(characterId, true).delete();
+    }
+
+    /**
+     * Writes journaled sheets back to their files. Only the newest record per character is
+     * applied, and only if it is newer than what the file already holds ("savedAt").
+     * A deletion tombstone drops the character's earlier records and its files.
+     */
+    @SuppressWarnings("unchecked")
+    private static void replayJournal(PersistenceJournal journal) {
+        List<String> records = journal.readAll();
+        if (records.isEmpty()) return;
 
         Yaml yaml = new Yaml();
+        Map<UUID, Map<String, Object>> latest = new LinkedHashMap<>();
+        Set<UUID> deleted = new HashSet<>();
+        for (String record : records) {
+            try {
+                Map<String, Object> data = yaml.load(record);
+                UUID characterId = UUID.fromString((String) data.get("characterId"));
+                if (Boolean.TRUE.equals(data.get(CharacterSaveQueue.TOMBSTONE_KEY))) {
+                    latest.remove(characterId);
+                    deleted.add(characterId);
+                } else {
+                    latest.put(characterId, data);
+                }
+            } catch (Exception e) {
+                LOGGER.warning("Skipping unreadable journal record: " + e.getMessage());
+            }
+        }
 
-        for (File file : files) {
-            try (FileReader reader = new FileReader(file)) {
-                Map<String, Object> data = yaml.load(reader);
+        // The crash may have come between journaling the deletion and removing the files
+        for (UUID characterId : deleted) {
+            if (!latest.containsKey(characterId)) deleteCharacterFiles(characterId);
+        }
 
-                CharacterSheet sheet = deserializeCharacterSheet(data);
-                if (sheet != null) {
-                    playerCharacters.computeIfAbsent(sheet.getPlayerId(), k -> new ConcurrentHashMap<>()).put(sheet.getCharacterId(), sheet);
-                    LOGGER.info("Loaded character: " + sheet.getCharacterName());
+        int replayed = 0;
+        for (Map.Entry<UUID, Map<String, Object>> entry : latest.entrySet()) {
+            File characterFile = findCharacterFile(entry.getKey());
+            long journaledAt = savedAt(entry.getValue());
+            if (characterFile.exists()) {
+                try {
+                    Map<String, Object> onDisk = readCharacterData(characterFile);
+                    if (onDisk != null && savedAt(onDisk) >= journaledAt) continue;
+                } catch (Exception e) {
+                    // Unreadable file - the journal copy is the better one
                 }
+            }
+
+            try {
+                writeCharacterData(entry.getKey(), entry.getValue());
+                replayed++;
             } catch (IOException e) {
-                LOGGER.severe("Failed to load character file " + file.getName() + ": " + e.getMessage());
+                LOGGER.severe("Failed to replay journaled character " + entry.getKey() + ": " + e.getMessage());
+                return; // Keep the journal for the next start
+            }
+        }
+
+        try {
+            journal.truncate();
+        } catch (IOException e) {
+            LOGGER.warning("Failed to truncate character journal after replay: " + e.getMessage());
+        }
+        LOGGER.info("Recovered " + replayed + " character(s) from the journal");
+    }
+
+    private static long savedAt(Map<String, Object> data) {
+        return data.get("savedAt") instanceof Number savedAt ? savedAt.longValue() : 0L;
+    }
+
+    /**
+     * Reads one character file. Returns null (and logs) if it is empty or unreadable.
+     */
+    private static CharacterSheet loadCharacterFile(File file) {
+        try {
+            Map<String, Object> data = readCharacterData(file);
+            if (data == null) {
+                LOGGER.severe("Character file " + file.getName() + " is empty, skipping it");
+                return null;
             }
+            return deserializeCharacterSheet(data);
+        } catch (IOException e) {
+            LOGGER.severe("Failed to load character file " + file.getName() + ": " + e.getMessage());
+            return null;
         }
     }
 
-    public static void saveAllCharacters() {
-        for (Map.Entry<UUID, Map<UUID, CharacterSheet>> playerEntry : playerCharacters.entrySet()) {
-            for (CharacterSheet sheet : playerEntry.getValue().values()) {
-                saveCharacter(sheet);
+    // ==================== Lazy Loading ====================
+
+    /**
+     * Loads a player's characters from disk if they aren't in memory yet. Safe to call from
+     * AsyncPlayerPreLoginEvent, which is where players' sheets are normally loaded.
+     *
+     * @return The player's characters, keyed by character ID
+     */
+    public static Map<UUID, CharacterSheet> ensureLoaded(UUID playerId) {
+        lastAccess.put(playerId, System.currentTimeMillis());
+        return playerCharacters.computeIfAbsent(playerId, id -> {
+            Map<UUID, CharacterSheet> characters = new ConcurrentHashMap<>();
+            for (UUID characterId : index.charactersOf(id)) {
+                CharacterSheet sheet = loadCharacterFile(findCharacterFile(characterId));
+                if (sheet != null) {
+                    characters.put(sheet.getCharacterId(), sheet);
+                }
             }
+            if (!characters.isEmpty()) {
+                LOGGER.info("Loaded " + characters.size() + " character(s) for player " + id);
+            }
+            return characters;
+        });
+    }
+
+    /**
+     * Restarts a player's idle timer, e.g. when they log out, so eviction counts from then.
+     */
+    public static void touch(UUID playerId) {
+        lastAccess.put(playerId, System.currentTimeMillis());
+    }
+
+    /**
+     * Unloads sheets of offline players that haven't been used for the configured idle time.
+     * Sheets with unsaved changes are kept until they're flushed. Main thread only.
+     */
+    private static void evictIdlePlayers() {
+        long cutoff = System.currentTimeMillis() - idleEvictionMillis;
+        int evicted = 0;
+
+        for (Map.Entry<UUID, Map<UUID, CharacterSheet>> entry : playerCharacters.entrySet()) {
+            UUID playerId = entry.getKey();
+            if (Bukkit.getPlayer(playerId) != null) continue;
+            if (lastAccess.getOrDefault(playerId, 0L) > cutoff) continue;
+            if (entry.getValue().keySet().stream().anyMatch(saveQueue::isDirty)) continue;
+
+            playerCharacters.remove(playerId, entry.getValue());
+            lastAccess.remove(playerId);
+            evicted++;
         }
+
+        if (evicted > 0) {
+            LOGGER.info("Evicted characters of " + evicted + " idle offline player(s), " + playerCharacters.size() + " still loaded");
+        }
+    }
+
+    /**
+     * Queues every dirty sheet for writing right away instead of waiting for the next flush.
+     * Unchanged sheets are not rewritten. Main thread only.
+     */
+    public static void saveAllCharacters() {
+        if (saveQueue != null) saveQueue.flush();
     }
 
     public static void storeCharacterInMemory(CharacterSheet sheet) {
-        playerCharacters.computeIfAbsent(sheet.getPlayerId(), k -> new ConcurrentHashMap<>()).put(sheet.getCharacterId(), sheet);
+        ensureLoaded(sheet.getPlayerId()).put(sheet.getCharacterId(), sheet);
+        index.put(sheet.getCharacterId(), sheet.getPlayerId(), sheet.getCharacterName());
     }
 
     public static CharacterSheet getCharacter(UUID playerId, UUID characterId) {
+        return ensureLoaded(playerId).get(characterId);
+    }
+
+    /**
+     * Returns a character only if it is already in memory, without touching the disk.
+     */
+    static CharacterSheet peekCharacter(UUID playerId, UUID characterId) {
         Map<UUID, CharacterSheet> characters = playerCharacters.get(playerId);
         return characters != null ? characters.get(characterId) : null;
     }
 
     public static List<CharacterSheet> getPlayerCharacters(UUID playerId) {
-        Map<UUID, CharacterSheet> characters = playerCharacters.get(playerId);
-        return characters != null ? new ArrayList<>(characters.values()) : new ArrayList<>();
+        return new ArrayList<>(ensureLoaded(playerId).values());
     }
 
     /**
-     * Find a character by name (case-insensitive search across all players).
-     * Returns the first match found.
+     * Find a character by name (case-insensitive, across all players, loaded or not).
+     * Returns the first match found; the owner's characters are loaded on demand.
      */
     public static CharacterSheet findCharacterByName(String characterName) {
-        for (Map<UUID, CharacterSheet> playerChars : playerCharacters.values()) {
-            for (CharacterSheet sheet : playerChars.values()) {
-                if (sheet.getCharacterName().equalsIgnoreCase(characterName)) {
-                    return sheet;
-                }
+        for (UUID characterId : index.findByName(characterName)) {
+            CharacterIndex.Entry entry = index.get(characterId);
+            if (entry == null) continue;
+            CharacterSheet sheet = getCharacter(entry.playerId(), characterId);
+            if (sheet != null) {
+                return sheet;
             }
         }
         return null;
     }
 
     /**
-     * Get all character names for tab completion.
+     * Get all character names (including characters not loaded right now).
      */
     public static List<String> getAllCharacterNames() {
         List<String> names = new ArrayList<>();
-        for (Map<UUID, CharacterSheet> playerChars : playerCharacters.values()) {
-            for (CharacterSheet sheet : playerChars.values()) {
-                names.add(sheet.getCharacterName());
+        for (CharacterIndex.Entry entry : index.entries()) {
+            if (entry.name() != null) {
+                names.add(entry.name());
             }
         }
         return names;
     }
 
+    /**
+     * Character names starting with {@code prefix} (case-insensitive) for tab completion,
+     * looked up in the name trie instead of scanning every character.
+     */
+    public static List<String> completeCharacterNames(String prefix) {
+        return index.completeName(prefix, MAX_NAME_COMPLETIONS);
+    }
+
     public static void removePlayerCharacters(UUID playerId) {
         // Remove from memory
         Map<UUID, CharacterSheet> characters = playerCharacters.remove(playerId);
 
-        // Remove files from disk
+        // Remove files from disk (including characters that were never loaded)
+        Set<UUID> characterIds = new HashSet<>(index.charactersOf(playerId));
         if (characters != null) {
-            for (UUID characterId : characters.keySet()) {
-                File characterFile = new File(dataFolder, characterId.toString() + ".yml");
-                if (characterFile.exists()) {
-                    characterFile.delete();
-                }
-            }
+            characterIds.addAll(characters.keySet());
+        }
+        for (UUID characterId : characterIds) {
+            RollStream.forgetCharacter(characterId);
+            forgetCharacter(characterId);
         }
     }
 
     public static void removeCharacter(UUID playerId, UUID characterId) {
-        // Remove from memory
+        // Remove from memory (an empty map still marks the player as loaded)
         Map<UUID, CharacterSheet> characters = playerCharacters.get(playerId);
         if (characters != null) {
             characters.remove(characterId);
-            if (characters.isEmpty()) {
-                playerCharacters.remove(playerId);
-            }
         }
 
-        // Remove file from disk
-        File characterFile = new File(dataFolder, characterId.toString() + ".yml");
-        if (characterFile.exists()) {
-            characterFile.delete();
+        RollStream.forgetCharacter(characterId);
+        forgetCharacter(characterId);
+    }
+
+    /**
+     * Removes a character from disk and the index, through the save queue so an in-flight write
+     * can't re-create its file afterwards.
+     */
+    private static void forgetCharacter(UUID characterId) {
+        if (saveQueue != null) {
+            saveQueue.forget(characterId);
+        } else {
+            deleteCharacter(characterId);
         }
     }
 
@@ -182,7 +424,7 @@ public class CharacterPersistenceLoader {
         return issues;
     }
 
-    private static Map<String, Object> serializeCharacterSheet(CharacterSheet sheet) {
+    static Map<String, Object> serializeCharacterSheet(CharacterSheet sheet) {
         Map<String, Object> data = new HashMap<>();
 
         data.put("characterId", sheet.getCharacterId().toString());
@@ -196,6 +438,7 @@ public class CharacterPersistenceLoader {
         data.put("currentHealth", sheet.getCurrentHealth());
         data.put("maxHealth", sheet.getMaxHealth());
         data.put("armorClass", sheet.getArmorClass());
+        data.put("savedAt", System.currentTimeMillis()); // Lets journal replay skip stale records
 
         // Serialize abilities
         Map<String, Integer> abilities = new HashMap<>();
@@ -0,0 +1,366 @@
+package io.papermc.jkvttplugin.data.loader;
+
+import io.papermc.jkvttplugin.character.CharacterSheet;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind saving for character sheets.
+ *
+ * Mutations only mark a sheet dirty (repeated changes coalesce into one pending save). Every
+ * {@link #FLUSH_INTERVAL_TICKS} the main thread serializes the dirty sheets into plain maps -
+ * sheets are only ever touched on the main thread - and hands them to a bounded queue. A
+ * single background thread takes them in batches and:
+ * <ol>
+ *     <li>appends the batch to the {@link PersistenceJournal} with a single fsync, which is
+ *     what makes the change durable, then</li>
+ *     <li>every {@link #CHECKPOINT_INTERVAL_MILLIS} writes the latest state of each journaled
+ *     sheet to its own file (atomically) and truncates the journal.</li>
+ * </ol>
+ * After a crash, {@link CharacterPersistenceLoader} replays whatever is left in the journal.
+ *
+ * If the writer falls behind and the queue is full, sheets simply stay dirty until the next
+ * flush (back-pressure instead of unbounded memory). {@link #shutdown()} drains everything
+ * synchronously so nothing is lost on a clean stop.
+ */
+class CharacterSaveQueue {
+    private static final Logger LOGGER = Logger.getLogger("CharacterSaveQueue");
+    private static final long FLUSH_INTERVAL_TICKS = 20; // 1 second - journal appends are cheap
+    private static final long CHECKPOINT_INTERVAL_MILLIS = 30_000;
+    private static final int CHECKPOINT_MAX_PENDING = 64;
+    private static final int QUEUE_CAPACITY = 256;
+    private static final int BATCH_SIZE = 32;
+    private static final int CHARACTER_LOCK_STRIPES = 64;
+
+    /**
+     * A serialized sheet waiting to be written.
+     */
+    record PendingWrite(UUID playerId, UUID characterId, String characterName, Map<String, Object> data) {}
+
+    static final String TOMBSTONE_KEY = "deleted";
+
+    // The writer's stop signal, recognized by identity (never by its contents)
+    private static final PendingWrite STOP = new PendingWrite(null, null, null, Map.of());
+
+    private final Map<UUID, CharacterSheet> dirty = new ConcurrentHashMap<>();
+    private final Set<UUID> deleted = ConcurrentHashMap.newKeySet();
+    private final BlockingQueue<PendingWrite> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Writer writer;
+    private final Consumer<UUID> remover;
+    private final PersistenceJournal journal;
+    private final Runnable afterCheckpoint;
+    private Thread writerThread;
+    private BukkitTask flushTask;
+    private boolean backPressureLogged = false;
+
+    // Writer thread only: journaled sheets not yet written to their files, latest state per character
+    private final Map<UUID, PendingWrite> uncheckpointed = new LinkedHashMap<>();
+    private long lastCheckpoint = System.currentTimeMillis();
+    // Set by the writer when it stops on STOP with every journaled sheet in its file
+    private volatile boolean checkpointedOnStop = false;
+
+    // Striped per-character locks: a sheet's file write and its deletion never overlap
+    private final Object[] characterLocks = new Object[CHARACTER_LOCK_STRIPES];
+
+    /**
+     * Writes one serialized sheet to its file. Called from the writer thread, and from the main
+     * thread during shutdown.
+     */
+    @FunctionalInterface
+    interface Writer {
+        void write(PendingWrite pending) throws Exception;
+    }
+
+    /**
+     * @param writer          Writes one sheet to its file
+     * @param remover         Deletes a character's files and index entry
+     * @param journal         Journal batches are appended to before their files are written
+     * @param afterCheckpoint Runs on the writer thread after sheets were written (e.g. to save the character index)
+     */
+    CharacterSaveQueue(Writer writer, Consumer<UUID> remover, PersistenceJournal journal, Runnable afterCheckpoint) {
+        this.writer = writer;
+        this.remover = remover;
+        this.journal = journal;
+        this.afterCheckpoint = afterCheckpoint;
+        for (int i = 0; i < characterLocks.length; i++) {
+            characterLocks[i] = new Object();
+        }
+    }
+
+    void start(Plugin plugin) {
+        writerThread = new Thread(this::writeLoop, "JkVtt-CharacterWriter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+    }
+
+    void markDirty(CharacterSheet sheet) {
+        dirty.put(sheet.getCharacterId(), sheet);
+    }
+
+    boolean isDirty(UUID characterId) {
+        return dirty.containsKey(characterId);
+    }
+
+    /**
+     * Deletes a character: drops its pending changes, journals a tombstone so a crash doesn't
+     * replay its older records, and removes its files and index entry.
+     *
+     * Runs under the character's lock, so a write the writer thread already started finishes
+     * before the files are deleted, and every later write sees it as deleted and is skipped. The
+     * journal's lock is held until the files are gone, so a checkpoint can't truncate the
+     * tombstone away while the files still exist.
+     */
+    void forget(UUID characterId) {
+        dirty.remove(characterId);
+        synchronized (lockFor(characterId)) {
+            // Under the journal's lock so no batch holding this character is appended after the tombstone
+            synchronized (journal) {
+                deleted.add(characterId);
+                try {
+                    journal.append(List.of(new Yaml().dump(tombstone(characterId))));
+                } catch (IOException e) {
+                    LOGGER.warning("Failed to journal deletion of character " + characterId + ": " + e.getMessage());
+                }
+                remover.accept(characterId);
+            }
+        }
+    }
+
+    private Object lockFor(UUID characterId) {
+        return characterLocks[Math.floorMod(characterId.hashCode(), characterLocks.length)];
+    }
+
+    /**
+     * Journal record marking a character as deleted; replay drops its earlier records.
+     */
+    static Map<String, Object> tombstone(UUID characterId) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("characterId", characterId.toString());
+        data.put(TOMBSTONE_KEY, true);
+        return data;
+    }
+
+    // ==================== Main Thread ====================
+
+    /**
+     * Serializes dirty sheets and queues them for the writer. Main thread only.
+     */
+    void flush() {
+        Iterator<Map.Entry<UUID, CharacterSheet>> it = dirty.entrySet().iterator();
+        while (it.hasNext()) {
+            CharacterSheet sheet = it.next().getValue();
+            PendingWrite pending = snapshot(sheet);
+
+            if (!queue.offer(pending)) {
+                // Writer is behind; leave the rest dirty and try again next flush
+                if (!backPressureLogged) {
+                    LOGGER.warning("Character save queue is full (" + QUEUE_CAPACITY + "), delaying "
+                            + dirty.size() + " dirty sheets");
+                    backPressureLogged = true;
+                }
+                return;
+            }
+            it.remove();
+        }
+        backPressureLogged = false;
+    }
+
+    /**
+     * Stops the writer and synchronously writes everything that is queued or dirty.
+     * Main thread only (called from onDisable).
+     */
+    void shutdown() {
+        if (flushTask != null) flushTask.cancel();
+
+        boolean writerStopped = true;
+        if (writerThread != null) {
+            try {
+                // A dead writer never drains the queue, so don't wait on a full one
+                if (writerThread.isAlive() && queue.offer(STOP, 5, TimeUnit.SECONDS)) {
+                    writerThread.join(TimeUnit.SECONDS.toMillis(10));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (writerThread.isAlive()) {
+                LOGGER.warning("Character writer did not stop in time, finishing its queue on the main thread");
+                writerThread.interrupt();
+                writerStopped = false;
+            } else if (!checkpointedOnStop) {
+                LOGGER.warning("Character writer stopped without checkpointing, keeping the journal for replay");
+                writerStopped = false;
+            }
+        }
+
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (CharacterSheet sheet : dirty.values()) {
+            remaining.add(snapshot(sheet));
+        }
+        dirty.clear();
+
+        int written = 0;
+        boolean allWritten = true;
+        for (PendingWrite pending : remaining) {
+            if (pending == STOP) continue;
+            if (writeQuietly(pending)) {
+                written++;
+            } else {
+                allWritten = false;
+            }
+        }
+
+        // If the writer was cut off, its journal may hold sheets that never reached their files
+        if (writerStopped && allWritten) {
+            truncateJournal();
+        }
+        journal.close();
+        afterCheckpoint.run();
+        LOGGER.info("Flushed " + written + " character sheets on shutdown");
+    }
+
+    private PendingWrite snapshot(CharacterSheet sheet) {
+        return new PendingWrite(sheet.getPlayerId(), sheet.getCharacterId(), sheet.getCharacterName(),
+                CharacterPersistenceLoader.serializeCharacterSheet(sheet));
+    }
+
+    // ==================== Writer Thread ====================
+
+    private void writeLoop() {
+        List<PendingWrite> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            PendingWrite first;
+            try {
+                first = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            boolean stopping = false;
+            try {
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    stopping = batch.remove(STOP);
+                    journalBatch(batch);
+                }
+
+                boolean due = System.currentTimeMillis() - lastCheckpoint >= CHECKPOINT_INTERVAL_MILLIS
+                        || uncheckpointed.size() >= CHECKPOINT_MAX_PENDING;
+                if (stopping || (due && !uncheckpointed.isEmpty())) {
+                    checkpoint();
+                }
+            } catch (RuntimeException e) {
+                // Keep the writer alive; the batch's sheets are re-dirtied and retried on the next flush
+                LOGGER.severe("Character writer failed on a batch of " + batch.size() + " sheets: " + e);
+                redirty(batch);
+            } finally {
+                batch.clear();
+            }
+            if (stopping) {
+                checkpointedOnStop = uncheckpointed.isEmpty();
+                return;
+            }
+        }
+    }
+
+    private void journalBatch(List<PendingWrite> batch) {
+        if (batch.isEmpty()) return;
+
+        Yaml yaml = new Yaml();
+        boolean appended;
+        synchronized (journal) {
+            // Deleted since being queued: must not land after its tombstone
+            batch.removeIf(pending -> deleted.contains(pending.characterId()));
+            if (batch.isEmpty()) return;
+
+            List<String> records = new ArrayList<>(batch.size());
+            for (PendingWrite pending : batch) {
+                records.add(yaml.dump(pending.data()));
+            }
+
+            for (PendingWrite pending : batch) {
+                uncheckpointed.put(pending.characterId(), pending);
+            }
+
+            try {
+                journal.append(records);
+                appended = true;
+            } catch (IOException e) {
+                // Without the journal these changes are only durable once written to their files
+                LOGGER.severe("Failed to append to character journal, writing files directly: " + e.getMessage());
+                appended = false;
+            }
+        }
+        if (!appended) checkpoint();
+    }
+
+    /**
+     * Writes every journaled sheet to its file, then empties the journal if all writes succeeded.
+     */
+    private void checkpoint() {
+        Iterator<PendingWrite> it = uncheckpointed.values().iterator();
+        while (it.hasNext()) {
+            PendingWrite pending = it.next();
+            if (writeQuietly(pending)) {
+                it.remove();
+            } else {
+                // Re-dirty so the next flush retries with the sheet's latest state
+                redirty(List.of(pending));
+            }
+        }
+        lastCheckpoint = System.currentTimeMillis();
+
+        if (uncheckpointed.isEmpty()) {
+            truncateJournal();
+        }
+        afterCheckpoint.run();
+    }
+
+    private void redirty(List<PendingWrite> pendings) {
+        for (PendingWrite pending : pendings) {
+            if (pending == STOP || deleted.contains(pending.characterId())) continue;
+            CharacterSheet sheet = CharacterPersistenceLoader.peekCharacter(pending.playerId(), pending.characterId());
+            if (sheet != null) dirty.putIfAbsent(pending.characterId(), sheet);
+        }
+    }
+
+    private void truncateJournal() {
+        try {
+            // Not while forget() is between journaling a tombstone and deleting the files
+            synchronized (journal) {
+                journal.truncate();
+            }
+        } catch (IOException e) {
+            LOGGER.warning("Failed to truncate character journal: " + e.getMessage());
+        }
+    }
+
+    private boolean writeQuietly(PendingWrite pending) {
+        UUID characterId = pending.characterId();
+        synchronized (lockFor(characterId)) {
+            if (deleted.contains(characterId)) return true;
+            try {
+                writer.write(pending);
+            } catch (Exception e) {
+                LOGGER.severe("Failed to save character " + pending.characterName() + ": " + e.getMessage());
+                return false;
+            }
+            // Deleted while the file was being written: don't leave the file or index entry behind
+            if (deleted.contains(characterId)) remover.accept(characterId);
+            return true;
+        }
+    }
+}
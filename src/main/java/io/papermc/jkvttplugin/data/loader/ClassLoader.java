@@ -1,42 +1,35 @@
 package io.papermc.jkvttplugin.data.loader;
 
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentType;
 import io.papermc.jkvttplugin.data.loader.util.LoaderUtils;
 import io.papermc.jkvttplugin.data.model.DndClass;
 import io.papermc.jkvttplugin.data.model.SpellcastingInfo;
 import io.papermc.jkvttplugin.data.model.SpellsPreparedFormula;
 import io.papermc.jkvttplugin.data.model.enums.Ability;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileReader;
 import java.util.*;
 import java.util.logging.Logger;
 
 import static io.papermc.jkvttplugin.util.Util.normalize;
 
 public class ClassLoader {
-    private static final Map<String, DndClass> loadedClasses = new HashMap<>();
     private static final Logger LOGGER = Logger.getLogger("ClassLoader");
 
-    public static void loadAllClasses(File folder) {
-        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files == null || files.length == 0) {
-            LOGGER.warning("No class files found in " + folder.getPath());
-            return;
-        }
-
-        Yaml yaml = new Yaml();
+    /**
+     * Parses a single class YAML file (one class per file).
+     *
+     * @param file The YAML file being parsed (used for log messages)
+     * @param data The file's YAML tree, or null for an empty file
+     * @return The class keyed by its ID, or an empty map for an empty file
+     */
+    public static Map<String, DndClass> parseFile(File file, Map<String, Object> data) {
+        if (data == null) return Map.of();
 
-        for (File file : files) {
-            try (FileReader reader = new FileReader(file)) {
-                Map<String, Object> data = yaml.load(reader);
-                DndClass dndClass = parseClass(data);
-                loadedClasses.put(dndClass.getId(), dndClass);
-                LOGGER.info("Loaded class: " + dndClass.getName());
-            } catch (Exception e) {
-                System.err.println("Failed to load class from " + file.getName() + ": " + e.getMessage());
-            }
-        }
+        DndClass dndClass = parseClass(data);
+        LOGGER.info("Loaded class: " + dndClass.getName());
+        return Map.of(dndClass.getId(), dndClass);
     }
 
     private static DndClass parseClass(Map<String, Object> data) {
@@ -73,19 +66,11 @@ public class ClassLoader {
     }
 
     public static DndClass getClass(String name) {
-        return loadedClasses.get(name);
+        return loadedClasses().get(name);
     }
 
     public static Collection<DndClass> getAllClasses() {
-        return Collections.unmodifiableCollection(loadedClasses.values());
-    }
-
-    /**
-     * Clears all loaded classes. Called before reloading data.
-     */
-    public static void clear() {
-        loadedClasses.clear();
-        LOGGER.info("Cleared all loaded classes");
+        return Collections.unmodifiableCollection(loadedClasses().values());
     }
 
     private static SpellcastingInfo parseSpellcasting(Object spellcastingData) {
@@ -179,4 +164,11 @@ public class ClassLoader {
 
         return formula;
     }
+
+    /**
+     * Classes in the current content snapshot (see ContentRegistry).
+     */
+    private static Map<String, DndClass> loadedClasses() {
+        return ContentRegistry.current().get(ContentType.CLASSES);
+    }
 }
@@ -0,0 +1,266 @@
+package io.papermc.jkvttplugin.data.loader;
+
+import io.papermc.jkvttplugin.data.model.DndEntityInstance;
+import io.papermc.jkvttplugin.util.AtomicFileWriter;
+import org.bukkit.Bukkit;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Entity;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Persistence for spawned entity instances (HP, death state, name).
+ *
+ * Each spawned armor stand carries its instance UUID in its persistent data container, and the
+ * world saves the stand with its chunk. The instance's own state lives in
+ * DMContent/Saved/Entities/{uuid}.yml, so an instance only has to be in memory while its stand
+ * is loaded: EntityInstanceListener rehydrates instances when their stands load and evicts them
+ * when they unload. A prepared dungeon costs nothing until someone walks into it.
+ *
+ * Writes are write-behind. Changes only mark an instance dirty; every {@link #FLUSH_INTERVAL_TICKS}
+ * the main thread snapshots the dirty instances and hands the batch to a single writer thread.
+ * Loads run on that same thread, so a load always sees the writes queued before it (e.g. an
+ * instance evicted and reloaded a moment later).
+ *
+ * Shop stock is saved separately by ShopPersistenceLoader.
+ */
+public class EntityInstanceStore {
+    private static final Logger LOGGER = Logger.getLogger("EntityInstanceStore");
+    private static final long FLUSH_INTERVAL_TICKS = 100; // 5 seconds
+    private static final NamespacedKey INSTANCE_KEY = new NamespacedKey("jkvtt", "entity_instance");
+
+    /**
+     * An instance's saved state, as read back from disk.
+     */
+    public record SavedInstance(UUID instanceId, String templateId, String displayName,
+                                int currentHp, int maxHp, boolean dead) {}
+
+    private record PendingWrite(UUID instanceId, Map<String, Object> data) {}
+
+    // Main thread only: instances changed since the last flush
+    private static final Map<UUID, DndEntityInstance> dirty = new LinkedHashMap<>();
+
+    private static Plugin plugin;
+    private static File entitiesFolder;
+    private static ExecutorService writer;
+    private static BukkitTask flushTask;
+
+    public static void initialize(Plugin pluginInstance) {
+        plugin = pluginInstance;
+        File dmContentFolder = new File(plugin.getDataFolder().getParentFile().getParentFile(), "DMContent");
+        entitiesFolder = new File(new File(dmContentFolder, "Saved"), "Entities");
+
+        if (!entitiesFolder.exists()) {
+            if (entitiesFolder.mkdirs()) {
+                LOGGER.info("Created entity persistence folder: " + entitiesFolder.getPath());
+            } else {
+                LOGGER.severe("Failed to create entity persistence folder!");
+            }
+        }
+
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JkVtt-EntityWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flushTask = Bukkit.getScheduler().runTaskTimer(plugin, EntityInstanceStore::flush, FLUSH_INTERVAL_TICKS, FLUSH_INTERVAL_TICKS);
+    }
+
+    /**
+     * Writes out every dirty instance and waits for the writer to finish.
+     * Main thread only (called from onDisable).
+     */
+    public static void shutdown() {
+        if (writer == null) return;
+        if (flushTask != null) flushTask.cancel();
+
+        int count = dirty.size();
+        flush();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warning("Entity writer did not finish in time; some instance changes may be lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        LOGGER.info("Flushed " + count + " entity instances on shutdown");
+    }
+
+    // ==================== Armor Stand Tags ====================
+
+    /**
+     * Marks an armor stand as the body of an instance, so it can be matched up after a restart.
+     */
+    public static void tag(Entity armorStand, UUID instanceId) {
+        armorStand.getPersistentDataContainer().set(INSTANCE_KEY, PersistentDataType.STRING, instanceId.toString());
+    }
+
+    /**
+     * @return The instance UUID stored on an entity, or null if it isn't a spawned instance's stand
+     */
+    public static UUID readTag(Entity entity) {
+        String stored = entity.getPersistentDataContainer().get(INSTANCE_KEY, PersistentDataType.STRING);
+        if (stored == null) return null;
+        try {
+            return UUID.fromString(stored);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // ==================== Saving ====================
+
+    /**
+     * Flags an instance as changed; it is written with the next batch. See {@link DndEntityInstance#markDirty()}.
+     */
+    public static void markDirty(DndEntityInstance instance) {
+        if (writer != null) dirty.put(instance.getInstanceId(), instance);
+    }
+
+    /**
+     * Queues an instance that is leaving memory (its stand unloaded) for writing right away
+     * if it has unsaved changes.
+     */
+    public static void release(DndEntityInstance instance) {
+        if (dirty.remove(instance.getInstanceId()) != null) {
+            submitWrites(List.of(snapshot(instance)));
+        }
+    }
+
+    /**
+     * Deletes a permanently removed instance's saved state.
+     */
+    public static void forget(UUID instanceId) {
+        dirty.remove(instanceId);
+        submit(() -> {
+            try {
+                Files.deleteIfExists(instanceFile(instanceId).toPath());
+            } catch (IOException e) {
+                LOGGER.warning("Failed to delete saved entity " + instanceId + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Snapshots dirty instances on the main thread and queues them as one batch.
+     */
+    private static void flush() {
+        if (dirty.isEmpty()) return;
+        List<PendingWrite> batch = new ArrayList<>(dirty.size());
+        for (DndEntityInstance instance : dirty.values()) {
+            batch.add(snapshot(instance));
+        }
+        dirty.clear();
+        submitWrites(batch);
+    }
+
+    private static void submitWrites(List<PendingWrite> batch) {
+        submit(() -> {
+            DumperOptions options = new DumperOptions();
+            options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+            options.setPrettyFlow(true);
+            Yaml yaml = new Yaml(options);
+
+            List<UUID> failed = new ArrayList<>();
+            for (PendingWrite pending : batch) {
+                try {
+                    AtomicFileWriter.writeYaml(instanceFile(pending.instanceId()), yaml, pending.data());
+                } catch (IOException e) {
+                    LOGGER.severe("Failed to save entity " + pending.instanceId() + ": " + e.getMessage());
+                    failed.add(pending.instanceId());
+                }
+            }
+            if (!failed.isEmpty() && plugin.isEnabled()) {
+                // Re-dirty whatever is still loaded so the next flush retries with its latest state
+                Bukkit.getScheduler().runTask(plugin, () -> failed.forEach(id -> {
+                    DndEntityInstance instance = DndEntityInstance.getByUUID(id);
+                    if (instance != null) markDirty(instance);
+                }));
+            }
+        });
+    }
+
+    private static PendingWrite snapshot(DndEntityInstance instance) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("template", instance.getTemplate().getId());
+        data.put("name", instance.getDisplayName());
+        data.put("current_hp", instance.getCurrentHp());
+        data.put("max_hp", instance.getMaxHp());
+        data.put("dead", instance.isDead());
+        return new PendingWrite(instance.getInstanceId(), data);
+    }
+
+    // ==================== Loading ====================
+
+    /**
+     * Reads saved instances on the writer thread, then hands them to {@code callback} on the main
+     * thread. Instances with no (readable) saved state are left out.
+     */
+    public static void loadAsync(Collection<UUID> instanceIds, Consumer<Map<UUID, SavedInstance>> callback) {
+        List<UUID> ids = new ArrayList<>(instanceIds);
+        submit(() -> {
+            Map<UUID, SavedInstance> loaded = new HashMap<>();
+            for (UUID id : ids) {
+                SavedInstance saved = read(id);
+                if (saved != null) loaded.put(id, saved);
+            }
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> callback.accept(loaded));
+            }
+        });
+    }
+
+    private static SavedInstance read(UUID instanceId) {
+        File file = instanceFile(instanceId);
+        if (!file.exists()) {
+            LOGGER.warning("No saved state for entity " + instanceId + "; leaving its armor stand inactive");
+            return null;
+        }
+
+        try (FileReader reader = new FileReader(file)) {
+            Map<String, Object> data = new Yaml().load(reader);
+            if (data == null || !(data.get("template") instanceof String templateId)) {
+                LOGGER.warning("Saved entity " + instanceId + " has no template");
+                return null;
+            }
+            int maxHp = data.get("max_hp") instanceof Number n ? n.intValue() : 1;
+            int currentHp = data.get("current_hp") instanceof Number n ? n.intValue() : maxHp;
+            String name = data.get("name") instanceof String s ? s : templateId;
+            boolean dead = Boolean.TRUE.equals(data.get("dead"));
+            return new SavedInstance(instanceId, templateId, name, currentHp, maxHp, dead);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.severe("Failed to load entity " + instanceId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static File instanceFile(UUID instanceId) {
+        return new File(entitiesFolder, instanceId + ".yml");
+    }
+
+    private static void submit(Runnable task) {
+        if (writer == null) return;
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning("Entity writer is shut down; dropping a queued save");
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package io.papermc.jkvttplugin.data.loader;
 
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentType;
 import io.papermc.jkvttplugin.data.loader.util.LoaderUtils;
 import io.papermc.jkvttplugin.data.model.*;
 import io.papermc.jkvttplugin.data.model.enums.Ability;
 import io.papermc.jkvttplugin.util.Util;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileReader;
 import java.util.*;
 import java.util.logging.Logger;
 
@@ -21,107 +21,55 @@ import java.util.logging.Logger;
  * - Parses abilities from string keys to Ability enum
  */
 public class EntityLoader {
-    private static final Map<String, DndEntity> loadedEntities = new HashMap<>();
     private static final Logger LOGGER = Logger.getLogger("EntityLoader");
 
     /**
-     * Recursively loads all entities from the given folder and subfolders.
+     * Parses entities from a single YAML file.
+     * Handles both formats:
+     * 1. Single entity (root level has entity fields)
+     * 2. Multiple entities (root level is a map of entity_id -> entity_data)
      *
-     * @param folder The root folder (typically DMContent/Entities/)
-     */
-    public static void loadAllEntities(File folder) {
-        if (!folder.exists() || !folder.isDirectory()) {
-            LOGGER.warning("Entity folder does not exist: " + folder.getPath());
-            return;
-        }
-
-        LOGGER.info("Loading entities from: " + folder.getPath());
-        int entityCount = recursiveLoad(folder);
-        LOGGER.info("Loaded " + entityCount + " entities from " + folder.getPath());
-    }
-
-    /**
-     * Recursively scans directories and loads YAML files.
-     * This allows DMs to organize entities however they want:
+     * Directory scanning is done by the content pipeline (ContentType.ENTITIES is recursive),
+     * so DMs can still organize entities however they want:
      * - DMContent/Entities/town/guards.yml
      * - DMContent/Entities/wilderness/beasts/wolves.yml
-     * - DMContent/Entities/my_campaign/chapter1/boss.yml
      *
-     * @param folder Current folder being scanned
-     * @return Number of entities loaded from this folder and subfolders
+     * @param file The YAML file being parsed (used for log messages)
+     * @param data The file's YAML tree, or null for an empty file
+     * @return Entities keyed by normalized ID, in file order
      */
-    private static int recursiveLoad(File folder) {
-        int count = 0;
-        File[] files = folder.listFiles();
+    public static Map<String, DndEntity> parseFile(File file, Map<String, Object> data) {
+        Map<String, DndEntity> parsed = new LinkedHashMap<>();
 
-        if (files == null) {
-            return 0;
+        if (data == null || data.isEmpty()) {
+            LOGGER.warning("Empty or invalid YAML file: " + file.getName());
+            return parsed;
         }
 
-        for (File file : files) {
-            if (file.isDirectory()) {
-                // Recursively scan subdirectories
-                count += recursiveLoad(file);
-            } else if (file.getName().endsWith(".yml")) {
-                // Load entities from YAML file
-                count += loadFromFile(file);
+        // Detect format: Does this look like a single entity or multiple entities?
+        if (isSingleEntityFile(data)) {
+            // Single entity file (has "id" field at root level)
+            DndEntity entity = parseEntity(data);
+            if (entity != null && entity.getId() != null) {
+                parsed.put(Util.normalize(entity.getId()), entity);
+                LOGGER.info("  Loaded entity: " + entity.getName() + " [" + entity.getId() + "]");
             }
-        }
-
-        return count;
-    }
-
-    /**
-     * Loads entities from a single YAML file.
-     * Handles both formats:
-     * 1. Single entity (root level has entity fields)
-     * 2. Multiple entities (root level is a map of entity_id -> entity_data)
-     *
-     * @param file The YAML file to load
-     * @return Number of entities loaded
-     */
-    private static int loadFromFile(File file) {
-        int count = 0;
-        Yaml yaml = new Yaml();
-
-        try (FileReader reader = new FileReader(file)) {
-            Map<String, Object> data = yaml.load(reader);
-
-            if (data == null || data.isEmpty()) {
-                LOGGER.warning("Empty or invalid YAML file: " + file.getName());
-                return 0;
-            }
-
-            // Detect format: Does this look like a single entity or multiple entities?
-            if (isSingleEntityFile(data)) {
-                // Single entity file (has "id" field at root level)
-                DndEntity entity = parseEntity(data);
-                if (entity != null && entity.getId() != null) {
-                    loadedEntities.put(Util.normalize(entity.getId()), entity);
-                    LOGGER.info("  Loaded entity: " + entity.getName() + " [" + entity.getId() + "]");
-                    count++;
-                }
-            } else {
-                // Multi-entity file (root level is map of id -> entity_data)
-                for (Map.Entry<String, Object> entry : data.entrySet()) {
-                    String entityId = entry.getKey();
-
-                    if (entry.getValue() instanceof Map<?, ?> entityData) {
-                        DndEntity entity = parseEntity(entityId, entityData);
-                        if (entity != null) {
-                            loadedEntities.put(Util.normalize(entityId), entity);
-                            LOGGER.info("  Loaded entity: " + entity.getName() + " [" + entity.getId() + "]");
-                            count++;
-                        }
+        } else {
+            // Multi-entity file (root level is map of id -> entity_data)
+            for (Map.Entry<String, Object> entry : data.entrySet()) {
+                String entityId = entry.getKey();
+
+                if (entry.getValue() instanceof Map<?, ?> entityData) {
+                    DndEntity entity = parseEntity(entityId, entityData);
+                    if (entity != null) {
+                        parsed.put(Util.normalize(entityId), entity);
+                        LOGGER.info("  Loaded entity: " + entity.getName() + " [" + entity.getId() + "]");
                     }
                 }
             }
-        } catch (Exception e) {
-            LOGGER.severe("Failed to load entities from " + file.getName() + ": " + e.getMessage());
-            e.printStackTrace();
         }
 
-        return count;
+        return parsed;
     }
 
     /**
@@ -281,30 +229,29 @@ public class EntityLoader {
      */
     public static DndEntity getEntity(String id) {
         if (id == null) return null;
-        return loadedEntities.get(Util.normalize(id));
+        return loadedEntities().get(Util.normalize(id));
     }
 
     /**
      * Get all loaded entities.
      */
     public static Collection<DndEntity> getAllEntities() {
-        return Collections.unmodifiableCollection(loadedEntities.values());
+        return Collections.unmodifiableCollection(loadedEntities().values());
     }
 
     /**
      * Get entities by creature type (humanoid, beast, dragon, etc.)
      */
     public static List<DndEntity> getEntitiesByType(String creatureType) {
-        return loadedEntities.values().stream()
+        return loadedEntities().values().stream()
                 .filter(entity -> creatureType.equalsIgnoreCase(entity.getCreatureType()))
                 .toList();
     }
 
     /**
-     * Clears all loaded entities. Called before reloading data.
+     * Entities in the current content snapshot (see ContentRegistry).
      */
-    public static void clear() {
-        loadedEntities.clear();
-        LOGGER.info("Cleared all loaded entities");
+    private static Map<String, DndEntity> loadedEntities() {
+        return ContentRegistry.current().get(ContentType.ENTITIES);
     }
-}
\ No newline at end of file
+}
@@ -1,49 +1,45 @@
 package io.papermc.jkvttplugin.data.loader;
 
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentType;
 import io.papermc.jkvttplugin.data.loader.util.LoaderUtils;
 import io.papermc.jkvttplugin.data.model.DndItem;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileReader;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.logging.Logger;
 
 import static io.papermc.jkvttplugin.util.Util.normalize;
 
 public class ItemLoader {
-    private static final Map<String, DndItem> loadedItems = new HashMap<>();
     private static final Logger LOGGER = Logger.getLogger("ItemLoader");
 
-    public static void loadAllItems(File folder) {
-        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files == null || files.length == 0) {
-            LOGGER.warning("No class files found in " + folder.getPath());
-            return;
-        }
-
-        Yaml yaml = new Yaml();
+    /**
+     * Parses a single item YAML file. Each file can contain multiple items keyed by ID.
+     *
+     * @param file The YAML file being parsed (used for log messages)
+     * @param data The file's YAML tree, or null for an empty file
+     * @return Items keyed by normalized ID, in file order
+     */
+    public static Map<String, DndItem> parseFile(File file, Map<String, Object> data) {
+        Map<String, DndItem> parsed = new LinkedHashMap<>();
 
-        for (File file : files) {
-            try (FileReader reader = new FileReader(file)) {
-                Map<String, Object> data = yaml.load(reader);
+        if (data == null) return parsed;
 
-                for (Map.Entry<String, Object> entry : data.entrySet()) {
-                    String itemId = entry.getKey();
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            String itemId = entry.getKey();
 
-                    if (entry.getValue() instanceof Map<?,?> itemData) {
-                        DndItem item = parseItem(itemId, itemData);
-                        loadedItems.put(normalize(itemId), item);
-                        LOGGER.info("Loaded item: " + item.getName());
-                    }
-                }
-            } catch (Exception e) {
-                LOGGER.severe("Failed to load items from " + file.getName());
+            if (entry.getValue() instanceof Map<?,?> itemData) {
+                DndItem item = parseItem(itemId, itemData);
+                parsed.put(normalize(itemId), item);
+                LOGGER.info("Loaded item: " + item.getName());
             }
         }
+
+        return parsed;
     }
 
     private static DndItem parseItem(String id, Map<?, ?> data) {
@@ -59,7 +55,7 @@ public class ItemLoader {
     }
 
     public static DndItem getItem(String id) {
-        return loadedItems.get(normalize(id));
+        return loadedItems().get(normalize(id));
     }
 
     /**
@@ -68,14 +64,13 @@ public class ItemLoader {
      * @return Unmodifiable collection of all items
      */
     public static Collection<DndItem> getAllItems() {
-        return Collections.unmodifiableCollection(loadedItems.values());
+        return Collections.unmodifiableCollection(loadedItems().values());
     }
 
     /**
-     * Clears all loaded items. Called before reloading data.
+     * Items in the current content snapshot (see ContentRegistry).
      */
-    public static void clear() {
-        loadedItems.clear();
-        LOGGER.info("Cleared all loaded items");
+    private static Map<String, DndItem> loadedItems() {
+        return ContentRegistry.current().get(ContentType.ITEMS);
     }
 }
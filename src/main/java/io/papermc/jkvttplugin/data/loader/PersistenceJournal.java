@@ -0,0 +1,118 @@
+package io.papermc.jkvttplugin.data.loader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, fsynced log of serialized records.
+ *
+ * Appending a batch and fsyncing once is far cheaper than atomically rewriting one file per
+ * record, so saved data can be journaled every second and written to its real files much less
+ * often. After the real files are written the journal is truncated; after a crash, whatever is
+ * still in the journal is replayed.
+ *
+ * Each record is {@code [length][payload][crc32]}. A torn record at the tail (crash mid-append)
+ * fails its length or checksum and ends the replay; every record before it is intact.
+ */
+class PersistenceJournal {
+    private static final Logger LOGGER = Logger.getLogger("PersistenceJournal");
+
+    private final File file;
+    private FileOutputStream out;
+    private DataOutputStream data;
+
+    PersistenceJournal(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads every intact record, oldest first.
+     */
+    List<String> readAll() {
+        List<String> records = new ArrayList<>();
+        if (!file.isFile()) return records;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                if (length < 0 || length > in.available()) {
+                    LOGGER.warning("Journal " + file.getName() + " ends with a torn record, ignoring it");
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                long checksum;
+                try {
+                    checksum = in.readLong();
+                } catch (EOFException e) {
+                    LOGGER.warning("Journal " + file.getName() + " ends with a torn record, ignoring it");
+                    break;
+                }
+                if (checksum != crc(payload)) {
+                    LOGGER.warning("Journal " + file.getName() + " has a corrupt record, ignoring it and everything after");
+                    break;
+                }
+                records.add(new String(payload, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            LOGGER.severe("Failed to read journal " + file.getName() + ": " + e.getMessage());
+        }
+        return records;
+    }
+
+    /**
+     * Appends records and fsyncs once for the whole batch.
+     */
+    synchronized void append(List<String> records) throws IOException {
+        if (records.isEmpty()) return;
+        if (out == null) {
+            out = new FileOutputStream(file, true);
+            data = new DataOutputStream(new BufferedOutputStream(out));
+        }
+
+        for (String record : records) {
+            byte[] payload = record.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(payload.length);
+            data.write(payload);
+            data.writeLong(crc(payload));
+        }
+        data.flush();
+        out.getFD().sync();
+    }
+
+    /**
+     * Empties the journal once everything in it has reached its real file.
+     */
+    synchronized void truncate() throws IOException {
+        close();
+        Files.deleteIfExists(file.toPath());
+    }
+
+    synchronized void close() {
+        if (out == null) return;
+        try {
+            data.close();
+        } catch (IOException e) {
+            LOGGER.warning("Failed to close journal " + file.getName() + ": " + e.getMessage());
+        }
+        out = null;
+        data = null;
+    }
+
+    private static long crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+}
@@ -1,40 +1,33 @@
 package io.papermc.jkvttplugin.data.loader;
 
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentType;
 import io.papermc.jkvttplugin.data.loader.util.LoaderUtils;
 import io.papermc.jkvttplugin.data.model.DndRace;
 import io.papermc.jkvttplugin.data.model.enums.CreatureType;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileReader;
 import java.util.*;
 import java.util.logging.Logger;
 
 import static io.papermc.jkvttplugin.util.Util.normalize;
 
 public class RaceLoader {
-    private static final Map<String, DndRace> loadedRaces = new HashMap<>();
     private static final Logger LOGGER = Logger.getLogger("RaceLoader");
 
-    public static void loadAllRaces(File folder) {
-        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files == null || files.length == 0) {
-            LOGGER.warning("No race files found in " + folder.getPath());
-            return;
-        }
-
-        Yaml yaml = new Yaml();
+    /**
+     * Parses a single race YAML file (one race per file).
+     *
+     * @param file The YAML file being parsed (used for log messages)
+     * @param data The file's YAML tree, or null for an empty file
+     * @return The race keyed by its ID, or an empty map for an empty file
+     */
+    public static Map<String, DndRace> parseFile(File file, Map<String, Object> data) {
+        if (data == null) return Map.of();
 
-        for (File file : files) {
-            try (FileReader reader = new FileReader(file)) {
-                Map<String, Object> data = yaml.load(reader);
-                DndRace race = parseRace(data);
-                loadedRaces.put(race.getId(), race);
-                LOGGER.info("Loaded race: " + race.getName());
-            } catch (Exception e) {
-                System.err.println("Failed to load race from " + file.getName() + ": " + e.getMessage());
-            }
-        }
+        DndRace race = parseRace(data);
+        LOGGER.info("Loaded race: " + race.getName());
+        return Map.of(race.getId(), race);
     }
 
     private static DndRace parseRace(Map<String, Object> data) {
@@ -78,18 +71,17 @@ public class RaceLoader {
 
 
     public static DndRace getRace(String name) {
-        return loadedRaces.get(name);
+        return loadedRaces().get(name);
     }
 
     public static Collection<DndRace> getAllRaces() {
-        return Collections.unmodifiableCollection(loadedRaces.values());
+        return Collections.unmodifiableCollection(loadedRaces().values());
     }
 
     /**
-     * Clears all loaded races. Called before reloading data.
+     * Races in the current content snapshot (see ContentRegistry).
      */
-    public static void clear() {
-        loadedRaces.clear();
-        LOGGER.info("Cleared all loaded races");
+    private static Map<String, DndRace> loadedRaces() {
+        return ContentRegistry.current().get(ContentType.RACES);
     }
 }
@@ -0,0 +1,171 @@
+package io.papermc.jkvttplugin.data.loader;
+
+import io.papermc.jkvttplugin.dice.RollStream;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Archive of finished roll stream segments, so a combat can be replayed after it ended.
+ *
+ * Each archived stream has its own file, DMContent/Saved/Rolls/{name}.yml, holding one YAML
+ * document per segment: its number, seed and full roll log (expressions and resolved
+ * references). {@link RollStream#replay} re-rolls each document from its seed.
+ *
+ * Files are only ever appended to, on a single writer thread; reads run on the same thread so
+ * they see every segment queued before them.
+ */
+public class RollLogStore {
+    private static final Logger LOGGER = Logger.getLogger("RollLogStore");
+
+    /**
+     * One archived segment, as read back from disk.
+     */
+    public record ArchivedSegment(int number, long seed, List<RollStream.Roll> rolls) {}
+
+    private static Plugin plugin;
+    private static File rollsFolder;
+    private static ExecutorService writer;
+
+    public static void initialize(Plugin pluginInstance) {
+        plugin = pluginInstance;
+        rollsFolder = new File("DMContent/Saved/Rolls");
+        if (!rollsFolder.exists() && !rollsFolder.mkdirs()) {
+            LOGGER.severe("Failed to create roll log folder!");
+        }
+
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "JkVtt-RollLogWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Waits for queued segments to be written. Main thread only (called from onDisable).
+     */
+    public static void shutdown() {
+        if (writer == null) return;
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warning("Roll log writer did not finish in time; some segments may be lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    /**
+     * File name a stream is archived under, e.g. "combat-{sessionId}".
+     */
+    public static String fileName(RollStream stream) {
+        return stream.getLabel().replaceAll("[^A-Za-z0-9_-]+", "-");
+    }
+
+    /**
+     * Queues a finished segment for appending to its stream's file. Matches
+     * {@link RollStream.Archive}, so it can be passed to {@link RollStream#setArchive}.
+     */
+    public static void append(RollStream stream, int number, long seed, List<RollStream.Roll> rolls) {
+        String name = fileName(stream);
+        submit(() -> {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("segment", number);
+            data.put("seed", seed);
+            List<Map<String, Object>> entries = new ArrayList<>(rolls.size());
+            for (RollStream.Roll roll : rolls) {
+                Map<String, Object> entry = new LinkedHashMap<>();
+                entry.put("index", roll.index());
+                entry.put("reason", roll.reason());
+                entry.put("expression", roll.expression());
+                if (!roll.references().isEmpty()) entry.put("references", new TreeMap<>(roll.references()));
+                entry.put("result", roll.result());
+                entries.add(entry);
+            }
+            data.put("rolls", entries);
+
+            DumperOptions options = new DumperOptions();
+            options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+            try (FileWriter out = new FileWriter(file(name), true)) {
+                out.write("---\n");
+                new Yaml(options).dump(data, out);
+            } catch (IOException e) {
+                LOGGER.severe("Failed to archive roll segment " + number + " of " + name + ": " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Reads every archived segment of a stream on the writer thread, then hands them to
+     * {@code callback} on the main thread (empty if nothing was archived under that name).
+     */
+    public static void readAsync(String name, Consumer<List<ArchivedSegment>> callback) {
+        submit(() -> {
+            List<ArchivedSegment> segments = read(name);
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> callback.accept(segments));
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ArchivedSegment> read(String name) {
+        File file = file(name);
+        List<ArchivedSegment> segments = new ArrayList<>();
+        if (!file.exists()) return segments;
+
+        try (FileReader reader = new FileReader(file)) {
+            for (Object document : new Yaml().loadAll(reader)) {
+                if (!(document instanceof Map<?, ?> data)) continue;
+                int number = data.get("segment") instanceof Number n ? n.intValue() : segments.size() + 1;
+                long seed = ((Number) data.get("seed")).longValue();
+
+                List<RollStream.Roll> rolls = new ArrayList<>();
+                if (data.get("rolls") instanceof List<?> entries) {
+                    for (Object item : entries) {
+                        Map<String, Object> entry = (Map<String, Object>) item;
+                        Map<String, Integer> references = new HashMap<>();
+                        if (entry.get("references") instanceof Map<?, ?> refs) {
+                            refs.forEach((key, value) -> references.put((String) key, ((Number) value).intValue()));
+                        }
+                        rolls.add(new RollStream.Roll(((Number) entry.get("index")).intValue(),
+                                (String) entry.get("reason"), (String) entry.get("expression"),
+                                Map.copyOf(references), ((Number) entry.get("result")).intValue()));
+                    }
+                }
+                segments.add(new ArchivedSegment(number, seed, rolls));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.severe("Failed to read roll log " + name + ": " + e.getMessage());
+        }
+        return segments;
+    }
+
+    private static File file(String name) {
+        return new File(rollsFolder, name + ".yml");
+    }
+
+    private static void submit(Runnable task) {
+        if (writer == null) return;
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning("Roll log writer is shut down; dropping a queued segment");
+        }
+    }
+}
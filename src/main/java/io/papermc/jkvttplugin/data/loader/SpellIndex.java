@@ -0,0 +1,147 @@
+package io.papermc.jkvttplugin.data.loader;
+
+import io.papermc.jkvttplugin.data.model.DndSpell;
+import io.papermc.jkvttplugin.data.model.enums.SpellSchool;
+
+import java.util.*;
+
+/**
+ * Immutable lookup structure over one spell registry, built once per content snapshot by
+ * {@link SpellLoader} so menus filter by index lookup instead of scanning every spell.
+ *
+ * Spells are numbered by their position in (level, name) order. Per class there is a sorted
+ * list per spell level; school, level, class, ritual and concentration are kept as bitsets over
+ * those positions, so combined filters are a handful of word-wide ANDs.
+ */
+public final class SpellIndex {
+    public static final int MAX_SPELL_LEVEL = 9;
+
+    private static final Comparator<DndSpell> ORDER = Comparator
+            .comparingInt(DndSpell::getLevel)
+            .thenComparing(DndSpell::getName, String.CASE_INSENSITIVE_ORDER);
+
+    private final Map<String, DndSpell> source; // Registry this index was built from
+    private final DndSpell[] spells;            // (level, name) order; bit i means spells[i]
+
+    private final Map<String, List<DndSpell>> byClass;
+    private final Map<String, List<List<DndSpell>>> byClassAndLevel;
+    private final Map<String, BitSet> classBits;
+    private final BitSet[] levelBits = new BitSet[MAX_SPELL_LEVEL + 1];
+    private final Map<SpellSchool, BitSet> schoolBits = new EnumMap<>(SpellSchool.class);
+    private final BitSet ritualBits = new BitSet();
+    private final BitSet concentrationBits = new BitSet();
+
+    SpellIndex(Map<String, DndSpell> source) {
+        this.source = source;
+        this.spells = source.values().toArray(new DndSpell[0]);
+        Arrays.sort(spells, ORDER);
+
+        for (int level = 0; level <= MAX_SPELL_LEVEL; level++) {
+            levelBits[level] = new BitSet();
+        }
+
+        Map<String, BitSet> classes = new HashMap<>();
+        for (int i = 0; i < spells.length; i++) {
+            DndSpell spell = spells[i];
+            int level = spell.getLevel();
+            if (level >= 0 && level <= MAX_SPELL_LEVEL) levelBits[level].set(i);
+            if (spell.getSchool() != null) schoolBits.computeIfAbsent(spell.getSchool(), s -> new BitSet()).set(i);
+            if (spell.isRitual()) ritualBits.set(i);
+            if (spell.isConcentration()) concentrationBits.set(i);
+            if (spell.getClasses() != null) {
+                for (String className : spell.getClasses()) {
+                    classes.computeIfAbsent(className, c -> new BitSet()).set(i);
+                }
+            }
+        }
+
+        Map<String, List<DndSpell>> forClass = new HashMap<>();
+        Map<String, List<List<DndSpell>>> forClassAndLevel = new HashMap<>();
+        for (Map.Entry<String, BitSet> entry : classes.entrySet()) {
+            forClass.put(entry.getKey(), collect(entry.getValue()));
+
+            List<List<DndSpell>> levels = new ArrayList<>(MAX_SPELL_LEVEL + 1);
+            for (int level = 0; level <= MAX_SPELL_LEVEL; level++) {
+                BitSet bits = (BitSet) entry.getValue().clone();
+                bits.and(levelBits[level]);
+                levels.add(collect(bits));
+            }
+            forClassAndLevel.put(entry.getKey(), List.copyOf(levels));
+        }
+
+        this.classBits = Map.copyOf(classes);
+        this.byClass = Map.copyOf(forClass);
+        this.byClassAndLevel = Map.copyOf(forClassAndLevel);
+    }
+
+    boolean isFor(Map<String, DndSpell> registry) {
+        return source == registry;
+    }
+
+    // ==================== Lookups ====================
+
+    /**
+     * Every spell, in (level, name) order.
+     */
+    public List<DndSpell> all() {
+        return List.of(spells);
+    }
+
+    /**
+     * A class's spell list in (level, name) order; empty for unknown classes.
+     */
+    public List<DndSpell> forClass(String className) {
+        if (className == null) return List.of();
+        return byClass.getOrDefault(key(className), List.of());
+    }
+
+    /**
+     * A class's spells of one level, sorted by name.
+     */
+    public List<DndSpell> forClass(String className, int level) {
+        if (className == null || level < 0 || level > MAX_SPELL_LEVEL) return List.of();
+        List<List<DndSpell>> levels = byClassAndLevel.get(key(className));
+        return levels != null ? levels.get(level) : List.of();
+    }
+
+    /**
+     * Combined filter; null or negative arguments mean "any".
+     *
+     * @param ritual        If true, only rituals
+     * @param concentration If true, only concentration spells
+     */
+    public List<DndSpell> find(String className, int level, SpellSchool school, boolean ritual, boolean concentration) {
+        BitSet bits = new BitSet(spells.length);
+        bits.set(0, spells.length);
+
+        if (className != null) and(bits, classBits.get(key(className)));
+        if (level >= 0) and(bits, level <= MAX_SPELL_LEVEL ? levelBits[level] : null);
+        if (school != null) and(bits, schoolBits.get(school));
+        if (ritual) bits.and(ritualBits);
+        if (concentration) bits.and(concentrationBits);
+
+        return collect(bits);
+    }
+
+    private static void and(BitSet bits, BitSet filter) {
+        if (filter == null) {
+            bits.clear();
+        } else {
+            bits.and(filter);
+        }
+    }
+
+    private List<DndSpell> collect(BitSet bits) {
+        DndSpell[] result = new DndSpell[bits.cardinality()];
+        int n = 0;
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result[n++] = spells[i];
+        }
+        return List.of(result);
+    }
+
+    // Class names are stored lower-case (see DndSpell#setClasses)
+    private static String key(String className) {
+        return className.toLowerCase(Locale.ROOT);
+    }
+}
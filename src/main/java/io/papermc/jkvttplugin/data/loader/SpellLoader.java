@@ -1,63 +1,55 @@
 package io.papermc.jkvttplugin.data.loader;
 
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentType;
+import io.papermc.jkvttplugin.data.LoadContext;
 import io.papermc.jkvttplugin.data.loader.util.LoaderUtils;
 import io.papermc.jkvttplugin.data.model.DndSpell;
 import io.papermc.jkvttplugin.data.model.SpellComponents;
 import io.papermc.jkvttplugin.data.model.enums.SpellSchool;
 import org.bukkit.Material;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileReader;
 import java.util.*;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class SpellLoader {
-    private static final Map<String, DndSpell> spells = new HashMap<>();
     private static final Logger LOGGER = Logger.getLogger("SpellLoader");
 
-    public static void loadAllSpells(File folder) {
-        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files == null || files.length == 0) {
-            LOGGER.warning("No spell files found in " + folder.getPath());
-            return;
+    /**
+     * Parses every spell in a single YAML file. Spell files have a top-level "spells:" section.
+     * Does not touch the registry - the content pipeline publishes all parsed files together.
+     *
+     * @param file The YAML file being parsed (used for log messages)
+     * @param fileData The file's YAML tree, or null for an empty file
+     * @return Spells keyed by lowercase spell ID, in file order
+     */
+    public static Map<String, DndSpell> parseFile(File file, Map<String, Object> fileData) {
+        Map<String, DndSpell> parsed = new LinkedHashMap<>();
+
+        if (fileData == null) return parsed;
+
+        Object spellsSection = fileData.get("spells");
+        if (!(spellsSection instanceof Map<?, ?> spellsMap)) {
+            LOGGER.warning("No 'spells' section found in: " + file.getName());
+            return parsed;
         }
 
-        Yaml yaml = new Yaml();
-
-        for (File file : files) {
-            try (FileReader reader = new FileReader(file)) {
-                Map<String, Object> fileData = yaml.load(reader);
-                if (fileData == null) continue;
-
-                // Spell files have a top-level "spells:" section
-                Object spellsSection = fileData.get("spells");
-                if (!(spellsSection instanceof Map<?, ?> spellsMap)) {
-                    LOGGER.warning("No 'spells' section found in: " + file.getName());
-                    continue;
-                }
-
-                for (Map.Entry<?, ?> entry : spellsMap.entrySet()) {
-                    if (!(entry.getKey() instanceof String spellKey)) continue;
-                    if (!(entry.getValue() instanceof Map<?, ?> spellData)) continue;
-
-                    try {
-                        DndSpell spell = parseSpell(spellKey, spellData);
-                        spell.setId(spellKey.toLowerCase());  // Set the spell ID
-                        spells.put(spellKey.toLowerCase(), spell);
-                        LOGGER.info("Loaded spell: " + spell.getName());
-                    } catch (Exception e) {
-                        LOGGER.severe("Failed to load spell: " + spellKey + " from " + file.getName() + ": " + e.getMessage());
-                    }
-                }
+        for (Map.Entry<?, ?> entry : spellsMap.entrySet()) {
+            if (!(entry.getKey() instanceof String spellKey)) continue;
+            if (!(entry.getValue() instanceof Map<?, ?> spellData)) continue;
+
+            try {
+                DndSpell spell = parseSpell(spellKey, spellData);
+                spell.setId(spellKey.toLowerCase());  // Set the spell ID
+                parsed.put(spellKey.toLowerCase(), spell);
+                LOGGER.info("Loaded spell: " + spell.getName());
             } catch (Exception e) {
-                LOGGER.severe("Failed to load spell file: " + file.getName());
-                e.printStackTrace();
+                LOGGER.severe("Failed to load spell: " + spellKey + " from " + file.getName() + ": " + e.getMessage());
             }
         }
 
-        LOGGER.info("Loaded " + spells.size() + " spells total");
+        return parsed;
     }
 
     @SuppressWarnings("unchecked")
@@ -144,42 +136,73 @@ public class SpellLoader {
         return def;
     }
 
+    /**
+     * Spells visible to the caller. While the content pipeline is parsing races and classes,
+     * lookups resolve against the spells parsed in the same load rather than the published registry.
+     */
+    private static Map<String, DndSpell> view() {
+        Map<String, DndSpell> staged = LoadContext.staged(ContentType.SPELLS);
+        return staged != null ? staged : ContentRegistry.current().get(ContentType.SPELLS);
+    }
+
+    // Index over the live snapshot's spells only; staged loads cache theirs in LoadContext
+    private static volatile SpellIndex index;
+
+    /**
+     * Index over the visible spells: built once per content snapshot, or once per pipeline
+     * stage while parsing against staged spells.
+     */
+    public static SpellIndex getIndex() {
+        Map<String, DndSpell> staged = LoadContext.staged(ContentType.SPELLS);
+        if (staged != null) {
+            return LoadContext.derived(SpellIndex.class, () -> new SpellIndex(staged));
+        }
+
+        Map<String, DndSpell> spells = ContentRegistry.current().get(ContentType.SPELLS);
+        SpellIndex current = index;
+        if (current == null || !current.isFor(spells)) {
+            current = new SpellIndex(spells);
+            index = current;
+        }
+        return current;
+    }
+
     public static DndSpell getSpell(String spellKey) {
-        return spells.get(spellKey.toLowerCase());
+        return view().get(spellKey.toLowerCase());
     }
 
     public static Collection<DndSpell> getAllSpells() {
-        return spells.values();
+        return view().values();
     }
 
+    /**
+     * @return The class's spells in (level, name) order
+     */
     public static List<DndSpell> getSpellsForClass(String className) {
-        return spells.values().stream()
-                .filter(spell -> spell.isAvailableToClass(className))
-                .toList();
+        return getIndex().forClass(className);
     }
 
     public static List<DndSpell> getCantripsForClass(String className) {
-        return getSpellsForClass(className).stream()
-                .filter(DndSpell::isCantrip)
-                .toList();
+        return getIndex().forClass(className, 0);
     }
 
+    /**
+     * @return The class's spells of the given level, sorted by name
+     */
     public static List<DndSpell> getSpellsByLevel(String className, int level) {
-        return getSpellsForClass(className).stream()
-                .filter(spell -> spell.getLevel() == level)
-                .toList();
-    }
-
-    public static Map<Integer, List<DndSpell>> getSpellsByLevelForClass(String className) {
-        return getSpellsForClass(className).stream()
-                .collect(Collectors.groupingBy(DndSpell::getLevel));
+        return getIndex().forClass(className, level);
     }
 
     /**
-     * Clears all loaded spells. Called before reloading data.
+     * @return Spell level -> the class's spells of that level; levels without spells are omitted
      */
-    public static void clear() {
-        spells.clear();
-        LOGGER.info("Cleared all loaded spells");
+    public static Map<Integer, List<DndSpell>> getSpellsByLevelForClass(String className) {
+        SpellIndex spellIndex = getIndex();
+        Map<Integer, List<DndSpell>> byLevel = new TreeMap<>();
+        for (int level = 0; level <= SpellIndex.MAX_SPELL_LEVEL; level++) {
+            List<DndSpell> spells = spellIndex.forClass(className, level);
+            if (!spells.isEmpty()) byLevel.put(level, spells);
+        }
+        return byLevel;
     }
 }
\ No newline at end of file
@@ -1,47 +1,42 @@
 package io.papermc.jkvttplugin.data.loader;
 
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentType;
 import io.papermc.jkvttplugin.data.loader.util.LoaderUtils;
 import io.papermc.jkvttplugin.data.model.DndWeapon;
 import io.papermc.jkvttplugin.util.Util;
-import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileReader;
 import java.util.*;
 import java.util.logging.Logger;
 
 public class WeaponLoader {
-    private static final Map<String, DndWeapon> loadedWeapons = new HashMap<>();
     private static final Logger LOGGER = Logger.getLogger("WeaponLoader");
 
-    public static void loadAllWeapons(File folder) {
-        File[] files = folder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files == null || files.length == 0) {
-            LOGGER.warning("No weapon files found in " + folder.getPath());
-            return;
-        }
-
-        Yaml yaml = new Yaml();
+    /**
+     * Parses a single weapon YAML file. Each file can contain multiple weapons keyed by ID.
+     *
+     * @param file The YAML file being parsed (used for log messages)
+     * @param data The file's YAML tree, or null for an empty file
+     * @return Weapons keyed by normalized ID, in file order
+     */
+    public static Map<String, DndWeapon> parseFile(File file, Map<String, Object> data) {
+        Map<String, DndWeapon> parsed = new LinkedHashMap<>();
 
-        for (File file : files) {
-            try (FileReader reader = new FileReader(file)) {
-                Map<String, Object> data = yaml.load(reader);
+        if (data == null) return parsed;
 
-                // Each YAML can contain multiple weapons
-                for (Map.Entry<String, Object> entry : data.entrySet()) {
-                    String weaponId = entry.getKey();
+        // Each YAML can contain multiple weapons
+        for (Map.Entry<String, Object> entry : data.entrySet()) {
+            String weaponId = entry.getKey();
 
-                    if (entry.getValue() instanceof Map<?, ?> weaponData) {
-                        DndWeapon weapon = parseWeapon(weaponId, weaponData);
-                        loadedWeapons.put(Util.normalize(weaponId), weapon);
-                        LOGGER.info("Loaded weapon: " + weapon.getName());
-                    }
-                }
-            } catch (Exception e) {
-                LOGGER.severe("Failed to load weapons from " + file.getName() + ": " + e.getMessage());
-                e.printStackTrace();
+            if (entry.getValue() instanceof Map<?, ?> weaponData) {
+                DndWeapon weapon = parseWeapon(weaponId, weaponData);
+                parsed.put(Util.normalize(weaponId), weapon);
+                LOGGER.info("Loaded weapon: " + weapon.getName());
             }
         }
+
+        return parsed;
     }
 
     @SuppressWarnings("unchecked")
@@ -108,15 +103,15 @@ public class WeaponLoader {
 
     public static DndWeapon getWeapon(String id) {
         if (id == null) return null;
-        return loadedWeapons.get(Util.normalize(id));
+        return loadedWeapons().get(Util.normalize(id));
     }
 
     public static Collection<DndWeapon> getAllWeapons() {
-        return Collections.unmodifiableCollection(loadedWeapons.values());
+        return Collections.unmodifiableCollection(loadedWeapons().values());
     }
 
     public static List<DndWeapon> getWeaponsByCategory(String category) {
-        return loadedWeapons.values().stream()
+        return loadedWeapons().values().stream()
                 .filter(weapon -> category.equalsIgnoreCase(weapon.getCategory()))
                 .toList();
     }
@@ -130,10 +125,9 @@ public class WeaponLoader {
     }
 
     /**
-     * Clears all loaded weapons. Called before reloading data.
+     * Weapons in the current content snapshot (see ContentRegistry).
      */
-    public static void clear() {
-        loadedWeapons.clear();
-        LOGGER.info("Cleared all loaded weapons");
+    private static Map<String, DndWeapon> loadedWeapons() {
+        return ContentRegistry.current().get(ContentType.WEAPONS);
     }
 }
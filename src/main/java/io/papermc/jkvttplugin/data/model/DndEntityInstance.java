@@ -1,8 +1,12 @@
 package io.papermc.jkvttplugin.data.model;
 
+import io.papermc.jkvttplugin.data.loader.EntityInstanceStore;
+import io.papermc.jkvttplugin.util.SpatialIndex;
+import org.bukkit.Location;
 import org.bukkit.entity.ArmorStand;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -14,6 +18,8 @@ import java.util.UUID;
  * - DndEntityInstance = specific spawned entity (this particular kobold at X,Y,Z with 8/12 HP)
  *
  * This class tracks runtime state: current HP, location (ArmorStand), name, etc.
+ * State changes are persisted by EntityInstanceStore, and instances are only held in memory
+ * while their armor stand is loaded (see EntityInstanceListener).
  */
 public class DndEntityInstance {
 
@@ -27,9 +33,17 @@ public class DndEntityInstance {
 
     /**
      * UUID-based registry for persistence (saving/loading across server restarts).
+     * Only covers loaded instances; unloaded ones live in EntityInstanceStore.
      */
     private static final Map<UUID, DndEntityInstance> UUID_REGISTRY = new HashMap<>();
 
+    /**
+     * Chunk grid of instance locations for radius/box/nearest queries.
+     * Kept current by {@link #teleport} and {@link #updateLocation}; anything that moves the
+     * armor stand directly must call one of them.
+     */
+    private static final SpatialIndex<DndEntityInstance> SPATIAL_INDEX = new SpatialIndex<>();
+
     // ==================== INSTANCE FIELDS ====================
 
     /**
@@ -41,8 +55,9 @@ public class DndEntityInstance {
     /**
      * The Bukkit ArmorStand that visually represents this entity.
      * Used for location tracking and player interactions.
+     * Replaced by {@link #attach} if the stand reloads while this instance is kept in memory.
      */
-    private final ArmorStand armorStand;
+    private ArmorStand armorStand;
 
     /**
      * Unique ID for this specific spawned instance.
@@ -89,17 +104,30 @@ public class DndEntityInstance {
      * @param maxHp The rolled/assigned maximum HP
      */
     public DndEntityInstance(DndEntity template, ArmorStand armorStand, String displayName, int maxHp) {
+        this(UUID.randomUUID(), template, armorStand, displayName, maxHp, maxHp, false);  // Start at full HP
+        EntityInstanceStore.tag(armorStand, instanceId);
+        markDirty();
+    }
+
+    /**
+     * Restores a previously spawned instance whose armor stand has loaded again.
+     *
+     * @param instanceId The UUID the instance was saved under (also tagged on its armor stand)
+     */
+    public DndEntityInstance(UUID instanceId, DndEntity template, ArmorStand armorStand, String displayName,
+                             int currentHp, int maxHp, boolean isDead) {
         this.template = template;
         this.armorStand = armorStand;
         this.displayName = displayName;
         this.maxHp = maxHp;
-        this.currentHp = maxHp;  // Start at full HP
-        this.isDead = false;
-        this.instanceId = UUID.randomUUID();
+        this.currentHp = currentHp;
+        this.isDead = isDead;
+        this.instanceId = instanceId;
 
         // Register this instance
         INSTANCE_REGISTRY.put(armorStand, this);
         UUID_REGISTRY.put(instanceId, this);
+        updateLocation(armorStand.getLocation());
     }
 
     // ==================== STATIC REGISTRY METHODS ====================
@@ -122,11 +150,78 @@ public class DndEntityInstance {
 
     /**
      * Remove an entity instance from registries.
-     * Called when entity is permanently removed (despawned, killed and looted, etc.)
+     * Called when entity is permanently removed (despawned, killed and looted, etc.),
+     * and when its armor stand unloads (the saved state stays in EntityInstanceStore).
      */
     public void unregister() {
         INSTANCE_REGISTRY.remove(armorStand);
         UUID_REGISTRY.remove(instanceId);
+        SPATIAL_INDEX.remove(this);
+    }
+
+    /**
+     * Points this instance at a reloaded copy of its armor stand (Bukkit hands out a new
+     * ArmorStand object each time the stand's chunk loads).
+     */
+    public void attach(ArmorStand reloaded) {
+        if (reloaded == armorStand) return;
+        INSTANCE_REGISTRY.remove(armorStand);
+        armorStand = reloaded;
+        INSTANCE_REGISTRY.put(reloaded, this);
+        updateLocation(reloaded.getLocation());
+    }
+
+    /**
+     * Flags this instance for the next batched save (see EntityInstanceStore).
+     * The mutators below call this themselves.
+     */
+    public void markDirty() {
+        EntityInstanceStore.markDirty(this);
+    }
+
+    // ==================== SPATIAL QUERIES ====================
+
+    /**
+     * Instances within {@code radius} blocks of a location, nearest first.
+     */
+    public static List<DndEntityInstance> withinRadius(Location center, double radius) {
+        return SPATIAL_INDEX.withinRadius(center.getWorld().getUID(),
+                center.getX(), center.getY(), center.getZ(), radius);
+    }
+
+    /**
+     * Instances inside the box spanned by two corners (inclusive, any order).
+     */
+    public static List<DndEntityInstance> withinBox(Location corner1, Location corner2) {
+        return SPATIAL_INDEX.withinBox(corner1.getWorld().getUID(),
+                Math.min(corner1.getX(), corner2.getX()), Math.min(corner1.getY(), corner2.getY()), Math.min(corner1.getZ(), corner2.getZ()),
+                Math.max(corner1.getX(), corner2.getX()), Math.max(corner1.getY(), corner2.getY()), Math.max(corner1.getZ(), corner2.getZ()));
+    }
+
+    /**
+     * Up to {@code count} instances nearest a location, at most {@code maxDistance} blocks away,
+     * nearest first.
+     */
+    public static List<DndEntityInstance> nearest(Location center, int count, double maxDistance) {
+        return SPATIAL_INDEX.nearest(center.getWorld().getUID(),
+                center.getX(), center.getY(), center.getZ(), count, maxDistance);
+    }
+
+    /**
+     * Moves the armor stand and keeps the spatial index in step.
+     */
+    public void teleport(Location location) {
+        armorStand.teleport(location);
+        updateLocation(location);
+    }
+
+    /**
+     * Re-indexes this instance at a location it has already been moved to
+     * (e.g. by possession, which teleports the armor stand every tick).
+     */
+    public void updateLocation(Location location) {
+        if (location.getWorld() == null) return;
+        SPATIAL_INDEX.update(this, location.getWorld().getUID(), location.getX(), location.getY(), location.getZ());
     }
 
     // ==================== COMBAT METHODS (Stubbed) ====================
@@ -142,6 +237,7 @@ public class DndEntityInstance {
         if (currentHp == 0) {
             isDead = true;
         }
+        markDirty();
         // TODO: Update armor stand name to show HP
         // TODO: Trigger death effects if isDead
     }
@@ -154,6 +250,7 @@ public class DndEntityInstance {
     public void heal(int healing) {
         if (!isDead) {
             currentHp = Math.min(maxHp, currentHp + healing);
+            markDirty();
         }
         // TODO: Update armor stand name
     }
@@ -167,16 +264,16 @@ public class DndEntityInstance {
     public UUID getInstanceId() { return instanceId; }
 
     public String getDisplayName() { return displayName; }
-    public void setDisplayName(String displayName) { this.displayName = displayName; }
+    public void setDisplayName(String displayName) { this.displayName = displayName; markDirty(); }
 
     public int getCurrentHp() { return currentHp; }
-    public void setCurrentHp(int currentHp) { this.currentHp = Math.max(0, Math.min(maxHp, currentHp)); }
+    public void setCurrentHp(int currentHp) { this.currentHp = Math.max(0, Math.min(maxHp, currentHp)); markDirty(); }
 
     public int getMaxHp() { return maxHp; }
-    public void setMaxHp(int maxHp) { this.maxHp = maxHp; }
+    public void setMaxHp(int maxHp) { this.maxHp = maxHp; markDirty(); }
 
     public boolean isDead() { return isDead; }
-    public void setDead(boolean dead) { isDead = dead; }
+    public void setDead(boolean dead) { isDead = dead; markDirty(); }
 
     /**
      * Get the instance-specific shop configuration.
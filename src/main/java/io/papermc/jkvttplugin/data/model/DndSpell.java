@@ -8,7 +8,10 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 public class DndSpell {
     private String id;           // The spell ID (e.g., "chill_touch")
@@ -16,6 +19,7 @@ public class DndSpell {
     private int level;
     private SpellSchool school;
     private List<String> classes;
+    private Set<String> classSet = Set.of(); // Same names, for isAvailableToClass
     private String castingTime;
     private String range;
     private SpellComponents components;
@@ -66,8 +70,22 @@ public class DndSpell {
         return classes;
     }
 
+    /**
+     * Class names are stored lower-case and trimmed, so lookups and the spell index agree
+     * regardless of how the YAML spelled them.
+     */
     public void setClasses(List<String> classes) {
-        this.classes = classes;
+        if (classes == null) {
+            this.classes = null;
+            this.classSet = Set.of();
+            return;
+        }
+        List<String> normalized = new ArrayList<>(classes.size());
+        for (String className : classes) {
+            if (className != null && !className.isBlank()) normalized.add(className.trim().toLowerCase(Locale.ROOT));
+        }
+        this.classes = List.copyOf(normalized);
+        this.classSet = Set.copyOf(normalized);
     }
 
     public String getCastingTime() {
@@ -171,7 +189,7 @@ public class DndSpell {
     }
 
     public boolean isAvailableToClass(String className) {
-        return classes != null && classes.contains(className.toLowerCase());
+        return className != null && (classSet.contains(className) || classSet.contains(className.toLowerCase(Locale.ROOT)));
     }
 
     public boolean hasAttack() {
@@ -0,0 +1,12 @@
+package io.papermc.jkvttplugin.data.search;
+
+import io.papermc.jkvttplugin.data.ContentType;
+
+/**
+ * One ranked result of {@link SearchIndex#search}.
+ *
+ * @param id    Registry ID, usable with the type's loader (e.g. {@code SpellLoader.getSpell})
+ * @param score Relevance; only meaningful relative to other hits of the same query
+ */
+public record SearchHit(ContentType type, String id, String name, String description, double score) {
+}
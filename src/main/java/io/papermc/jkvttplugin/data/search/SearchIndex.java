@@ -0,0 +1,428 @@
+package io.papermc.jkvttplugin.data.search;
+
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentSnapshot;
+import io.papermc.jkvttplugin.data.ContentType;
+import io.papermc.jkvttplugin.data.model.*;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Inverted index over the searchable content of one {@link ContentSnapshot}: spells, weapons,
+ * armor, items and entities, by name, description, damage type and tags (school, classes,
+ * category, properties, creature type...).
+ *
+ * Text is lower-cased, split on anything that isn't a letter or digit, stripped of stop words
+ * and lightly stemmed ("heals", "healing" -> "heal"), so queries and content meet halfway.
+ * Each query word matches terms exactly, by prefix ("bludg") or, if neither finds anything,
+ * within one or two typos ("firball"). Scores add up per word, weighted by field and IDF, and
+ * favour documents that match every word and whose name starts with the query.
+ *
+ * Terms are kept sorted, so a prefix is a binary-searched range. The index is immutable and
+ * rebuilt only when the live snapshot changes; see {@link #current()}.
+ */
+public final class SearchIndex {
+    private static final Logger LOGGER = Logger.getLogger("SearchIndex");
+
+    /**
+     * Content types that are indexed.
+     */
+    public static final Set<ContentType> SEARCHABLE = Collections.unmodifiableSet(EnumSet.of(
+            ContentType.SPELLS, ContentType.WEAPONS, ContentType.ARMOR, ContentType.ITEMS, ContentType.ENTITIES));
+
+    // Field weights
+    private static final float NAME = 5f;
+    private static final float TAG = 3f;
+    private static final float TEXT = 1f;
+
+    // Non-exact matches count for less
+    private static final float PREFIX = 0.6f;
+    private static final float FUZZY = 0.4f;
+    private static final int MAX_PREFIX_TERMS = 64; // "a..." shouldn't touch half the dictionary
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "as", "at", "be", "by", "can", "for", "from", "if", "in", "into", "is", "it",
+            "its", "of", "on", "or", "that", "the", "their", "this", "to", "up", "with", "you", "your");
+
+    private static volatile SearchIndex cached;
+
+    private final ContentSnapshot source;
+
+    // Documents, by number
+    private final ContentType[] types;
+    private final String[] ids;
+    private final String[] names;
+    private final String[] lowerNames;
+    private final String[] descriptions;
+
+    // Terms, sorted; postings[t] lists (ascending) the documents containing terms[t]
+    private final String[] terms;
+    private final int[][] postings;
+    private final float[][] weights;
+    private final float[] idf;
+    // Per term: length and letterMask, so fuzzy matching rules out most terms without touching them
+    private final int[] lengths;
+    private final int[] letters;
+
+    /**
+     * The index for the live content snapshot, built on first use after each reload.
+     */
+    public static SearchIndex current() {
+        ContentSnapshot snapshot = ContentRegistry.current();
+        SearchIndex index = cached;
+        if (index == null || index.source != snapshot) {
+            index = new SearchIndex(snapshot);
+            cached = index;
+        }
+        return index;
+    }
+
+    private SearchIndex(ContentSnapshot snapshot) {
+        long start = System.nanoTime();
+        this.source = snapshot;
+
+        Builder builder = new Builder();
+        for (DndSpell spell : snapshot.<DndSpell>get(ContentType.SPELLS).values()) {
+            builder.begin(ContentType.SPELLS, spell.getId(), spell.getName(), spell.getDescription());
+            builder.add(spell.getName(), NAME);
+            if (spell.getSchool() != null) builder.add(spell.getSchool().getDisplayName(), TAG);
+            if (spell.getClasses() != null) spell.getClasses().forEach(c -> builder.add(c, TAG));
+            builder.add(spell.getDamageType(), TAG);
+            builder.add(spell.getAttackType(), TAG);
+            builder.add(spell.getSaveType(), TAG);
+            if (spell.isCantrip()) builder.add("cantrip", TAG);
+            if (spell.isRitual()) builder.add("ritual", TAG);
+            if (spell.isConcentration()) builder.add("concentration", TAG);
+            builder.add(spell.getDescription(), TEXT);
+            builder.add(spell.getHigherLevels(), TEXT);
+        }
+        for (DndWeapon weapon : snapshot.<DndWeapon>get(ContentType.WEAPONS).values()) {
+            builder.begin(ContentType.WEAPONS, weapon.getId(), weapon.getName(), weapon.getDescription());
+            builder.add(weapon.getName(), NAME);
+            builder.add(weapon.getCategory(), TAG);
+            builder.add(weapon.getType(), TAG);
+            builder.add(weapon.getDamageType(), TAG);
+            if (weapon.getProperties() != null) weapon.getProperties().forEach(p -> builder.add(p, TAG));
+            builder.add(weapon.getDescription(), TEXT);
+        }
+        for (DndArmor armor : snapshot.<DndArmor>get(ContentType.ARMOR).values()) {
+            builder.begin(ContentType.ARMOR, armor.getId(), armor.getName(), armor.getDescription());
+            builder.add(armor.getName(), NAME);
+            builder.add(armor.getCategory(), TAG);
+            builder.add(armor.getDescription(), TEXT);
+        }
+        for (DndItem item : snapshot.<DndItem>get(ContentType.ITEMS).values()) {
+            builder.begin(ContentType.ITEMS, item.getId(), item.getName(), item.getDescription());
+            builder.add(item.getName(), NAME);
+            builder.add(item.getType(), TAG);
+            builder.add(item.getFocusType(), TAG);
+            builder.add(item.getDescription(), TEXT);
+        }
+        for (DndEntity entity : snapshot.<DndEntity>get(ContentType.ENTITIES).values()) {
+            // DM notes stay out: the index has no notion of who is asking
+            builder.begin(ContentType.ENTITIES, entity.getId(), entity.getName(), describe(entity));
+            builder.add(entity.getName(), NAME);
+            builder.add(entity.getCreatureType(), TAG);
+            builder.add(entity.getSubtype(), TAG);
+            builder.add(entity.getSize(), TAG);
+            if (entity.getAttacks() != null) {
+                for (DndAttack attack : entity.getAttacks()) {
+                    builder.add(attack.getName(), TEXT);
+                    builder.add(attack.getDamageType(), TAG);
+                }
+            }
+        }
+
+        int documents = builder.ids.size();
+        this.types = builder.types.toArray(new ContentType[0]);
+        this.ids = builder.ids.toArray(new String[0]);
+        this.names = builder.names.toArray(new String[0]);
+        this.descriptions = builder.descriptions.toArray(new String[0]);
+        this.lowerNames = new String[documents];
+        for (int d = 0; d < documents; d++) {
+            lowerNames[d] = names[d].toLowerCase(Locale.ROOT);
+        }
+
+        this.terms = builder.postings.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        this.postings = new int[terms.length][];
+        this.weights = new float[terms.length][];
+        this.idf = new float[terms.length];
+        this.lengths = new int[terms.length];
+        this.letters = new int[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            Posting posting = builder.postings.get(terms[t]);
+            postings[t] = Arrays.copyOf(posting.docs, posting.size);
+            weights[t] = Arrays.copyOf(posting.weights, posting.size);
+            idf[t] = (float) Math.log(1.0 + (double) documents / posting.size);
+            lengths[t] = terms[t].length();
+            letters[t] = letterMask(terms[t]);
+        }
+
+        LOGGER.info("Indexed " + documents + " entries (" + terms.length + " terms) in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    private static String describe(DndEntity entity) {
+        StringBuilder text = new StringBuilder();
+        if (entity.getSize() != null) text.append(entity.getSize()).append(' ');
+        if (entity.getCreatureType() != null) text.append(entity.getCreatureType());
+        if (entity.getSubtype() != null) text.append(" (").append(entity.getSubtype()).append(')');
+        return text.toString().trim();
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Ranked search across every indexed type.
+     */
+    public List<SearchHit> search(String query, int limit) {
+        return search(query, SEARCHABLE, limit);
+    }
+
+    /**
+     * Ranked search restricted to {@code types}.
+     *
+     * @return Up to {@code limit} hits, best first; empty if the query has no searchable words
+     */
+    public List<SearchHit> search(String query, Set<ContentType> types, int limit) {
+        return search(query, types, id -> true, limit);
+    }
+
+    /**
+     * Ranked search restricted to {@code types} and to IDs {@code accept} allows. The filter runs
+     * before the limit, so a narrow filter (e.g. one class's spells) never loses matches to
+     * better-scoring documents it would have thrown away anyway.
+     *
+     * @return Up to {@code limit} hits, best first; empty if the query has no searchable words
+     */
+    public List<SearchHit> search(String query, Set<ContentType> types, Predicate<String> accept, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) return List.of();
+
+        int documents = ids.length;
+        float[] scores = new float[documents];
+        int[] matched = new int[documents];
+        float[] best = new float[documents];
+
+        for (String word : words) {
+            Arrays.fill(best, 0f);
+            boolean found = false;
+
+            int exact = Arrays.binarySearch(terms, word);
+            if (exact >= 0) {
+                collect(exact, 1f, best);
+                found = true;
+            }
+
+            int from = lowerBound(word);
+            int to = Math.min(lowerBound(word + Character.MAX_VALUE), from + MAX_PREFIX_TERMS);
+            for (int t = from; t < to; t++) {
+                if (t == exact) continue;
+                // The more of the term the prefix covers, the better the match
+                collect(t, PREFIX * word.length() / terms[t].length(), best);
+                found = true;
+            }
+
+            if (!found && word.length() >= 3) {
+                int maxEdits = word.length() <= 4 ? 1 : 2;
+                int mask = letterMask(word);
+                for (int t = 0; t < terms.length; t++) {
+                    if (Math.abs(lengths[t] - word.length()) > maxEdits) continue;
+                    // Every character one side has and the other lacks costs at least one edit
+                    if (Integer.bitCount(mask & ~letters[t]) > maxEdits
+                            || Integer.bitCount(letters[t] & ~mask) > maxEdits) continue;
+                    int edits = editDistance(word, terms[t], maxEdits);
+                    if (edits <= maxEdits) collect(t, FUZZY / edits, best);
+                }
+            }
+
+            for (int d = 0; d < documents; d++) {
+                if (best[d] > 0f) {
+                    scores[d] += best[d];
+                    matched[d]++;
+                }
+            }
+        }
+
+        String phrase = query.trim().toLowerCase(Locale.ROOT);
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(SearchHit::score));
+        for (int d = 0; d < documents; d++) {
+            if (scores[d] == 0f || !types.contains(this.types[d]) || !accept.test(ids[d])) continue;
+
+            double coverage = (double) matched[d] / words.size();
+            double score = scores[d] * coverage * coverage;
+            if (lowerNames[d].equals(phrase)) {
+                score *= 3;
+            } else if (lowerNames[d].startsWith(phrase)) {
+                score *= 2;
+            }
+
+            if (top.size() < limit || score > top.peek().score()) {
+                top.add(new SearchHit(this.types[d], ids[d], names[d], descriptions[d], score));
+                if (top.size() > limit) top.poll();
+            }
+        }
+
+        List<SearchHit> hits = new ArrayList<>(top);
+        hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                .thenComparing(SearchHit::name, String.CASE_INSENSITIVE_ORDER));
+        return hits;
+    }
+
+    /**
+     * Keeps each document's best match for the current query word.
+     */
+    private void collect(int term, float factor, float[] best) {
+        int[] docs = postings[term];
+        float[] termWeights = weights[term];
+        float scale = factor * idf[term];
+        for (int i = 0; i < docs.length; i++) {
+            float score = termWeights[i] * scale;
+            if (score > best[docs[i]]) best[docs[i]] = score;
+        }
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Which of a-z and 0-9 occur in {@code term} (anything else shares the last bit).
+     */
+    private static int letterMask(String term) {
+        int mask = 0;
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                mask |= 1 << (c - 'a');
+            } else if (c >= '0' && c <= '9') {
+                mask |= 1 << 26;
+            } else {
+                mask |= 1 << 27;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Levenshtein distance, giving up (returning {@code max + 1}) once every path exceeds
+     * {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        int[] previous = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            int rowMin = row[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] swap = previous;
+            previous = row;
+            row = swap;
+        }
+        return previous[b.length()];
+    }
+
+    // ==================== Text ====================
+
+    /**
+     * Lower-cased, stemmed words of {@code text}, without stop words or single characters.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) return List.of();
+
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (c != '\'' && !current.isEmpty()) {
+                // Apostrophes join ("tasha's" -> "tashas"); everything else splits
+                String token = current.toString();
+                current.setLength(0);
+                if (token.length() >= 2 && !STOP_WORDS.contains(token)) tokens.add(stem(token));
+            }
+        }
+        return tokens;
+    }
+
+    private static String stem(String word) {
+        int length = word.length();
+        if (length > 4 && word.endsWith("ies")) return word.substring(0, length - 3) + "y";
+        if (length > 5 && word.endsWith("ing")) return word.substring(0, length - 3);
+        if (length > 4 && (word.endsWith("ches") || word.endsWith("shes") || word.endsWith("sses") || word.endsWith("xes"))) {
+            return word.substring(0, length - 2);
+        }
+        if (length > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us") && !word.endsWith("is")) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+
+    // ==================== Building ====================
+
+    private static final class Posting {
+        int[] docs = new int[4];
+        float[] weights = new float[4];
+        int size;
+    }
+
+    private static final class Builder {
+        final List<ContentType> types = new ArrayList<>();
+        final List<String> ids = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        final List<String> descriptions = new ArrayList<>();
+        final Map<String, Posting> postings = new HashMap<>();
+        int document = -1;
+
+        void begin(ContentType type, String id, String name, String description) {
+            types.add(type);
+            ids.add(id);
+            names.add(name != null ? name : id);
+            descriptions.add(description != null ? description : "");
+            document++;
+        }
+
+        /**
+         * Adds {@code text}'s words to the current document. A word found in several fields
+         * keeps its heaviest weight.
+         */
+        void add(String text, float weight) {
+            for (String token : tokenize(text)) {
+                Posting posting = postings.computeIfAbsent(token, t -> new Posting());
+                int last = posting.size - 1;
+                if (last >= 0 && posting.docs[last] == document) {
+                    posting.weights[last] = Math.max(posting.weights[last], weight);
+                    continue;
+                }
+                if (posting.size == posting.docs.length) {
+                    posting.docs = Arrays.copyOf(posting.docs, posting.size * 2);
+                    posting.weights = Arrays.copyOf(posting.weights, posting.size * 2);
+                }
+                posting.docs[posting.size] = document;
+                posting.weights[posting.size] = weight;
+                posting.size++;
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.papermc.jkvttplugin.dice;
+
+import io.papermc.jkvttplugin.character.CharacterSheet;
+import io.papermc.jkvttplugin.data.model.enums.Ability;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Supplies values for references in dice expressions (STR, DEX, ..., PROF, LVL).
+ */
+@FunctionalInterface
+public interface DiceContext {
+
+    /**
+     * @param reference Upper-case reference name, one of {@link DiceParser#REFERENCES}
+     */
+    int resolve(String reference);
+
+    /**
+     * Context for expressions without references; resolving anything fails.
+     */
+    DiceContext NONE = reference -> {
+        throw new IllegalStateException(reference + " needs a character to roll against");
+    };
+
+    /**
+     * Resolves ability references to the sheet's modifiers, PROF to its proficiency bonus
+     * and LVL to its total level.
+     */
+    static DiceContext of(CharacterSheet sheet) {
+        return reference -> switch (reference) {
+            case "STR" -> sheet.getModifier(Ability.STRENGTH);
+            case "DEX" -> sheet.getModifier(Ability.DEXTERITY);
+            case "CON" -> sheet.getModifier(Ability.CONSTITUTION);
+            case "INT" -> sheet.getModifier(Ability.INTELLIGENCE);
+            case "WIS" -> sheet.getModifier(Ability.WISDOM);
+            case "CHA" -> sheet.getModifier(Ability.CHARISMA);
+            case "PROF" -> sheet.getProficiencyBonus();
+            case "LVL" -> sheet.getTotalLevel();
+            default -> throw new IllegalStateException("Unknown reference " + reference);
+        };
+    }
+
+    /**
+     * Like {@link #of(CharacterSheet)}, but reads every reference now, so the context can be
+     * used off the main thread without touching the sheet.
+     */
+    static DiceContext snapshot(CharacterSheet sheet) {
+        DiceContext live = of(sheet);
+        Map<String, Integer> values = new HashMap<>();
+        for (String reference : DiceParser.REFERENCES) {
+            values.put(reference, live.resolve(reference));
+        }
+        return reference -> {
+            Integer value = values.get(reference);
+            if (value == null) throw new IllegalStateException("Unknown reference " + reference);
+            return value;
+        };
+    }
+}
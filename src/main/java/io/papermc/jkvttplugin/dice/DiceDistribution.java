@@ -0,0 +1,456 @@
+package io.papermc.jkvttplugin.dice;
+
+import java.util.Arrays;
+
+/**
+ * Outcome distribution of a dice expression, computed by convolving per-die distributions
+ * rather than by sampling. Obtain one through {@link DiceExpression#distribution()}, which
+ * memoizes it per expression.
+ *
+ * Every node of the expression tree maps to an operation on distributions: dice pools are
+ * repeated convolutions (by squaring, or a sliding window for plain NdS pools), keep/drop is
+ * an order-statistics DP over the die faces, rerolls and explosions reshape the single-die
+ * distribution exactly as {@link DiceNode.Dice} rolls, and + - * / combine two distributions.
+ *
+ * Results are exact up to floating point, except for two cases:
+ * - Exploding dice drop chains less likely than {@link #NEGLIGIBLE}
+ * - Plain NdS pools too large to convolve within the work budget fall back to a discretized
+ *   normal approximation; {@link #isExact()} reports this
+ *
+ * One work budget and support cap ({@link Limits}) covers the whole expression, so splitting a
+ * large expression into several parts doesn't multiply what it may cost. Player input uses the
+ * much tighter {@link Limits#PLAYER}.
+ *
+ * Instances are immutable.
+ */
+public final class DiceDistribution {
+
+    static final double NEGLIGIBLE = 1e-15;
+
+    /**
+     * Caps for analyzing one expression: total work (roughly, multiply-adds) across every
+     * operation, and the number of distinct outcomes any intermediate distribution may have.
+     */
+    public record Limits(long work, int support) {
+        /** Content and simulations (monster templates, spells) */
+        public static final Limits DEFAULT = new Limits(50_000_000L, 1_000_000);
+        /** Anything a player types, e.g. /rolldice stats */
+        public static final Limits PLAYER = new Limits(2_000_000L, 20_000);
+    }
+
+    /**
+     * Work left while analyzing one expression.
+     */
+    private static final class Budget {
+        private final int maxSupport;
+        private long remaining;
+
+        Budget(Limits limits) {
+            this.maxSupport = limits.support();
+            this.remaining = limits.work();
+        }
+
+        boolean canSpend(long work) {
+            return work <= remaining;
+        }
+
+        void spend(long work) {
+            if (work > remaining) {
+                throw new IllegalArgumentException("Expression is too large to analyze exactly");
+            }
+            remaining -= work;
+        }
+
+        void checkSupport(long outcomes) {
+            if (outcomes > maxSupport) {
+                throw new IllegalArgumentException("Expression has too many possible outcomes to analyze");
+            }
+        }
+    }
+
+    private final int min;
+    private final double[] probabilities; // probabilities[i] = P(X == min + i)
+    private final double[] cumulative;    // cumulative[i] = P(X <= min + i)
+    private final boolean exact;
+    private final double mean;
+    private final double variance;
+
+    private DiceDistribution(int min, double[] probabilities, boolean exact) {
+        int from = 0;
+        int to = probabilities.length;
+        while (from < to - 1 && probabilities[from] == 0) from++;
+        while (to - 1 > from && probabilities[to - 1] == 0) to--;
+
+        this.min = min + from;
+        this.probabilities = from == 0 && to == probabilities.length
+                ? probabilities
+                : Arrays.copyOfRange(probabilities, from, to);
+        this.exact = exact;
+
+        double total = 0;
+        double sum = 0;
+        double sumSquares = 0;
+        this.cumulative = new double[this.probabilities.length];
+        for (int i = 0; i < this.probabilities.length; i++) {
+            double p = this.probabilities[i];
+            double value = this.min + i;
+            total += p;
+            sum += p * value;
+            sumSquares += p * value * value;
+            cumulative[i] = total;
+        }
+        this.mean = sum;
+        this.variance = Math.max(0, sumSquares - sum * sum);
+    }
+
+    // ==================== Queries ====================
+
+    public int getMin() {
+        return min;
+    }
+
+    public int getMax() {
+        return min + probabilities.length - 1;
+    }
+
+    /**
+     * Number of outcomes between {@link #getMin()} and {@link #getMax()}.
+     */
+    int outcomes() {
+        return probabilities.length;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getVariance() {
+        return variance;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(variance);
+    }
+
+    /**
+     * False if part of the expression was too large to convolve and was approximated.
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    public double probabilityOf(int value) {
+        int i = value - min;
+        return i < 0 || i >= probabilities.length ? 0 : probabilities[i];
+    }
+
+    public double probabilityAtMost(int value) {
+        int i = value - min;
+        if (i < 0) return 0;
+        if (i >= cumulative.length) return 1;
+        return Math.min(1, cumulative[i]);
+    }
+
+    /**
+     * P(X >= target), e.g. an attack total meeting AC or a save meeting its DC.
+     */
+    public double probabilityAtLeast(int target) {
+        return Math.max(0, 1 - probabilityAtMost(target - 1));
+    }
+
+    /**
+     * Smallest outcome whose cumulative probability reaches {@code fraction} (0-1).
+     */
+    public int percentile(double fraction) {
+        double target = fraction - 1e-12; // Tolerate rounding in the running sum
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] >= target) high = mid;
+            else low = mid + 1;
+        }
+        return min + low;
+    }
+
+    /**
+     * Expected damage per attack: P(attack total >= AC) times mean damage. Natural 1s and 20s
+     * aren't modeled since {@code attack} is the attack total, not the d20.
+     */
+    public static double expectedDamage(DiceDistribution attack, int armorClass, DiceDistribution damage) {
+        return attack.probabilityAtLeast(armorClass) * Math.max(0, damage.getMean());
+    }
+
+    // ==================== Construction ====================
+
+    static DiceDistribution of(DiceNode node, DiceContext context, Limits limits) {
+        return of(node, context, new Budget(limits));
+    }
+
+    private static DiceDistribution of(DiceNode node, DiceContext context, Budget budget) {
+        return switch (node) {
+            case DiceNode.Constant constant -> point(constant.value());
+            case DiceNode.Reference reference -> point(context.resolve(reference.name()));
+            case DiceNode.Negate negate -> of(negate.operand(), context, budget).negate();
+            case DiceNode.Binary binary -> combine(binary.operator(),
+                    of(binary.left(), context, budget), of(binary.right(), context, budget), budget);
+            case DiceNode.Dice dice -> pool(dice, budget);
+        };
+    }
+
+    private static DiceDistribution point(int value) {
+        return new DiceDistribution(value, new double[] {1.0}, true);
+    }
+
+    private DiceDistribution negate() {
+        double[] reversed = new double[probabilities.length];
+        for (int i = 0; i < reversed.length; i++) {
+            reversed[i] = probabilities[probabilities.length - 1 - i];
+        }
+        return new DiceDistribution(-getMax(), reversed, exact);
+    }
+
+    private static DiceDistribution combine(char operator, DiceDistribution left, DiceDistribution right, Budget budget) {
+        return switch (operator) {
+            case '+' -> left.plus(right, budget);
+            case '-' -> left.plus(right.negate(), budget);
+            case '*', '/' -> left.product(right, operator, budget);
+            default -> throw new IllegalStateException("Unknown operator " + operator);
+        };
+    }
+
+    private DiceDistribution plus(DiceDistribution other, Budget budget) {
+        double[] a = probabilities;
+        double[] b = other.probabilities;
+        budget.checkSupport((long) a.length + b.length - 1);
+        budget.spend((long) a.length * b.length);
+
+        double[] result = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            double p = a[i];
+            if (p == 0) continue;
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] += p * b[j];
+            }
+        }
+        return new DiceDistribution(min + other.min, result, exact && other.exact);
+    }
+
+    private DiceDistribution product(DiceDistribution other, char operator, Budget budget) {
+        budget.spend(2L * probabilities.length * other.probabilities.length); // Bounds pass, then the products
+
+        int low = Integer.MAX_VALUE;
+        int high = Integer.MIN_VALUE;
+        for (int x = min; x <= getMax(); x++) {
+            for (int y = other.min; y <= other.getMax(); y++) {
+                int value = apply(operator, x, y);
+                low = Math.min(low, value);
+                high = Math.max(high, value);
+            }
+        }
+        budget.checkSupport((long) high - low + 1);
+
+        double[] result = new double[high - low + 1];
+        for (int i = 0; i < probabilities.length; i++) {
+            if (probabilities[i] == 0) continue;
+            for (int j = 0; j < other.probabilities.length; j++) {
+                result[apply(operator, min + i, other.min + j) - low] += probabilities[i] * other.probabilities[j];
+            }
+        }
+        return new DiceDistribution(low, result, exact && other.exact);
+    }
+
+    // Same arithmetic as DiceNode.Binary
+    private static int apply(char operator, int x, int y) {
+        return operator == '*' ? x * y : y == 0 ? 0 : Math.floorDiv(x, y);
+    }
+
+    // ==================== Dice pools ====================
+
+    private static DiceDistribution pool(DiceNode.Dice dice, Budget budget) {
+        double[] face = singleDie(dice, budget); // face[v] = P(die shows v), v >= 1
+        int count = dice.count();
+
+        if (dice.keep() > 0 && dice.keep() < count) {
+            return keep(face, count, dice.keep(), dice.keepHighest(), budget);
+        }
+
+        boolean uniform = dice.rerollAtOrBelow() == 0 && !dice.explode();
+        if (uniform) {
+            return uniformSum(count, dice.sides(), budget);
+        }
+
+        DiceDistribution one = new DiceDistribution(0, face, true);
+        DiceDistribution result = point(0);
+        DiceDistribution square = one;
+        for (int n = count; n > 0; n >>= 1) {
+            if ((n & 1) != 0) result = result.plus(square, budget);
+            if (n > 1) square = square.plus(square, budget);
+        }
+        return result;
+    }
+
+    /**
+     * Distribution of one die after rerolls and explosions, indexed by face value.
+     */
+    private static double[] singleDie(DiceNode.Dice dice, Budget budget) {
+        int sides = dice.sides();
+        int threshold = dice.rerollAtOrBelow();
+        double[] base = new double[sides + 1];
+
+        if (threshold == 0) {
+            Arrays.fill(base, 1, sides + 1, 1.0 / sides);
+        } else {
+            double q = (double) threshold / sides; // Chance a roll needs rerolling
+            double stuckLow;   // Each low face, after using up every reroll
+            double high;       // Each face above the threshold
+            if (dice.rerollOnce()) {
+                stuckLow = q / sides;
+                high = (1 + q) / sides;
+            } else {
+                stuckLow = Math.pow(q, DiceNode.Dice.MAX_CHAIN) / sides;
+                high = (1 - Math.pow(q, DiceNode.Dice.MAX_CHAIN + 1)) / (1 - q) / sides;
+            }
+            for (int v = 1; v <= sides; v++) {
+                base[v] = v <= threshold ? stuckLow : high;
+            }
+        }
+
+        if (!dice.explode()) return base;
+
+        // A max face adds further rolls while they keep coming up max, up to MAX_CHAIN
+        double pMax = base[sides];
+        double roll = 1.0 / sides;
+        int chains = 0;
+        double reach = pMax;
+        while (chains < DiceNode.Dice.MAX_CHAIN && reach * roll > NEGLIGIBLE) {
+            reach *= roll;
+            chains++;
+        }
+
+        int length = sides * (chains + 1) + sides;
+        budget.checkSupport(length);
+        budget.spend(length);
+        double[] exploded = new double[length];
+        System.arraycopy(base, 0, exploded, 0, sides);
+        reach = pMax;
+        for (int extra = 0; extra < chains; extra++) {
+            // 'extra' further max rolls, then a non-max roll
+            int offset = sides * (extra + 1);
+            for (int w = 1; w < sides; w++) {
+                exploded[offset + w] += reach * roll;
+            }
+            reach *= roll;
+        }
+        if (chains == DiceNode.Dice.MAX_CHAIN) {
+            exploded[sides * (chains + 1)] += reach;
+        }
+        return exploded;
+    }
+
+    /**
+     * Sum of {@code count} plain dice: one sliding-window pass per die instead of a full
+     * convolution, falling back to a normal approximation beyond the work budget.
+     */
+    private static DiceDistribution uniformSum(int count, int sides, Budget budget) {
+        long work = (long) count * count * sides;
+        if (!budget.canSpend(work) || (long) count * sides > budget.maxSupport) {
+            double mean = count * (sides + 1) / 2.0;
+            double variance = count * ((double) sides * sides - 1) / 12.0;
+            return normal(count, count * sides, mean, variance, budget);
+        }
+        budget.spend(work);
+
+        double[] current = {1.0}; // Sum of zero dice
+        for (int n = 1; n <= count; n++) {
+            double[] next = new double[current.length + sides - 1];
+            double window = 0;
+            for (int i = 0; i < next.length; i++) {
+                if (i < current.length) window += current[i];
+                if (i - sides >= 0) window -= current[i - sides];
+                next[i] = window / sides;
+            }
+            current = next;
+        }
+        return new DiceDistribution(count, current, true);
+    }
+
+    private static DiceDistribution normal(int low, int high, double mean, double variance, Budget budget) {
+        double sd = Math.sqrt(variance);
+        int from = (int) Math.max(low, Math.floor(mean - 8 * sd));
+        int to = (int) Math.min(high, Math.ceil(mean + 8 * sd));
+        budget.checkSupport((long) to - from + 1);
+        budget.spend((long) to - from + 1);
+
+        double[] p = new double[to - from + 1];
+        double total = 0;
+        for (int i = 0; i < p.length; i++) {
+            double z = (from + i - mean) / sd;
+            p[i] = Math.exp(-0.5 * z * z);
+            total += p[i];
+        }
+        for (int i = 0; i < p.length; i++) {
+            p[i] /= total;
+        }
+        return new DiceDistribution(from, p, false);
+    }
+
+    /**
+     * Keep the best {@code keep} of {@code count} dice. Walks faces from best to worst,
+     * deciding how many dice show each face; the first {@code keep} dice assigned are the ones
+     * kept, so the state is just (dice assigned, kept sum).
+     */
+    private static DiceDistribution keep(double[] face, int count, int keep, boolean highest, Budget budget) {
+        int maxFace = face.length - 1;
+        int faces = 0;
+        for (double p : face) if (p > 0) faces++;
+        budget.checkSupport((long) keep * maxFace + 1);
+        budget.spend((long) faces * count * count * keep * maxFace);
+
+        double[][] binomial = binomials(count);
+        int sumLength = keep * maxFace + 1;
+        double[][] dp = new double[count + 1][];
+        dp[0] = new double[sumLength];
+        dp[0][0] = 1.0;
+
+        for (int k = 0; k < face.length; k++) {
+            int value = highest ? face.length - 1 - k : k;
+            double p = face[value];
+            if (p == 0) continue;
+
+            double[][] next = new double[count + 1][];
+            for (int assigned = 0; assigned <= count; assigned++) {
+                double[] sums = dp[assigned];
+                if (sums == null) continue;
+
+                double power = 1.0;
+                for (int j = 0; assigned + j <= count; j++) {
+                    double weight = binomial[count - assigned][j] * power;
+                    power *= p;
+                    int keptNow = Math.max(0, Math.min(assigned + j, keep) - assigned);
+                    int shift = keptNow * value;
+
+                    double[] target = next[assigned + j];
+                    if (target == null) target = next[assigned + j] = new double[sumLength];
+                    for (int s = 0; s + shift < sumLength; s++) {
+                        if (sums[s] != 0) target[s + shift] += sums[s] * weight;
+                    }
+                }
+            }
+            dp = next;
+        }
+        return new DiceDistribution(0, dp[count], true);
+    }
+
+    private static double[][] binomials(int n) {
+        double[][] c = new double[n + 1][];
+        for (int i = 0; i <= n; i++) {
+            c[i] = new double[i + 1];
+            c[i][0] = c[i][i] = 1;
+            for (int j = 1; j < i; j++) {
+                c[i][j] = c[i - 1][j - 1] + c[i - 1][j];
+            }
+        }
+        return c;
+    }
+}
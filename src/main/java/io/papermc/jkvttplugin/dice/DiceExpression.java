@@ -0,0 +1,143 @@
+package io.papermc.jkvttplugin.dice;
+
+import io.papermc.jkvttplugin.character.CharacterSheet;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A compiled dice expression such as {@code 2d6+STR}, {@code 4d6dl1}, {@code d20adv+PROF}
+ * or {@code 1d10r1!}. See {@link DiceParser} for the full grammar.
+ *
+ * Expressions are parsed once and cached by their normalized text, so rolling the same
+ * expression again only walks the compiled tree. Rolling allocates nothing and defaults to
+ * {@link ThreadLocalRandom}; callers that need reproducible results pass their own generator
+ * (e.g. a seeded {@link java.util.SplittableRandom}).
+ *
+ * Instances are immutable and thread-safe.
+ */
+public final class DiceExpression {
+
+    private static final int CACHE_LIMIT = 1024;
+    // Larger distributions aren't memoized, so the cache holds at most ~16 MB of them
+    private static final int MEMO_MAX_OUTCOMES = 1024;
+    private static final Map<String, DiceExpression> CACHE = new ConcurrentHashMap<>();
+
+    private final String source;
+    private final DiceNode root;
+    private final boolean usesReferences;
+    private volatile DiceDistribution distribution; // Memoized for small reference-free expressions
+
+    DiceExpression(String source, DiceNode root, boolean usesReferences) {
+        this.source = source;
+        this.root = root;
+        this.usesReferences = usesReferences;
+    }
+
+    /**
+     * Compiles (or fetches the cached) expression.
+     *
+     * @throws DiceParseException If the expression is invalid; the message explains why
+     */
+    public static DiceExpression compile(String expression) {
+        String normalized = normalize(expression);
+        DiceExpression cached = CACHE.get(normalized);
+        if (cached != null) return cached;
+
+        DiceExpression compiled = DiceParser.parse(normalized, expression.trim());
+        // Expressions come from chat and templates; cap the cache rather than tracking usage
+        if (CACHE.size() >= CACHE_LIMIT) CACHE.clear();
+        CACHE.putIfAbsent(normalized, compiled);
+        return compiled;
+    }
+
+    /**
+     * Rolls an expression without references.
+     *
+     * @throws IllegalStateException If the expression references character stats
+     */
+    public int roll() {
+        return root.eval(ThreadLocalRandom.current(), DiceContext.NONE);
+    }
+
+    public int roll(CharacterSheet sheet) {
+        return root.eval(ThreadLocalRandom.current(), DiceContext.of(sheet));
+    }
+
+    public int roll(RandomGenerator rng, DiceContext context) {
+        return root.eval(rng, context);
+    }
+
+    /**
+     * Exact outcome distribution within {@link DiceDistribution.Limits#DEFAULT}, computed on first
+     * use and memoized on this (cached) expression if it is small.
+     *
+     * @throws IllegalStateException    If the expression references character stats
+     * @throws IllegalArgumentException If the expression is too large to analyze
+     */
+    public DiceDistribution distribution() {
+        return distribution(DiceContext.NONE, DiceDistribution.Limits.DEFAULT);
+    }
+
+    /**
+     * Distribution with references resolved against {@code context}. Only reference-free
+     * expressions are memoized, since stats change.
+     */
+    public DiceDistribution distribution(DiceContext context) {
+        return distribution(context, DiceDistribution.Limits.DEFAULT);
+    }
+
+    /**
+     * Distribution computed within {@code limits}; use {@link DiceDistribution.Limits#PLAYER}
+     * for expressions typed by players. Doesn't touch any sheet beyond what {@code context} does,
+     * so it can run off the main thread with a {@link DiceContext#snapshot} context.
+     */
+    public DiceDistribution distribution(DiceContext context, DiceDistribution.Limits limits) {
+        if (usesReferences) return DiceDistribution.of(root, context, limits);
+
+        DiceDistribution result = distribution;
+        if (result == null) {
+            result = DiceDistribution.of(root, DiceContext.NONE, limits);
+            if (result.outcomes() <= MEMO_MAX_OUTCOMES) distribution = result;
+        }
+        return result;
+    }
+
+    public DiceDistribution distribution(CharacterSheet sheet) {
+        return distribution(DiceContext.of(sheet));
+    }
+
+    /**
+     * True if rolling needs a {@link DiceContext} (STR, PROF, ...).
+     */
+    public boolean usesReferences() {
+        return usesReferences;
+    }
+
+    /**
+     * The expression as the user wrote it.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Canonical form, e.g. {@code d20adv} becomes {@code 2d20kh1}.
+     */
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+
+    private static String normalize(String expression) {
+        StringBuilder out = new StringBuilder(expression.length());
+        for (int i = 0; i < expression.length(); i++) {
+            char c = expression.charAt(i);
+            if (!Character.isWhitespace(c)) out.append(c);
+        }
+        return out.toString().toLowerCase(Locale.ROOT);
+    }
+}
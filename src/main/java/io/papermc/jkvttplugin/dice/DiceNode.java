@@ -0,0 +1,150 @@
+package io.papermc.jkvttplugin.dice;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Compiled dice expression tree. Nodes are immutable and evaluating them allocates nothing
+ * (keep/drop uses a per-thread scratch buffer).
+ */
+sealed interface DiceNode {
+
+    int eval(RandomGenerator rng, DiceContext context);
+
+    record Constant(int value) implements DiceNode {
+        @Override
+        public int eval(RandomGenerator rng, DiceContext context) {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return Integer.toString(value);
+        }
+    }
+
+    record Reference(String name) implements DiceNode {
+        @Override
+        public int eval(RandomGenerator rng, DiceContext context) {
+            return context.resolve(name);
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    record Negate(DiceNode operand) implements DiceNode {
+        @Override
+        public int eval(RandomGenerator rng, DiceContext context) {
+            return -operand.eval(rng, context);
+        }
+
+        @Override
+        public String toString() {
+            return operand instanceof Binary ? "-(" + operand + ")" : "-" + operand;
+        }
+    }
+
+    record Binary(char operator, DiceNode left, DiceNode right) implements DiceNode {
+        @Override
+        public int eval(RandomGenerator rng, DiceContext context) {
+            int l = left.eval(rng, context);
+            int r = right.eval(rng, context);
+            return switch (operator) {
+                case '+' -> l + r;
+                case '-' -> l - r;
+                case '*' -> l * r;
+                case '/' -> r == 0 ? 0 : Math.floorDiv(l, r); // D&D rounds down
+                default -> throw new IllegalStateException("Unknown operator " + operator);
+            };
+        }
+
+        @Override
+        public String toString() {
+            boolean group = operator == '*' || operator == '/';
+            return wrap(left, group) + operator + wrap(right, group || operator == '-');
+        }
+
+        private static String wrap(DiceNode node, boolean group) {
+            boolean additive = node instanceof Binary b && (b.operator == '+' || b.operator == '-');
+            return group && additive ? "(" + node + ")" : node.toString();
+        }
+    }
+
+    /**
+     * NdS with optional keep/drop, reroll and exploding.
+     *
+     * @param keep             Dice kept after rolling; 0 keeps all
+     * @param keepHighest      Keep the highest (true) or lowest (false) {@code keep} dice
+     * @param rerollAtOrBelow  Reroll dice showing this or less; 0 disables
+     * @param rerollOnce       Reroll only once (ro) instead of until above the threshold (r)
+     * @param explode          Roll again and add whenever a die shows its maximum (!)
+     */
+    record Dice(int count, int sides, int keep, boolean keepHighest,
+                int rerollAtOrBelow, boolean rerollOnce, boolean explode) implements DiceNode {
+
+        static final int MAX_CHAIN = 100; // Caps rerolls/explosions per die
+
+        private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[64]);
+
+        @Override
+        public int eval(RandomGenerator rng, DiceContext context) {
+            if (keep == 0 || keep >= count) {
+                int total = 0;
+                for (int i = 0; i < count; i++) {
+                    total += rollOne(rng);
+                }
+                return total;
+            }
+
+            int[] rolls = SCRATCH.get();
+            if (rolls.length < count) {
+                rolls = new int[count];
+                SCRATCH.set(rolls);
+            }
+            for (int i = 0; i < count; i++) {
+                rolls[i] = rollOne(rng);
+            }
+            Arrays.sort(rolls, 0, count);
+
+            int total = 0;
+            int from = keepHighest ? count - keep : 0;
+            for (int i = from; i < from + keep; i++) {
+                total += rolls[i];
+            }
+            return total;
+        }
+
+        private int rollOne(RandomGenerator rng) {
+            int value = rng.nextInt(sides) + 1;
+
+            if (rerollAtOrBelow > 0) {
+                int tries = rerollOnce ? 1 : MAX_CHAIN;
+                while (value <= rerollAtOrBelow && tries-- > 0) {
+                    value = rng.nextInt(sides) + 1;
+                }
+            }
+
+            if (explode) {
+                int total = value;
+                for (int chain = 0; value == sides && chain < MAX_CHAIN; chain++) {
+                    value = rng.nextInt(sides) + 1;
+                    total += value;
+                }
+                return total;
+            }
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder().append(count).append('d').append(sides);
+            if (keep > 0) text.append(keepHighest ? "kh" : "kl").append(keep);
+            if (rerollAtOrBelow > 0) text.append(rerollOnce ? "ro" : "r").append(rerollAtOrBelow);
+            if (explode) text.append('!');
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package io.papermc.jkvttplugin.dice;
+
+/**
+ * Thrown when a dice expression can't be compiled. The message is safe to show to players.
+ */
+public class DiceParseException extends IllegalArgumentException {
+    public DiceParseException(String message) {
+        super(message);
+    }
+}
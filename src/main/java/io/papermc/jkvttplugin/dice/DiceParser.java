@@ -0,0 +1,236 @@
+package io.papermc.jkvttplugin.dice;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Recursive-descent parser for dice expressions.
+ *
+ * <pre>
+ * expr    = term (('+' | '-') term)*
+ * term    = factor (('*' | '/') factor)*
+ * factor  = '-' factor | '(' expr ')' | dice | number | reference
+ * dice    = [count] 'd' (sides | '%') modifier*
+ * modifier= 'kh' n | 'kl' n | 'k' n | 'dh' n | 'dl' n   keep/drop
+ *         | 'r' n | 'ro' n                              reroll at or below n (always / once)
+ *         | '!'                                         explode on max
+ *         | 'adv' | 'dis'                               advantage / disadvantage (2dNkh1 / 2dNkl1)
+ * </pre>
+ *
+ * adv/dis only apply to a single die (d20adv, 1d20adv), and a die takes at most one keep/drop
+ * (adv/dis included) and one reroll modifier; anything else is a parse error rather than a
+ * silently different roll.
+ *
+ * Whitespace and case are ignored. Parsing happens once per distinct expression; see
+ * {@link DiceExpression#compile(String)}.
+ */
+final class DiceParser {
+
+    static final Set<String> REFERENCES = Set.of("STR", "DEX", "CON", "INT", "WIS", "CHA", "PROF", "LVL");
+
+    private static final int MAX_DICE = 1000;
+    private static final int MAX_SIDES = 1000;
+    private static final int MAX_CONSTANT = 1_000_000;
+
+    private final String input;
+    private int pos;
+    private boolean usesReferences;
+
+    private DiceParser(String input) {
+        this.input = input;
+    }
+
+    /**
+     * @param normalized Lower-case expression with whitespace removed
+     */
+    static DiceExpression parse(String normalized, String original) {
+        if (normalized.isEmpty()) throw new DiceParseException("Empty dice expression");
+
+        DiceParser parser = new DiceParser(normalized);
+        DiceNode root = parser.expr();
+        if (parser.pos < normalized.length()) {
+            throw parser.error("Unexpected '" + normalized.charAt(parser.pos) + "'");
+        }
+        return new DiceExpression(original, root, parser.usesReferences);
+    }
+
+    private DiceNode expr() {
+        DiceNode left = term();
+        while (peek() == '+' || peek() == '-') {
+            char op = input.charAt(pos++);
+            left = new DiceNode.Binary(op, left, term());
+        }
+        return left;
+    }
+
+    private DiceNode term() {
+        DiceNode left = factor();
+        while (peek() == '*' || peek() == '/') {
+            char op = input.charAt(pos++);
+            left = new DiceNode.Binary(op, left, factor());
+        }
+        return left;
+    }
+
+    private DiceNode factor() {
+        char c = peek();
+        if (c == '-') {
+            pos++;
+            return new DiceNode.Negate(factor());
+        }
+        if (c == '(') {
+            pos++;
+            DiceNode inner = expr();
+            expect(')');
+            return inner;
+        }
+        if (Character.isDigit(c)) {
+            int value = number(MAX_CONSTANT, "Number");
+            if (peek() == 'd') return dice(value);
+            return new DiceNode.Constant(value);
+        }
+        if (c == 'd' && isDiceSides(pos + 1)) {
+            return dice(1);
+        }
+        if (Character.isLetter(c)) {
+            return reference();
+        }
+        throw error(c == 0 ? "Expression ends too early" : "Unexpected '" + c + "'");
+    }
+
+    private DiceNode dice(int count) {
+        expect('d');
+        if (count < 1 || count > MAX_DICE) throw error("Dice count must be between 1 and " + MAX_DICE);
+
+        int sides;
+        if (peek() == '%') {
+            pos++;
+            sides = 100;
+        } else {
+            sides = number(MAX_SIDES, "Die size");
+        }
+        if (sides < 1) throw error("Dice need at least one side");
+
+        int keep = 0;
+        boolean keepHighest = true;
+        int reroll = 0;
+        boolean rerollOnce = false;
+        boolean explode = false;
+
+        boolean keepSet = false;
+        boolean rerollSet = false;
+
+        while (true) {
+            int modifierStart = pos;
+            if (accept("adv") || accept("dis")) {
+                boolean advantage = input.charAt(modifierStart) == 'a';
+                // Advantage adds a second die; it can't silently resize a pool the user wrote
+                if (count != 1) {
+                    pos = modifierStart;
+                    throw error("adv/dis only applies to a single die, e.g. d20adv");
+                }
+                checkSingle(keepSet, modifierStart, "keep/drop or adv/dis");
+                count = 2;
+                keep = 1;
+                keepHighest = advantage;
+                keepSet = true;
+            } else if (accept("kl")) {
+                checkSingle(keepSet, modifierStart, "keep/drop or adv/dis");
+                keep = number(count, "Keep count");
+                keepHighest = false;
+                keepSet = true;
+            } else if (accept("kh") || accept("k")) {
+                checkSingle(keepSet, modifierStart, "keep/drop or adv/dis");
+                keep = number(count, "Keep count");
+                keepHighest = true;
+                keepSet = true;
+            } else if (accept("dh")) {
+                checkSingle(keepSet, modifierStart, "keep/drop or adv/dis");
+                keep = count - number(count - 1, "Drop count");
+                keepHighest = false;
+                keepSet = true;
+            } else if (accept("dl")) {
+                checkSingle(keepSet, modifierStart, "keep/drop or adv/dis");
+                keep = count - number(count - 1, "Drop count");
+                keepHighest = true;
+                keepSet = true;
+            } else if (accept("ro")) {
+                checkSingle(rerollSet, modifierStart, "reroll");
+                reroll = number(sides - 1, "Reroll threshold");
+                rerollOnce = true;
+                rerollSet = true;
+            } else if (accept("r")) {
+                checkSingle(rerollSet, modifierStart, "reroll");
+                reroll = number(sides - 1, "Reroll threshold");
+                rerollOnce = false;
+                rerollSet = true;
+            } else if (accept("!")) {
+                if (sides == 1) throw error("A d1 can't explode");
+                explode = true;
+            } else {
+                break;
+            }
+        }
+
+        return new DiceNode.Dice(count, sides, keep, keepHighest, reroll, rerollOnce, explode);
+    }
+
+    private DiceNode reference() {
+        int start = pos;
+        while (Character.isLetter(peek())) pos++;
+        String name = input.substring(start, pos).toUpperCase(Locale.ROOT);
+        if (name.equals("LEVEL")) name = "LVL";
+        if (!REFERENCES.contains(name)) {
+            pos = start;
+            throw error("Unknown reference '" + name + "' (use STR, DEX, CON, INT, WIS, CHA, PROF or LVL)");
+        }
+        usesReferences = true;
+        return new DiceNode.Reference(name);
+    }
+
+    private int number(int max, String what) {
+        int start = pos;
+        long value = 0;
+        while (Character.isDigit(peek())) {
+            value = value * 10 + (input.charAt(pos++) - '0');
+            if (value > max) throw error(what + " can't be more than " + max);
+        }
+        if (pos == start) throw error(what + " expected");
+        return (int) value;
+    }
+
+    private boolean isDiceSides(int at) {
+        return at < input.length() && (Character.isDigit(input.charAt(at)) || input.charAt(at) == '%');
+    }
+
+    /**
+     * Rejects a second modifier of a kind that can only appear once (it would override the first).
+     */
+    private void checkSingle(boolean alreadySet, int modifierStart, String kind) {
+        if (alreadySet) {
+            pos = modifierStart;
+            throw error("Only one " + kind + " modifier is allowed per die");
+        }
+    }
+
+    private boolean accept(String token) {
+        if (input.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (peek() != c) throw error("Expected '" + c + "'");
+        pos++;
+    }
+
+    private char peek() {
+        return pos < input.length() ? input.charAt(pos) : 0;
+    }
+
+    private DiceParseException error(String message) {
+        return new DiceParseException(message + " at position " + (pos + 1));
+    }
+}
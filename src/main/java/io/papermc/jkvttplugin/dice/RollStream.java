@@ -0,0 +1,200 @@
+package io.papermc.jkvttplugin.dice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Logger;
+
+/**
+ * A seeded source of dice rolls that records every roll it makes.
+ *
+ * Each combat session owns one stream, and each character has one for rolls made outside
+ * combat, so nothing shares a global generator. Because the generator is a seeded
+ * {@link SplittableRandom} and every draw goes through {@link #roll}, the log plus the seed is
+ * enough to {@link #replay} the stream and confirm each result (audits, disputed rolls).
+ *
+ * The log is bounded. When it fills, the stream starts a new segment: it picks a fresh seed
+ * from its own generator and clears the log, so in memory only the current segment replays
+ * (from {@link #getSeed()}). A stream with an {@link Archive} hands each finished segment's full
+ * log to it first, and {@link #archiveCurrent()} hands over the last one, so an archived stream
+ * (e.g. a combat, see RollLogStore) can be replayed end to end after it is gone.
+ *
+ * Thread-safe.
+ */
+public final class RollStream {
+
+    static final int MAX_LOG = 1000;
+    private static final Logger LOGGER = Logger.getLogger("RollStream");
+
+    private static final Map<UUID, RollStream> CHARACTER_STREAMS = new ConcurrentHashMap<>();
+
+    /**
+     * One logged roll.
+     *
+     * @param references Values the expression's references resolved to, so replay doesn't need
+     *                   the character sheet as it was at the time
+     */
+    public record Roll(int index, String reason, String expression, Map<String, Integer> references, int result) {}
+
+    /**
+     * A segment of the stream: the seed it started from and how many rolls it made.
+     */
+    public record Segment(long seed, int rolls) {}
+
+    /**
+     * Receives finished segments (numbered from 1) with their full logs. Called while the stream
+     * is locked, so it should only queue the work.
+     */
+    @FunctionalInterface
+    public interface Archive {
+        void store(RollStream stream, int number, long seed, List<Roll> rolls);
+    }
+
+    private final String label;
+    private long seed;
+    private SplittableRandom random;
+    private final List<Roll> log = new ArrayList<>();
+    private final List<Segment> finishedSegments = new ArrayList<>();
+    private Archive archive;
+    private boolean currentArchived;
+
+    public RollStream(String label, long seed) {
+        this.label = label;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * New stream with a random seed.
+     */
+    public static RollStream create(String label) {
+        return new RollStream(label, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * The stream for a character's rolls outside combat. Streams live until the character is
+     * deleted or the server restarts.
+     */
+    public static RollStream forCharacter(UUID characterId) {
+        return CHARACTER_STREAMS.computeIfAbsent(characterId, id -> create("character " + id));
+    }
+
+    public static void forgetCharacter(UUID characterId) {
+        CHARACTER_STREAMS.remove(characterId);
+    }
+
+    // ==================== Rolling ====================
+
+    public int roll(DiceExpression expression, String reason) {
+        return roll(expression, DiceContext.NONE, reason);
+    }
+
+    /**
+     * Rolls {@code expression} from this stream and logs it under {@code reason}.
+     */
+    public synchronized int roll(DiceExpression expression, DiceContext context, String reason) {
+        if (log.size() >= MAX_LOG || currentArchived) startSegment();
+
+        Map<String, Integer> references = Map.of();
+        DiceContext rollContext = context;
+        if (expression.usesReferences()) {
+            Map<String, Integer> resolved = new HashMap<>();
+            rollContext = name -> resolved.computeIfAbsent(name, context::resolve);
+            references = resolved;
+        }
+
+        int result = expression.roll(random, rollContext);
+        log.add(new Roll(log.size(), reason, expression.getSource(), Map.copyOf(references), result));
+        return result;
+    }
+
+    private void startSegment() {
+        archiveCurrent();
+        Segment finished = new Segment(seed, log.size());
+        finishedSegments.add(finished);
+        LOGGER.info("Roll stream " + label + " segment " + finishedSegments.size() + " finished: seed "
+                + finished.seed() + ", " + finished.rolls() + " rolls");
+
+        seed = random.nextLong();
+        random = new SplittableRandom(seed);
+        log.clear();
+        currentArchived = false;
+    }
+
+    // ==================== Archive ====================
+
+    /**
+     * Sets where finished segments go. Without one, a finished segment's log is dropped.
+     */
+    public synchronized void setArchive(Archive archive) {
+        this.archive = archive;
+    }
+
+    /**
+     * Hands the current segment to the archive, e.g. when its combat ends. A segment is only
+     * archived once; rolling again after this starts a new segment.
+     */
+    public synchronized void archiveCurrent() {
+        if (archive == null || currentArchived || log.isEmpty()) return;
+        archive.store(this, finishedSegments.size() + 1, seed, List.copyOf(log));
+        currentArchived = true;
+    }
+
+    // ==================== Audit ====================
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Seed of the current segment.
+     */
+    public synchronized long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Every segment so far, oldest first; the last one is the current segment.
+     */
+    public synchronized List<Segment> getSegments() {
+        List<Segment> segments = new ArrayList<>(finishedSegments);
+        segments.add(new Segment(seed, log.size()));
+        return Collections.unmodifiableList(segments);
+    }
+
+    public synchronized List<Roll> getLog() {
+        return Collections.unmodifiableList(new ArrayList<>(log));
+    }
+
+    /**
+     * Re-rolls a log from its seed and returns the entries whose result doesn't match. An empty
+     * list means the log is exactly what that seed produces.
+     */
+    public static List<Roll> replay(long seed, List<Roll> log) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Roll> mismatches = new ArrayList<>();
+        for (Roll roll : log) {
+            DiceContext context = name -> {
+                Integer value = roll.references().get(name);
+                if (value == null) throw new IllegalStateException("Roll " + roll.index() + " has no value for " + name);
+                return value;
+            };
+            int result = DiceExpression.compile(roll.expression()).roll(random, context);
+            if (result != roll.result()) mismatches.add(roll);
+        }
+        return mismatches;
+    }
+
+    /**
+     * Replays this stream's current segment; see {@link #replay(long, List)}.
+     */
+    public synchronized List<Roll> verify() {
+        return replay(seed, log);
+    }
+}
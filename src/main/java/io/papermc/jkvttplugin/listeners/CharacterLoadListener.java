@@ -0,0 +1,26 @@
+package io.papermc.jkvttplugin.listeners;
+
+import io.papermc.jkvttplugin.data.loader.CharacterPersistenceLoader;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * Loads a player's character sheets while they are still logging in (off the main thread),
+ * and starts their idle timer when they leave so the sheets can be evicted later.
+ */
+public class CharacterLoadListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        CharacterPersistenceLoader.ensureLoaded(event.getUniqueId());
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        CharacterPersistenceLoader.touch(event.getPlayer().getUniqueId());
+    }
+}
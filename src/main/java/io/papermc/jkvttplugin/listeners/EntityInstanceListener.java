@@ -0,0 +1,100 @@
+package io.papermc.jkvttplugin.listeners;
+
+import io.papermc.jkvttplugin.combat.CombatSession;
+import io.papermc.jkvttplugin.commands.DmEntityCommand;
+import io.papermc.jkvttplugin.data.loader.EntityInstanceStore;
+import io.papermc.jkvttplugin.data.loader.EntityLoader;
+import io.papermc.jkvttplugin.data.model.DndEntity;
+import io.papermc.jkvttplugin.data.model.DndEntityInstance;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Keeps spawned entity instances in memory only while their armor stands are loaded.
+ *
+ * When a chunk's entities load, tagged armor stands get their instance state read back from
+ * EntityInstanceStore (off the main thread) and are tracked again. When they unload, the
+ * instances are saved and dropped - except those in an active combat, which stay in memory and
+ * are re-attached to their stand when it comes back.
+ */
+public class EntityInstanceListener implements Listener {
+    private static final Logger LOGGER = Logger.getLogger("EntityInstanceListener");
+
+    @EventHandler
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        rehydrate(event.getEntities());
+    }
+
+    @EventHandler
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (!(entity instanceof ArmorStand armorStand)) continue;
+            UUID instanceId = EntityInstanceStore.readTag(armorStand);
+            if (instanceId == null) continue;
+
+            DndEntityInstance instance = DndEntityInstance.getByUUID(instanceId);
+            if (instance == null) continue;
+            if (CombatSession.getSessionForEntity(armorStand) != null) continue; // Combat still references it
+
+            DmEntityCommand.evictEntity(instance);
+        }
+    }
+
+    /**
+     * Rehydrates instances whose stands were already loaded before this listener was registered
+     * (e.g. spawn chunks at startup). Call once after content and EntityInstanceStore are ready.
+     */
+    public static void rehydrateLoaded() {
+        for (World world : Bukkit.getWorlds()) {
+            rehydrate(world.getEntitiesByClass(ArmorStand.class));
+        }
+    }
+
+    private static void rehydrate(Collection<? extends Entity> entities) {
+        Map<UUID, ArmorStand> pending = new HashMap<>();
+        for (Entity entity : entities) {
+            if (!(entity instanceof ArmorStand armorStand)) continue;
+            UUID instanceId = EntityInstanceStore.readTag(armorStand);
+            if (instanceId == null) continue;
+
+            DndEntityInstance kept = DndEntityInstance.getByUUID(instanceId);
+            if (kept != null) {
+                kept.attach(armorStand);
+            } else {
+                pending.put(instanceId, armorStand);
+            }
+        }
+        if (pending.isEmpty()) return;
+
+        EntityInstanceStore.loadAsync(pending.keySet(), loaded -> {
+            for (EntityInstanceStore.SavedInstance saved : loaded.values()) {
+                ArmorStand armorStand = pending.get(saved.instanceId());
+                // Unloaded again while we were reading, or already restored by another load
+                if (!armorStand.isValid() || DndEntityInstance.getByUUID(saved.instanceId()) != null) continue;
+
+                DndEntity template = EntityLoader.getEntity(saved.templateId());
+                if (template == null) {
+                    LOGGER.warning("Unknown entity template '" + saved.templateId() + "' for saved entity "
+                            + saved.instanceId() + "; leaving its armor stand inactive");
+                    continue;
+                }
+
+                DndEntityInstance instance = new DndEntityInstance(saved.instanceId(), template, armorStand,
+                        saved.displayName(), saved.currentHp(), saved.maxHp(), saved.dead());
+                DmEntityCommand.restoreEntity(instance);
+            }
+        });
+    }
+}
@@ -22,7 +22,6 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.HashMap;
 import java.util.List;
@@ -32,7 +31,7 @@ import java.util.UUID;
 public class NpcListener implements Listener {
     private final JkVttPlugin plugin;
     private static final Map<UUID, ArmorStand> possessedNpcs = new HashMap<>();
-    private final Map<UUID, BukkitRunnable> movementTasks = new HashMap<>();
+    private final PossessionTicker possessionTicker;
 
     /**
      * Get the armor stand a player is currently possessing, or null.
@@ -44,6 +43,7 @@ public class NpcListener implements Listener {
 
     public NpcListener() {
         this.plugin = JkVttPlugin.getInstance();
+        this.possessionTicker = new PossessionTicker(plugin);
     }
 
     @EventHandler
@@ -85,18 +85,8 @@ public class NpcListener implements Listener {
         player.addPotionEffect(new PotionEffect(PotionEffectType.INVISIBILITY, Integer.MAX_VALUE, 1, false, false));
         player.sendMessage(Component.text("You are now possessing " + armorStand.getName(), NamedTextColor.GREEN));
 
-        BukkitRunnable task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!player.isOnline() || !possessedNpcs.containsKey(player.getUniqueId())) {
-                    this.cancel();
-                    return;
-                }
-                armorStand.teleport(player.getLocation());
-            }
-        };
-        task.runTaskTimer(plugin, 0L, 1L);
-        movementTasks.put(player.getUniqueId(), task);
+        // Shared ticker moves the stand with the player (only when they actually move)
+        possessionTicker.start(player.getUniqueId(), armorStand);
     }
 
     private void giveNpcInventoryItem(Player player) {
@@ -114,10 +104,7 @@ public class NpcListener implements Listener {
             player.removePotionEffect(PotionEffectType.INVISIBILITY);
             player.sendMessage(Component.text("You are no longer possessing " + armorStand.getName(), NamedTextColor.RED));
         }
-        BukkitRunnable task = movementTasks.remove(player.getUniqueId());
-        if (task != null) {
-            task.cancel();
-        }
+        possessionTicker.stop(player.getUniqueId());
     }
 
     @EventHandler
@@ -0,0 +1,126 @@
+package io.papermc.jkvttplugin.listeners;
+
+import io.papermc.jkvttplugin.data.model.DndEntityInstance;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Moves possessed armor stands along with the players possessing them.
+ *
+ * One shared task walks every active possession once per tick (instead of a BukkitRunnable per
+ * player) and only teleports a stand when its player actually moved or turned past a small
+ * threshold. The task runs only while something is possessed. Each tick's cost is measured and
+ * summarized in the log every few minutes of possession time.
+ */
+final class PossessionTicker {
+    private static final Logger LOGGER = Logger.getLogger("PossessionTicker");
+
+    private static final double MIN_MOVE_SQUARED = 0.01 * 0.01;
+    private static final float MIN_TURN_DEGREES = 1.0f;
+    private static final int REPORT_INTERVAL_TICKS = 20 * 60 * 5;
+
+    private static final class Possession {
+        final ArmorStand armorStand;
+        final DndEntityInstance instance; // Null for stands that aren't spawned entities
+        Location lastSent;
+
+        Possession(ArmorStand armorStand) {
+            this.armorStand = armorStand;
+            this.instance = DndEntityInstance.getByArmorStand(armorStand);
+        }
+    }
+
+    private final Plugin plugin;
+    private final Map<UUID, Possession> possessions = new HashMap<>();
+    private BukkitTask task;
+
+    // Cost of the current report window
+    private int ticks;
+    private long totalNanos;
+    private long maxNanos;
+    private int teleports;
+
+    PossessionTicker(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    void start(UUID playerId, ArmorStand armorStand) {
+        possessions.put(playerId, new Possession(armorStand));
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 0L, 1L);
+        }
+    }
+
+    void stop(UUID playerId) {
+        possessions.remove(playerId);
+        if (possessions.isEmpty()) cancel();
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+
+        Iterator<Map.Entry<UUID, Possession>> it = possessions.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, Possession> entry = it.next();
+            Possession possession = entry.getValue();
+            Player player = Bukkit.getPlayer(entry.getKey());
+
+            // Quit or NPC gone: drop it (NpcListener also unpossesses on quit)
+            if (player == null || !possession.armorStand.isValid()) {
+                it.remove();
+                continue;
+            }
+
+            Location location = player.getLocation();
+            if (hasMoved(possession.lastSent, location)) {
+                possession.armorStand.teleport(location);
+                if (possession.instance != null) possession.instance.updateLocation(location);
+                possession.lastSent = location;
+                teleports++;
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+        ticks++;
+        totalNanos += elapsed;
+        maxNanos = Math.max(maxNanos, elapsed);
+        if (ticks >= REPORT_INTERVAL_TICKS) report();
+
+        if (possessions.isEmpty()) cancel();
+    }
+
+    private static boolean hasMoved(Location last, Location now) {
+        if (last == null || last.getWorld() != now.getWorld()) return true;
+        return last.distanceSquared(now) > MIN_MOVE_SQUARED
+                || Math.abs(last.getYaw() - now.getYaw()) > MIN_TURN_DEGREES
+                || Math.abs(last.getPitch() - now.getPitch()) > MIN_TURN_DEGREES;
+    }
+
+    private void report() {
+        if (ticks > 0) {
+            LOGGER.info(String.format("Possession ticker: %d ticks, avg %.3f ms, max %.3f ms, %d teleports, %d active",
+                    ticks, totalNanos / 1_000_000.0 / ticks, maxNanos / 1_000_000.0, teleports, possessions.size()));
+        }
+        ticks = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+        teleports = 0;
+    }
+
+    private void cancel() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+}
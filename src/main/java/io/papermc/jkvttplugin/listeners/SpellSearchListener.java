@@ -0,0 +1,108 @@
+package io.papermc.jkvttplugin.listeners;
+
+import io.papermc.jkvttplugin.character.ActiveCharacterTracker;
+import io.papermc.jkvttplugin.character.CharacterCreationService;
+import io.papermc.jkvttplugin.character.CharacterCreationSession;
+import io.papermc.jkvttplugin.character.CharacterSheet;
+import io.papermc.jkvttplugin.ui.menu.SpellCastingMenu;
+import io.papermc.jkvttplugin.ui.menu.SpellSelectionMenu;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the query for the spell menus' search buttons (character creation's spell selection and
+ * the spellcasting menu) from chat, then reopens the menu filtered to matching spells.
+ */
+public class SpellSearchListener implements Listener {
+
+    private static final int MAX_QUERY_LENGTH = 64;
+
+    /**
+     * @param casting    True for the spellcasting menu, false for character creation's spell selection
+     * @param spellLevel Spell level the menu was showing when they clicked search
+     */
+    private record PendingSearch(boolean casting, int spellLevel) {}
+
+    private static final Map<UUID, PendingSearch> awaitingSearch = new ConcurrentHashMap<>();
+
+    public static void requestSearch(Player player, int spellLevel) {
+        awaitingSearch.put(player.getUniqueId(), new PendingSearch(false, spellLevel));
+        sendPrompt(player);
+    }
+
+    public static void requestCastingSearch(Player player, int spellLevel) {
+        awaitingSearch.put(player.getUniqueId(), new PendingSearch(true, spellLevel));
+        sendPrompt(player);
+    }
+
+    private static void sendPrompt(Player player) {
+        player.sendMessage(Component.text("Type a spell search in chat (e.g. \"fire\", \"heals\", \"ritual\"):").color(NamedTextColor.YELLOW));
+        player.sendMessage(Component.text("• Type 'cancel' to go back without searching").color(NamedTextColor.GRAY));
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onPlayerChat(AsyncPlayerChatEvent event) {
+        Player player = event.getPlayer();
+        UUID playerId = player.getUniqueId();
+
+        PendingSearch pending = awaitingSearch.remove(playerId);
+        if (pending == null) return;
+
+        event.setCancelled(true);
+
+        String input = event.getMessage().trim();
+        if (input.length() > MAX_QUERY_LENGTH) input = input.substring(0, MAX_QUERY_LENGTH);
+        boolean searching = !input.isEmpty() && !input.equalsIgnoreCase("cancel");
+        int spellLevel = pending.spellLevel();
+
+        if (pending.casting()) {
+            String query = input;
+            // Character sheets are only touched on the main thread
+            Bukkit.getScheduler().runTask(
+                    Bukkit.getPluginManager().getPlugin("JkVttPlugin"),
+                    () -> {
+                        CharacterSheet sheet = ActiveCharacterTracker.getActiveCharacter(player);
+                        if (sheet == null) {
+                            player.sendMessage(Component.text("No active character found!").color(NamedTextColor.RED));
+                            return;
+                        }
+                        if (searching) SpellCastingMenu.setSearch(playerId, query);
+                        player.openInventory(SpellCastingMenu.build(sheet, spellLevel));
+                    }
+            );
+            return;
+        }
+
+        CharacterCreationSession session = CharacterCreationService.getSession(playerId);
+        if (session == null) {
+            player.sendMessage(Component.text("Character creation session expired. please restart.").color(NamedTextColor.RED));
+            return;
+        }
+
+        if (searching) {
+            session.setSpellSearch(input);
+        }
+
+        Bukkit.getScheduler().runTask(
+                Bukkit.getPluginManager().getPlugin("JkVttPlugin"),
+                () -> SpellSelectionMenu.open(player, session.getSessionId(), spellLevel)
+        );
+    }
+
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        awaitingSearch.remove(event.getPlayer().getUniqueId());
+        SpellCastingMenu.setSearch(event.getPlayer().getUniqueId(), null);
+    }
+}
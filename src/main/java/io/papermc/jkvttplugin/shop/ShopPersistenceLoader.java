@@ -2,13 +2,13 @@ package io.papermc.jkvttplugin.shop;
 
 import io.papermc.jkvttplugin.data.model.ShopConfig;
 import io.papermc.jkvttplugin.data.model.ShopItem;
+import io.papermc.jkvttplugin.util.AtomicFileWriter;
 import org.bukkit.plugin.Plugin;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -59,7 +59,7 @@ public class ShopPersistenceLoader {
 
         File shopFile = new File(shopsFolder, entityUuid.toString() + ".yml");
 
-        try (FileWriter writer = new FileWriter(shopFile)) {
+        try {
             Map<String, Object> data = new HashMap<>();
 
             // Save stock for each item
@@ -90,7 +90,7 @@ public class ShopPersistenceLoader {
             options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
             options.setPrettyFlow(true);
             Yaml yaml = new Yaml(options);
-            yaml.dump(data, writer);
+            AtomicFileWriter.writeYaml(shopFile, yaml, data);
 
             LOGGER.info("Saved shop for entity " + entityUuid);
         } catch (IOException e) {
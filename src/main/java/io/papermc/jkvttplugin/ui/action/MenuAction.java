@@ -30,6 +30,8 @@ public enum MenuAction {
     CHOOSE_SPELL,
     CHANGE_SPELL_LEVEL,
     CONFIRM_SPELL_SELECTION,
+    SEARCH_SPELLS,                     // Filter the spell list by a typed query
+    CLEAR_SPELL_SEARCH,
     BACK_TO_CHARACTER_SHEET,
     CONFIRM_CHARACTER,
 
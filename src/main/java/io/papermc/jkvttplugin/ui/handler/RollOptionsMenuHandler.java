@@ -3,11 +3,13 @@ package io.papermc.jkvttplugin.ui.handler;
 import io.papermc.jkvttplugin.character.CharacterCreationSession;
 import io.papermc.jkvttplugin.character.CharacterSheet;
 import io.papermc.jkvttplugin.character.CharacterSheetManager;
+import io.papermc.jkvttplugin.combat.CombatSession;
+import io.papermc.jkvttplugin.dice.DiceExpression;
+import io.papermc.jkvttplugin.dice.RollStream;
 import io.papermc.jkvttplugin.data.model.enums.Ability;
 import io.papermc.jkvttplugin.data.model.enums.Skill;
 import io.papermc.jkvttplugin.ui.action.MenuAction;
 import io.papermc.jkvttplugin.ui.menu.SkillsMenu;
-import io.papermc.jkvttplugin.util.DiceRoller;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.Bukkit;
@@ -24,6 +26,8 @@ import java.util.UUID;
  */
 public class RollOptionsMenuHandler implements MenuClickHandler {
 
+    private static final DiceExpression D20 = DiceExpression.compile("1d20");
+
     @Override
     public void handleClick(Player player, CharacterCreationSession session, UUID characterId, MenuAction action, String payload) {
         CharacterSheet character = CharacterSheetManager.getCharacter(player.getUniqueId(), characterId);
@@ -46,10 +50,11 @@ public class RollOptionsMenuHandler implements MenuClickHandler {
         String value = parts[1];
 
         // Route based on roll action and type
+        RollStream rolls = CombatSession.rollsFor(player.getUniqueId(), characterId);
         switch (action) {
-            case ROLL_NORMAL -> rollNormal(character, type, value);
-            case ROLL_ADVANTAGE -> rollAdvantage(character, type, value);
-            case ROLL_DISADVANTAGE -> rollDisadvantage(character, type, value);
+            case ROLL_NORMAL -> rollNormal(rolls, character, type, value);
+            case ROLL_ADVANTAGE -> rollAdvantage(rolls, character, type, value);
+            case ROLL_DISADVANTAGE -> rollDisadvantage(rolls, character, type, value);
             case SHOW_MODIFIER -> showModifier(character, type, value);
         }
     }
@@ -57,9 +62,9 @@ public class RollOptionsMenuHandler implements MenuClickHandler {
     /**
      * Roll 1d20 + bonus with breakdown
      */
-    private static void rollNormal(CharacterSheet character, String type, String value) {
-        int d20 = rollD20();
+    private static void rollNormal(RollStream rolls, CharacterSheet character, String type, String value) {
         RollInfo info = getRollInfo(character, type, value);
+        int d20 = rollD20(rolls, character, info);
         int total = d20 + info.bonus;
 
         broadcastRoll(character, info, total, String.valueOf(d20), null, null);
@@ -68,11 +73,11 @@ public class RollOptionsMenuHandler implements MenuClickHandler {
     /**
      * Roll 2d20 (take higher) + bonus with breakdown
      */
-    private static void rollAdvantage(CharacterSheet character, String type, String value) {
-        int d20_1 = rollD20();
-        int d20_2 = rollD20();
-        int higher = Math.max(d20_1, d20_2);
+    private static void rollAdvantage(RollStream rolls, CharacterSheet character, String type, String value) {
         RollInfo info = getRollInfo(character, type, value);
+        int d20_1 = rollD20(rolls, character, info);
+        int d20_2 = rollD20(rolls, character, info);
+        int higher = Math.max(d20_1, d20_2);
         int total = higher + info.bonus;
 
         broadcastRoll(character, info, total, "[" + d20_1 + ", " + d20_2 + "]", "advantage", NamedTextColor.GREEN);
@@ -81,11 +86,11 @@ public class RollOptionsMenuHandler implements MenuClickHandler {
     /**
      * Roll 2d20 (take lower) + bonus with breakdown
      */
-    private static void rollDisadvantage(CharacterSheet character, String type, String value) {
-        int d20_1 = rollD20();
-        int d20_2 = rollD20();
-        int lower = Math.min(d20_1, d20_2);
+    private static void rollDisadvantage(RollStream rolls, CharacterSheet character, String type, String value) {
         RollInfo info = getRollInfo(character, type, value);
+        int d20_1 = rollD20(rolls, character, info);
+        int d20_2 = rollD20(rolls, character, info);
+        int lower = Math.min(d20_1, d20_2);
         int total = lower + info.bonus;
 
         broadcastRoll(character, info, total, "[" + d20_1 + ", " + d20_2 + "]", "disadvantage", NamedTextColor.RED);
@@ -166,10 +171,10 @@ public class RollOptionsMenuHandler implements MenuClickHandler {
     }
 
     /**
-     * Roll a d20 (1-20) using the DiceRoller utility
+     * Roll a d20 (1-20) from the character's roll stream, logged with what it was for
      */
-    private static int rollD20() {
-        return DiceRoller.rollDice(1, 20);
+    private static int rollD20(RollStream rolls, CharacterSheet character, RollInfo info) {
+        return rolls.roll(D20, character.getCharacterName() + " " + info.displayName);
     }
 
     /**
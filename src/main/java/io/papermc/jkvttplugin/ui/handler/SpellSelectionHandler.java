@@ -7,6 +7,7 @@ import io.papermc.jkvttplugin.data.model.DndClass;
 import io.papermc.jkvttplugin.data.model.DndSpell;
 import io.papermc.jkvttplugin.data.model.SpellcastingInfo;
 import io.papermc.jkvttplugin.data.model.SpellsPreparedFormula;
+import io.papermc.jkvttplugin.listeners.SpellSearchListener;
 import io.papermc.jkvttplugin.ui.action.MenuAction;
 import io.papermc.jkvttplugin.ui.menu.CharacterCreationSheetMenu;
 import io.papermc.jkvttplugin.ui.menu.SpellSelectionMenu;
@@ -65,13 +66,32 @@ public class SpellSelectionHandler implements MenuClickHandler {
                     player.sendMessage("Invalid spell level: " + payload);
                 }
             }
+            case SEARCH_SPELLS -> {
+                try {
+                    int level = Integer.parseInt(payload);
+                    player.closeInventory();
+                    SpellSearchListener.requestSearch(player, level);
+                } catch (NumberFormatException e) {
+                    player.sendMessage("Invalid spell level: " + payload);
+                }
+            }
+            case CLEAR_SPELL_SEARCH -> {
+                session.setSpellSearch(null);
+                try {
+                    SpellSelectionMenu.open(player, sessionId, Integer.parseInt(payload));
+                } catch (NumberFormatException e) {
+                    SpellSelectionMenu.open(player, sessionId);
+                }
+            }
             case CONFIRM_SPELL_SELECTION -> {
                 if (validateAllSpellSelections(session, dndClass)) {
+                    session.setSpellSearch(null);
                     player.closeInventory();
                     CharacterCreationSheetMenu.open(player, sessionId);
                 }
             }
             case BACK_TO_CHARACTER_SHEET -> {
+                session.setSpellSearch(null);
                 player.closeInventory();
                 CharacterCreationSheetMenu.open(player, sessionId);
             }
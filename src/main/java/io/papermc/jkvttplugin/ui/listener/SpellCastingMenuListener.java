@@ -5,6 +5,7 @@ import io.papermc.jkvttplugin.character.CharacterSheet;
 import io.papermc.jkvttplugin.data.loader.SpellLoader;
 import io.papermc.jkvttplugin.data.model.DndSpell;
 import io.papermc.jkvttplugin.data.model.InnateSpell;
+import io.papermc.jkvttplugin.listeners.SpellSearchListener;
 import io.papermc.jkvttplugin.ui.action.MenuAction;
 import io.papermc.jkvttplugin.ui.core.MenuHolder;
 import io.papermc.jkvttplugin.ui.core.MenuType;
@@ -52,6 +53,8 @@ public class SpellCastingMenuListener implements Listener {
             case SELECT_SPELL_LEVEL -> handleSlotSelection(player, sheet, payload);
             case VIEW_CANTRIPS -> handleViewCantrips(player, sheet);
             case BREAK_CONCENTRATION -> handleConcentrationClick(player, sheet);
+            case SEARCH_SPELLS -> handleSearch(player, payload);
+            case CLEAR_SPELL_SEARCH -> handleClearSearch(player, sheet, payload);
             default -> {} // Ignore other actions
         }
     }
@@ -117,6 +120,7 @@ public class SpellCastingMenuListener implements Listener {
 
             // Use the innate spell
             innateSpell.use();
+            sheet.markDirty();
 
             // Handle concentration
             handleConcentration(player, sheet, spell);
@@ -180,6 +184,27 @@ public class SpellCastingMenuListener implements Listener {
         player.openInventory(SpellCastingMenu.build(sheet, 0));
     }
 
+    private void handleSearch(Player player, String levelStr) {
+        try {
+            int spellLevel = Integer.parseInt(levelStr);
+            player.closeInventory();
+            SpellSearchListener.requestCastingSearch(player, spellLevel);
+        } catch (NumberFormatException e) {
+            // Malformed payload; ignore
+        }
+    }
+
+    private void handleClearSearch(Player player, CharacterSheet sheet, String levelStr) {
+        SpellCastingMenu.setSearch(player.getUniqueId(), null);
+        int spellLevel;
+        try {
+            spellLevel = Integer.parseInt(levelStr);
+        } catch (NumberFormatException e) {
+            spellLevel = 1;
+        }
+        player.openInventory(SpellCastingMenu.build(sheet, spellLevel));
+    }
+
     /**
      * Handles concentration for spell casting.
      * If the new spell requires concentration and the character is already concentrating,
@@ -20,14 +20,28 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SpellCastingMenu {
 
+    // Player ID -> active spell search (see SpellSearchListener); cleared when the menu is opened fresh and on quit
+    private static final Map<UUID, String> searches = new ConcurrentHashMap<>();
+
+    /**
+     * Sets (or with null, clears) the player's spell search for this menu.
+     */
+    public static void setSearch(UUID playerId, String search) {
+        if (search == null) {
+            searches.remove(playerId);
+        } else {
+            searches.put(playerId, search);
+        }
+    }
+
     public static void open(Player player, CharacterSheet sheet) {
+        setSearch(player.getUniqueId(), null);
+
         // Default to cantrips if character only has cantrips (e.g., non-spellcaster with racial cantrips)
         // Otherwise default to 1st level spells
         boolean hasClassCantrips = sheet.getKnownCantrips() != null && !sheet.getKnownCantrips().isEmpty();
@@ -70,6 +84,13 @@ public class SpellCastingMenu {
 
         populateInfoRow(inventory, sheet);
 
+        // Slots 49-50 of the info row are otherwise empty
+        String search = searches.get(sheet.getPlayerId());
+        inventory.setItem(49, SpellSearch.searchButton(search, selectedSpellLevel));
+        if (search != null) {
+            inventory.setItem(50, SpellSearch.clearButton(selectedSpellLevel));
+        }
+
         return inventory;
     }
 
@@ -94,7 +115,7 @@ public class SpellCastingMenu {
 
         if (allCantrips.isEmpty()) return;
 
-        List<DndSpell> sortedCantrips = Util.sortByName(allCantrips, DndSpell::getName);
+        List<DndSpell> sortedCantrips = filterBySearch(Util.sortByName(allCantrips, DndSpell::getName), sheet);
 
         // Cantrips now use rows 1-4 (slots 0-35) when viewing cantrip filter
         int slot = 0;
@@ -160,7 +181,7 @@ public class SpellCastingMenu {
         castableSpells.sort(Comparator.comparingInt(DndSpell::getLevel).thenComparing(DndSpell::getName));
 
         int slot = 0;
-        for (DndSpell spell : castableSpells) {
+        for (DndSpell spell : filterBySearch(castableSpells, sheet)) {
             if (slot >= 36) break;
 
             ItemStack spellItem = spell.createItemStack();
@@ -195,6 +216,13 @@ public class SpellCastingMenu {
         }
     }
 
+    /**
+     * The spells matching the player's active search, best match first; all of them if there is none.
+     */
+    private static List<DndSpell> filterBySearch(List<DndSpell> spells, CharacterSheet sheet) {
+        return SpellSearch.filter(spells, searches.get(sheet.getPlayerId()));
+    }
+
     /**
      * Helper method to find an InnateSpell by spell ID.
      * Returns null if the spell is not an innate spell.
@@ -0,0 +1,73 @@
+package io.papermc.jkvttplugin.ui.menu;
+
+import io.papermc.jkvttplugin.data.ContentType;
+import io.papermc.jkvttplugin.data.loader.SpellLoader;
+import io.papermc.jkvttplugin.data.model.DndSpell;
+import io.papermc.jkvttplugin.data.search.SearchHit;
+import io.papermc.jkvttplugin.data.search.SearchIndex;
+import io.papermc.jkvttplugin.ui.action.MenuAction;
+import io.papermc.jkvttplugin.util.ItemUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.*;
+
+/**
+ * Spell search shared by the spell menus (character creation's spell selection and the
+ * spellcasting menu): the search / clear-search buttons and the ranking of a menu's spells.
+ * The query itself is read from chat by SpellSearchListener.
+ */
+final class SpellSearch {
+
+    private static final int MAX_RESULTS = 200;
+
+    private SpellSearch() {}
+
+    /**
+     * The menu's spells that match {@code search}, best match first; {@code spells} unchanged if
+     * there is no search. Only these spells are ranked, so other spells can't crowd them out.
+     */
+    static List<DndSpell> filter(List<DndSpell> spells, String search) {
+        if (search == null) return spells;
+
+        Set<DndSpell> allowed = new HashSet<>(spells);
+        List<DndSpell> matches = new ArrayList<>();
+        List<SearchHit> hits = SearchIndex.current().search(search, EnumSet.of(ContentType.SPELLS),
+                id -> allowed.contains(SpellLoader.getSpell(id)), MAX_RESULTS);
+        for (SearchHit hit : hits) {
+            DndSpell spell = SpellLoader.getSpell(hit.id());
+            if (spell != null) matches.add(spell);
+        }
+        return matches;
+    }
+
+    /**
+     * Spyglass that asks for a search in chat; shows the active search, if any.
+     */
+    static ItemStack searchButton(String search, int spellLevel) {
+        ItemStack button = new ItemStack(Material.SPYGLASS);
+        button.editMeta(m -> {
+            m.displayName(Component.text("Search Spells").color(NamedTextColor.AQUA));
+            List<Component> lore = new ArrayList<>();
+            if (search != null) {
+                lore.add(Component.text("Showing: \"" + search + "\"").color(NamedTextColor.WHITE));
+            }
+            lore.add(Component.text("Find spells by name, school,").color(NamedTextColor.GRAY));
+            lore.add(Component.text("damage type or description").color(NamedTextColor.GRAY));
+            lore.add(Component.text("Click to type a search in chat").color(NamedTextColor.YELLOW));
+            m.lore(lore);
+        });
+        return ItemUtil.tagAction(button, MenuAction.SEARCH_SPELLS, String.valueOf(spellLevel));
+    }
+
+    static ItemStack clearButton(int spellLevel) {
+        ItemStack clearSearch = new ItemStack(Material.BARRIER);
+        clearSearch.editMeta(m -> {
+            m.displayName(Component.text("Clear Search").color(NamedTextColor.RED));
+            m.lore(List.of(Component.text("Show every spell again").color(NamedTextColor.GRAY)));
+        });
+        return ItemUtil.tagAction(clearSearch, MenuAction.CLEAR_SPELL_SEARCH, String.valueOf(spellLevel));
+    }
+}
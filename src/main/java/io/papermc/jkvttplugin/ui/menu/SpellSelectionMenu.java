@@ -24,7 +24,6 @@ import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class SpellSelectionMenu {
 
@@ -49,7 +48,8 @@ public class SpellSelectionMenu {
                 Component.text(title)
         );
 
-        Collection<DndSpell> availableSpells = getAvailableSpells(session.getSelectedClass(), spellLevel);
+        String search = session.getSpellSearch();
+        Collection<DndSpell> availableSpells = getAvailableSpells(session.getSelectedClass(), spellLevel, search);
 
         SpellSelectionLimits limits = calculateSelectionLimits(dndClass, spellLevel, 1, session);
         int maxSelectable = limits.maxSelectable;
@@ -67,6 +67,11 @@ public class SpellSelectionMenu {
         ItemStack infoItem = createInfoItem(spellLevel, currentSelected, maxSelectable, limits.preparationType);
         inventory.setItem(4, infoItem);
 
+        inventory.setItem(8, SpellSearch.searchButton(search, spellLevel));
+        if (search != null) {
+            inventory.setItem(45, SpellSearch.clearButton(spellLevel));
+        }
+
         int slot = 9;
         for (DndSpell spell : availableSpells) {
             if (slot >= 45) break;
@@ -86,11 +91,12 @@ public class SpellSelectionMenu {
         return inventory;
     }
 
-    private static Collection<DndSpell> getAvailableSpells(String className, int spellLevel) {
-        return SpellLoader.getSpellsForClass(className).stream()
-                .filter(spell -> spell.getLevel() == spellLevel)
-                .sorted(Comparator.comparing(DndSpell::getName)) // Alphabetical order
-                .collect(Collectors.toList());
+    /**
+     * The class's spells of this level: alphabetical, or best match first while a search is active.
+     */
+    private static Collection<DndSpell> getAvailableSpells(String className, int spellLevel, String search) {
+        List<DndSpell> classSpells = SpellLoader.getSpellsByLevel(className, spellLevel); // Already alphabetical
+        return SpellSearch.filter(classSpells, search);
     }
 
     private static void addNavigationButtons(Inventory inventory, DndClass dndClass, int currentLevel, UUID sessionId) {
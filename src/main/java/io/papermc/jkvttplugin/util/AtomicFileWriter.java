@@ -0,0 +1,88 @@
+package io.papermc.jkvttplugin.util;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Crash-safe file replacement for saved data (characters, shops).
+ *
+ * Writing with a plain FileWriter truncates the target first, so a crash or full disk mid-write
+ * leaves a half-written file that then fails to load. Instead the content goes to a temp file
+ * next to the target, is fsynced, and is renamed over the target in one atomic step: readers
+ * see either the old file or the new one, never a mix.
+ */
+public final class AtomicFileWriter {
+
+    @FunctionalInterface
+    public interface Body {
+        void write(Writer writer) throws IOException;
+    }
+
+    private AtomicFileWriter() {}
+
+    /**
+     * Atomically replaces {@code target} with whatever {@code body} writes (UTF-8).
+     */
+    public static void write(File target, Body body) throws IOException {
+        replace(target, out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            body.write(writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Atomically replaces {@code target} with raw bytes (binary formats).
+     */
+    public static void writeBytes(File target, byte[] data) throws IOException {
+        replace(target, out -> out.write(data));
+    }
+
+    /**
+     * Atomically replaces {@code target} with {@code data} dumped as YAML.
+     */
+    public static void writeYaml(File target, Yaml yaml, Object data) throws IOException {
+        write(target, writer -> yaml.dump(data, writer));
+    }
+
+    private interface StreamBody {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static void replace(File target, StreamBody body) throws IOException {
+        Path targetPath = target.toPath();
+        Path dir = targetPath.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, target.getName() + ".", ".tmp");
+
+        try {
+            try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+                body.write(out);
+                out.getFD().sync();
+            }
+
+            try {
+                Files.move(temp, targetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, targetPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            syncDirectory(dir);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Makes the rename itself durable. Not every platform can open a directory (Windows can't);
+     * there the rename is still atomic, just not guaranteed to survive a power cut.
+     */
+    private static void syncDirectory(Path dir) {
+        try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException | UnsupportedOperationException ignored) {
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.papermc.jkvttplugin.util;
+
+import io.papermc.jkvttplugin.data.ContentRegistry;
+import io.papermc.jkvttplugin.data.ContentSnapshot;
+import io.papermc.jkvttplugin.data.ContentType;
+import io.papermc.jkvttplugin.data.model.DndArmor;
+import io.papermc.jkvttplugin.data.model.DndEntity;
+import io.papermc.jkvttplugin.data.model.DndEntityInstance;
+import io.papermc.jkvttplugin.data.model.DndItem;
+import io.papermc.jkvttplugin.data.model.DndWeapon;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Shared tab completion lookups backed by {@link PrefixTrie}s, so a keypress costs the prefix
+ * length plus the suggestions returned instead of a scan over a whole registry. Every lookup
+ * is case-insensitive and returns at most {@link #MAX_RESULTS} suggestions.
+ *
+ * - Content IDs (entity templates, weapons/armor/items, creature types): one set of tries per
+ *   content snapshot, built on first use after a reload
+ * - Spawned entity names: kept in step by DmEntityCommand as instances come and go
+ * - Character names: CharacterSheetManager#completeCharacterNames (the character index's trie)
+ * - Combatant names: per combat session, see CombatSession#completeCombatantNames
+ */
+public final class CompletionService {
+
+    public static final int MAX_RESULTS = 100;
+
+    private static volatile ContentTries contentTries;
+
+    // Guarded by itself: lower-cased display name -> spawned instances with that name
+    private static final PrefixTrie<DndEntityInstance> spawnedNames = new PrefixTrie<>();
+
+    private CompletionService() {}
+
+    // ==================== Content ====================
+
+    public static List<String> entityIds(String prefix) {
+        return contentTries().entityIds.withPrefix(key(prefix), MAX_RESULTS);
+    }
+
+    /**
+     * IDs of everything that can be given as an item: weapons, armor and items.
+     */
+    public static List<String> itemIds(String prefix) {
+        return contentTries().itemIds.withPrefix(key(prefix), MAX_RESULTS);
+    }
+
+    public static List<String> creatureTypes(String prefix) {
+        return contentTries().creatureTypes.withPrefix(key(prefix), MAX_RESULTS);
+    }
+
+    private static ContentTries contentTries() {
+        ContentSnapshot snapshot = ContentRegistry.current();
+        ContentTries tries = contentTries;
+        if (tries == null || tries.source != snapshot) {
+            tries = new ContentTries(snapshot);
+            contentTries = tries;
+        }
+        return tries;
+    }
+
+    /**
+     * Immutable once built, so lookups need no locking.
+     */
+    private static final class ContentTries {
+        final ContentSnapshot source;
+        final PrefixTrie<String> entityIds = new PrefixTrie<>();
+        final PrefixTrie<String> itemIds = new PrefixTrie<>();
+        final PrefixTrie<String> creatureTypes = new PrefixTrie<>();
+
+        ContentTries(ContentSnapshot snapshot) {
+            this.source = snapshot;
+            for (DndEntity entity : snapshot.<DndEntity>get(ContentType.ENTITIES).values()) {
+                entityIds.put(key(entity.getId()), entity.getId());
+                if (entity.getCreatureType() != null) {
+                    creatureTypes.put(key(entity.getCreatureType()), entity.getCreatureType());
+                }
+            }
+            for (DndWeapon weapon : snapshot.<DndWeapon>get(ContentType.WEAPONS).values()) {
+                itemIds.put(key(weapon.getId()), weapon.getId());
+            }
+            for (DndArmor armor : snapshot.<DndArmor>get(ContentType.ARMOR).values()) {
+                itemIds.put(key(armor.getId()), armor.getId());
+            }
+            for (DndItem item : snapshot.<DndItem>get(ContentType.ITEMS).values()) {
+                itemIds.put(key(item.getId()), item.getId());
+            }
+        }
+    }
+
+    // ==================== Spawned entities ====================
+
+    public static void addSpawned(DndEntityInstance instance) {
+        synchronized (spawnedNames) {
+            spawnedNames.put(key(instance.getDisplayName()), instance);
+        }
+    }
+
+    public static void removeSpawned(DndEntityInstance instance) {
+        synchronized (spawnedNames) {
+            spawnedNames.remove(key(instance.getDisplayName()), instance);
+        }
+    }
+
+    public static void clearSpawned(Collection<DndEntityInstance> instances) {
+        synchronized (spawnedNames) {
+            for (DndEntityInstance instance : instances) {
+                spawnedNames.remove(key(instance.getDisplayName()), instance);
+            }
+        }
+    }
+
+    public static List<String> spawnedNames(String prefix) {
+        return spawnedNames(prefix, instance -> true);
+    }
+
+    /**
+     * Display names of spawned instances matching {@code filter} (duplicates collapsed).
+     */
+    public static List<String> spawnedNames(String prefix, Predicate<DndEntityInstance> filter) {
+        Set<String> names = new LinkedHashSet<>();
+        synchronized (spawnedNames) {
+            spawnedNames.visitPrefix(key(prefix), instance -> {
+                if (filter.test(instance)) names.add(instance.getDisplayName());
+                return names.size() < MAX_RESULTS;
+            });
+        }
+        return new ArrayList<>(names);
+    }
+
+    private static String key(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,116 @@
+package io.papermc.jkvttplugin.util;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Character trie mapping string keys to one or more values, for tab completion.
+ *
+ * Finding every value under a prefix costs the prefix length plus the number of matches,
+ * instead of a scan over all keys. Keys are used as given; callers lower-case them for
+ * case-insensitive matching. Matches come back in key order. Not thread-safe.
+ */
+public final class PrefixTrie<V> {
+
+    private static final class Node<V> {
+        final TreeMap<Character, Node<V>> children = new TreeMap<>();
+        final Set<V> values = new LinkedHashSet<>(1);
+    }
+
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    /**
+     * Adds a value under a key. A key can hold several values (e.g. two characters with the same name).
+     */
+    public void put(String key, V value) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node<>());
+        }
+        if (node.values.add(value)) size++;
+    }
+
+    /**
+     * Removes a value from a key, pruning nodes that no longer lead anywhere.
+     *
+     * @return true if the value was present
+     */
+    public boolean remove(String key, V value) {
+        Deque<Node<V>> path = new ArrayDeque<>(key.length() + 1);
+        Node<V> node = root;
+        path.push(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            if (node == null) return false;
+            path.push(node);
+        }
+        if (!node.values.remove(value)) return false;
+        size--;
+
+        // Walk back up, dropping empty leaves
+        for (int i = key.length() - 1; i >= 0; i--) {
+            Node<V> child = path.pop();
+            if (!child.values.isEmpty() || !child.children.isEmpty()) break;
+            path.peek().children.remove(key.charAt(i));
+        }
+        return true;
+    }
+
+    /**
+     * Values stored under exactly this key (empty if none).
+     */
+    public Set<V> get(String key) {
+        Node<V> node = find(key);
+        return node != null ? Collections.unmodifiableSet(node.values) : Set.of();
+    }
+
+    /**
+     * Up to {@code limit} values whose key starts with {@code prefix}, in key order.
+     */
+    public List<V> withPrefix(String prefix, int limit) {
+        List<V> out = new ArrayList<>();
+        if (limit > 0) {
+            visitPrefix(prefix, value -> {
+                out.add(value);
+                return out.size() < limit;
+            });
+        }
+        return out;
+    }
+
+    /**
+     * Hands each value whose key starts with {@code prefix} to {@code visitor}, in key order,
+     * until the visitor returns false. Lets callers that filter matches stop as soon as they
+     * have enough, without collecting the whole subtree first.
+     */
+    public void visitPrefix(String prefix, Predicate<? super V> visitor) {
+        Node<V> start = find(prefix);
+        if (start != null) walk(start, visitor);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private Node<V> find(String key) {
+        Node<V> node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * @return false once the visitor has asked to stop
+     */
+    private boolean walk(Node<V> node, Predicate<? super V> visitor) {
+        for (V value : node.values) {
+            if (!visitor.test(value)) return false;
+        }
+        for (Node<V> child : node.children.values()) {
+            if (!walk(child, visitor)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,35 @@
+package io.papermc.jkvttplugin.util;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pool of immutable string sets shared between character sheets.
+ *
+ * Most characters of the same race/class/background end up with identical tool, language and
+ * armor/weapon proficiency sets, so sheets hold one shared immutable instance instead of their
+ * own HashSet each. Because the sets can't change, getters hand them out directly without
+ * copying. The pool only grows with the number of distinct combinations, which is small.
+ */
+public final class SharedSets {
+    private static final Map<Set<String>, Set<String>> POOL = new ConcurrentHashMap<>();
+
+    private SharedSets() {}
+
+    /**
+     * Returns the shared immutable set equal to {@code values} (whose strings are interned).
+     */
+    public static Set<String> intern(Set<String> values) {
+        if (values.isEmpty()) return Set.of();
+
+        Set<String> shared = POOL.get(values);
+        if (shared != null) return shared;
+
+        String[] interned = values.stream().filter(Objects::nonNull).map(String::intern).toArray(String[]::new);
+        Set<String> copy = Set.of(interned);
+        Set<String> existing = POOL.putIfAbsent(copy, copy);
+        return existing != null ? existing : copy;
+    }
+}
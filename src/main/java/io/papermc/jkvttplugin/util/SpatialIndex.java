@@ -0,0 +1,217 @@
+package io.papermc.jkvttplugin.util;
+
+import java.util.*;
+
+/**
+ * Per-world grid of values bucketed by chunk (16x16 columns), for radius, box and nearest
+ * queries that only look at the chunks they overlap instead of every value.
+ *
+ * The index stores the position it was last given; callers report moves through
+ * {@link #update}. Not thread-safe (main thread only).
+ */
+public final class SpatialIndex<V> {
+
+    private static final int CELL_SHIFT = 4; // 16 blocks, same as a chunk
+
+    private record Position(UUID world, double x, double y, double z, long cell) {}
+
+    private final Map<UUID, Map<Long, List<V>>> worlds = new HashMap<>();
+    private final Map<V, Position> positions = new HashMap<>();
+
+    // ==================== Updates ====================
+
+    /**
+     * Adds a value, or moves it if it is already indexed.
+     */
+    public void update(V value, UUID world, double x, double y, double z) {
+        long cell = cellKey(cellOf(x), cellOf(z));
+        Position previous = positions.put(value, new Position(world, x, y, z, cell));
+        if (previous != null) {
+            if (previous.world().equals(world) && previous.cell() == cell) return; // Same bucket
+            removeFromCell(value, previous);
+        }
+        worlds.computeIfAbsent(world, w -> new HashMap<>())
+                .computeIfAbsent(cell, c -> new ArrayList<>(2))
+                .add(value);
+    }
+
+    /**
+     * @return true if the value was indexed
+     */
+    public boolean remove(V value) {
+        Position previous = positions.remove(value);
+        if (previous == null) return false;
+        removeFromCell(value, previous);
+        return true;
+    }
+
+    public void clear() {
+        worlds.clear();
+        positions.clear();
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    private void removeFromCell(V value, Position position) {
+        Map<Long, List<V>> cells = worlds.get(position.world());
+        if (cells == null) return;
+        List<V> bucket = cells.get(position.cell());
+        if (bucket == null) return;
+        bucket.remove(value);
+        if (bucket.isEmpty()) {
+            cells.remove(position.cell());
+            if (cells.isEmpty()) worlds.remove(position.world());
+        }
+    }
+
+    // ==================== Queries ====================
+
+    /**
+     * Values within {@code radius} blocks (straight-line, 3D) of a point, nearest first.
+     */
+    public List<V> withinRadius(UUID world, double x, double y, double z, double radius) {
+        List<V> found = new ArrayList<>();
+        Map<Long, List<V>> cells = worlds.get(world);
+        if (cells == null || radius < 0) return found;
+
+        double radiusSquared = radius * radius;
+        int minCx = cellOf(x - radius), maxCx = cellOf(x + radius);
+        int minCz = cellOf(z - radius), maxCz = cellOf(z + radius);
+        forEachCell(cells, minCx, maxCx, minCz, maxCz, bucket -> {
+            for (V value : bucket) {
+                if (distanceSquared(positions.get(value), x, y, z) <= radiusSquared) found.add(value);
+            }
+        });
+
+        found.sort(Comparator.comparingDouble(value -> distanceSquared(positions.get(value), x, y, z)));
+        return found;
+    }
+
+    /**
+     * Values inside an axis-aligned box (bounds inclusive).
+     */
+    public List<V> withinBox(UUID world, double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        List<V> found = new ArrayList<>();
+        Map<Long, List<V>> cells = worlds.get(world);
+        if (cells == null) return found;
+
+        forEachCell(cells, cellOf(minX), cellOf(maxX), cellOf(minZ), cellOf(maxZ), bucket -> {
+            for (V value : bucket) {
+                Position p = positions.get(value);
+                if (p.x() >= minX && p.x() <= maxX && p.y() >= minY && p.y() <= maxY && p.z() >= minZ && p.z() <= maxZ) {
+                    found.add(value);
+                }
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Up to {@code k} values nearest a point (3D distance, at most {@code maxDistance}),
+     * nearest first. Searches outward ring by ring and stops once no closer value can exist.
+     */
+    public List<V> nearest(UUID world, double x, double y, double z, int k, double maxDistance) {
+        Map<Long, List<V>> cells = worlds.get(world);
+        if (cells == null || k <= 0) return new ArrayList<>();
+
+        // Max-heap on distance holding the best k so far
+        PriorityQueue<Map.Entry<V, Double>> best = new PriorityQueue<>(
+                Comparator.comparingDouble((Map.Entry<V, Double> e) -> e.getValue()).reversed());
+        double limitSquared = maxDistance * maxDistance;
+
+        int cx = cellOf(x), cz = cellOf(z);
+        int maxRing = (int) Math.min(Integer.MAX_VALUE / 2, Math.ceil(maxDistance / 16.0) + 1);
+        long visited = 0;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Anything in this ring or beyond is at least (ring - 1) whole cells away
+            double ringMin = Math.max(0, ring - 1) * 16.0;
+            if (ringMin * ringMin > limitSquared) break;
+            if (best.size() == k && ringMin * ringMin > best.peek().getValue()) break;
+
+            // A huge empty area around the point: cheaper to check every occupied cell
+            visited += ring == 0 ? 1 : 8L * ring;
+            if (visited > cells.size() * 4L) {
+                best.clear();
+                for (List<V> bucket : cells.values()) offer(bucket, x, y, z, k, limitSquared, best);
+                break;
+            }
+
+            if (ring == 0) {
+                offer(cells.get(cellKey(cx, cz)), x, y, z, k, limitSquared, best);
+                continue;
+            }
+            for (int d = -ring; d <= ring; d++) {
+                offer(cells.get(cellKey(cx + d, cz - ring)), x, y, z, k, limitSquared, best);
+                offer(cells.get(cellKey(cx + d, cz + ring)), x, y, z, k, limitSquared, best);
+                if (d != -ring && d != ring) {
+                    offer(cells.get(cellKey(cx - ring, cz + d)), x, y, z, k, limitSquared, best);
+                    offer(cells.get(cellKey(cx + ring, cz + d)), x, y, z, k, limitSquared, best);
+                }
+            }
+        }
+
+        List<Map.Entry<V, Double>> sorted = new ArrayList<>(best);
+        sorted.sort(Map.Entry.comparingByValue());
+        List<V> result = new ArrayList<>(sorted.size());
+        for (Map.Entry<V, Double> entry : sorted) result.add(entry.getKey());
+        return result;
+    }
+
+    private void offer(List<V> bucket, double x, double y, double z, int k, double limitSquared,
+                       PriorityQueue<Map.Entry<V, Double>> best) {
+        if (bucket == null) return;
+        for (V value : bucket) {
+            double d = distanceSquared(positions.get(value), x, y, z);
+            if (d > limitSquared) continue;
+            if (best.size() < k) {
+                best.add(Map.entry(value, d));
+            } else if (d < best.peek().getValue()) {
+                best.poll();
+                best.add(Map.entry(value, d));
+            }
+        }
+    }
+
+    private interface BucketVisitor<V> {
+        void visit(List<V> bucket);
+    }
+
+    /**
+     * Visits the occupied cells in a cell range, by whichever is smaller: the range or the
+     * world's occupied cells.
+     */
+    private void forEachCell(Map<Long, List<V>> cells, int minCx, int maxCx, int minCz, int maxCz, BucketVisitor<V> visitor) {
+        long area = ((long) maxCx - minCx + 1) * ((long) maxCz - minCz + 1);
+        if (area > cells.size()) {
+            for (Map.Entry<Long, List<V>> entry : cells.entrySet()) {
+                int cellX = (int) (entry.getKey() >> 32);
+                int cellZ = (int) (long) entry.getKey();
+                if (cellX >= minCx && cellX <= maxCx && cellZ >= minCz && cellZ <= maxCz) visitor.visit(entry.getValue());
+            }
+            return;
+        }
+        for (int cellX = minCx; cellX <= maxCx; cellX++) {
+            for (int cellZ = minCz; cellZ <= maxCz; cellZ++) {
+                List<V> bucket = cells.get(cellKey(cellX, cellZ));
+                if (bucket != null) visitor.visit(bucket);
+            }
+        }
+    }
+
+    // ==================== Geometry ====================
+
+    private static int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static double distanceSquared(Position p, double x, double y, double z) {
+        double dx = p.x() - x, dy = p.y() - y, dz = p.z() - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}